@@ -1,9 +1,12 @@
 package duke;
 
 import duke.commons.LogsCenter;
+import duke.commons.StartupStats;
 import duke.exception.DukeException;
 import duke.logic.Logic;
 import duke.logic.LogicManager;
+import duke.model.Budget;
+import duke.model.BudgetView;
 import duke.model.Income;
 import duke.model.IncomeList;
 import duke.model.Expense;
@@ -31,6 +34,12 @@ import javafx.stage.Stage;
 
 import java.io.IOException;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.logging.Logger;
 
 /**
@@ -40,6 +49,8 @@ public class Main extends Application {
 
     private static final Logger logger = LogsCenter.getLogger(Main.class);
 
+    private static final int LOADER_THREAD_COUNT = 4;
+
     private Ui ui;
     private Logic logic;
     private Model model;
@@ -48,46 +59,99 @@ public class Main extends Application {
     @Override
     public void init() throws Exception {
         super.init();
+        long initStart = StartupStats.start();
 
-        ExpenseListStorage expenseListStorage = new ExpenseListStorageManager();
+        ExpenseListStorage expenseListStorage =
+                new ExpenseListStorageManager(ExpenseListStorageManager.Mode.JOURNAL);
         PlanAttributesStorage planAttributesStorage = new PlanAttributesStorageManager();
         IncomeListStorage incomeListStorage = new IncomeListStorageManager();
         BudgetStorage budgetStorage = new BudgetStorage();
         BudgetViewStorage budgetViewStorage = new BudgetViewStorage();
-        PaymentListStorage paymentListStorage = new PaymentListStorageManager();
+        PaymentListStorage paymentListStorage =
+                new PaymentListStorageManager(PaymentListStorageManager.Mode.STREAMING, false);
 
         storage = new StorageManager(expenseListStorage,
                 planAttributesStorage,
                 incomeListStorage,
                 budgetStorage,
                 budgetViewStorage,
-                paymentListStorage);
+                paymentListStorage,
+                StorageManager.Mode.WRITE_BEHIND);
 
+        StartupStats.record("storage", initStart);
         logger.info("Initialized the storage");
 
-        //Demo Code, loads demo data on first boot
-        if (storage.loadExpenseList().internalSize() == 0 || storage.loadExpenseList() == null) {
-            loadListDemoData(storage);
+        // Each store is loaded exactly once, in parallel with the others and with reading the FXML files.
+        long loadStart = StartupStats.start();
+        ExecutorService loader = Executors.newFixedThreadPool(LOADER_THREAD_COUNT, runnable -> {
+            Thread thread = new Thread(runnable, "startup-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ExpenseList expenseList;
+        Map<String, String> planAttributes;
+        IncomeList incomeList;
+        Budget budget;
+        BudgetView budgetView;
+        Optional<PaymentList> paymentList;
+        try {
+            Future<ExpenseList> expenseListFuture = loader.submit(timed("load expenses", storage::loadExpenseList));
+            Future<Map<String, String>> planAttributesFuture =
+                    loader.submit(timed("load plan attributes", storage::loadPlanAttributes));
+            Future<IncomeList> incomeListFuture = loader.submit(timed("load income", storage::loadIncomeList));
+            Future<Budget> budgetFuture = loader.submit(timed("load budget", storage::loadBudget));
+            Future<BudgetView> budgetViewFuture = loader.submit(timed("load budget view", storage::loadBudgetView));
+            Future<Optional<PaymentList>> paymentListFuture =
+                    loader.submit(timed("load payments", storage::loadPaymentList));
+            Future<Void> fxmlFuture = loader.submit(timed("prefetch fxml", () -> {
+                UiManager.prefetchFxmlFiles();
+                return null;
+            }));
+
+            expenseList = await(expenseListFuture);
+            planAttributes = await(planAttributesFuture);
+            incomeList = await(incomeListFuture);
+            budget = await(budgetFuture);
+            budgetView = await(budgetViewFuture);
+            paymentList = await(paymentListFuture);
+            try {
+                await(fxmlFuture);
+            } catch (IOException e) {
+                logger.warning("FXML files are not prefetched: " + e.getMessage());
+            }
+        } finally {
+            loader.shutdown();
         }
-        if (storage.loadPaymentList().isEmpty()) {
+        StartupStats.record("load", loadStart);
+
+        if (paymentList.isEmpty()) {
             logger.warning("PaymentList is not loaded");
         }
-        if (storage.loadExpenseList() == null) {
+        if (expenseList == null) {
             logger.warning("expenseList is not loaded");
         }
-        if (storage.loadIncomeList() == null) {
+        if (incomeList == null) {
             logger.warning("incomeList is not loaded");
         }
-        if (storage.loadBudget() == null) {
+        if (budget == null) {
             logger.warning("budgetList is not loaded");
         }
 
-        model = new DukePP(storage.loadExpenseList(),
-                storage.loadPlanAttributes(),
-                storage.loadIncomeList(),
-                storage.loadBudget(),
-                storage.loadBudgetView(),
-                storage.loadPaymentList());
+        //Demo Code, loads demo data on first boot
+        if (expenseList != null && expenseList.internalSize() == 0) {
+            long demoStart = StartupStats.start();
+            loadListDemoData(expenseList, planAttributes, incomeList, paymentList);
+            StartupStats.record("demo data", demoStart);
+        }
+
+        long modelStart = StartupStats.start();
+        model = new DukePP(expenseList,
+                planAttributes,
+                incomeList,
+                budget,
+                budgetView,
+                paymentList);
+        StartupStats.record("model", modelStart);
 
         logger.info("Initialized the model");
 
@@ -96,10 +160,37 @@ public class Main extends Application {
         logger.info("Initialized the logic");
 
         ui = new UiManager(logic);
+        StartupStats.record("init", initStart);
         logger.info("Initialized the app");
 
     }
 
+    /**
+     * Wraps {@code task} so that the time it takes is recorded as the startup phase {@code phase}.
+     */
+    private static <T> Callable<T> timed(String phase, Callable<T> task) {
+        return () -> {
+            long start = StartupStats.start();
+            T result = task.call();
+            StartupStats.record(phase, start);
+            return result;
+        };
+    }
+
+    /**
+     * Waits for {@code future}, rethrowing whatever its task threw.
+     */
+    private static <T> T await(Future<T> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception) {
+                throw (Exception) e.getCause();
+            }
+            throw e;
+        }
+    }
+
 
     /**
      * Starts Duke with MainWindow.
@@ -108,25 +199,41 @@ public class Main extends Application {
      */
     @Override
     public void start(Stage primaryStage) {
+        long uiStart = StartupStats.start();
         primaryStage.setResizable(false);
         ui.start(primaryStage);
+        StartupStats.record("ui", uiStart);
+    }
+
+    /**
+     * Writes every pending save before the application stops.
+     */
+    @Override
+    public void stop() throws Exception {
+        try {
+            storage.shutdown();
+        } catch (DukeException e) {
+            logger.warning("Failed to write pending saves on exit: " + e.getMessage());
+        }
+        super.stop();
     }
 
     public static void main(String[] args) {
         launch(args);
     }
 
-    private final Storage loadListDemoData(Storage storage) {
+    private void loadListDemoData(ExpenseList expenseList, Map<String, String> planAttributes,
+                                  IncomeList incomeList, Optional<PaymentList> optionalPaymentList) {
         Expense.Builder expenseBuilder = new Expense.Builder();
         Income.Builder incomeBuilder = new Income.Builder();
         Payment.Builder paymentBuilder = new Payment.Builder();
+        storage.beginTransaction();
         try {
             // loading expense demo data
             expenseBuilder.setAmount("3.50");
             expenseBuilder.setDescription("Chicken Rice");
             expenseBuilder.setTag("FOOD");
             expenseBuilder.setTime("18:00 09/11/2019");
-            ExpenseList expenseList = storage.loadExpenseList();
             expenseList.add(expenseBuilder.build());
 
             expenseBuilder.setAmount("5.50");
@@ -163,7 +270,6 @@ public class Main extends Application {
             // loading income demo data
             incomeBuilder.setAmount("400");
             incomeBuilder.setDescription("Pocket Money");
-            IncomeList incomeList = storage.loadIncomeList();
             incomeList.add(incomeBuilder.build());
 
             incomeBuilder.setAmount("250.70");
@@ -172,7 +278,6 @@ public class Main extends Application {
             storage.saveIncomeList(incomeList);
 
             // loading plan bot demo data
-            Map<String, String> planAttributes = storage.loadPlanAttributes();
             planAttributes.put("NUS_STUDENT", "TRUE");
             planAttributes.put("ONLINE_SHOPPING", "100");
             planAttributes.put("MUSIC_SUBSCRIPTION", "TRUE");
@@ -185,7 +290,10 @@ public class Main extends Application {
             paymentBuilder.setDescription("Raffles Hall Orientation Fee");
             paymentBuilder.setAmount("60").setTag("school life").setDue("05/01/2020");
             paymentBuilder.setPriority("Low").setReceiver("Raffles Hall");
-            PaymentList paymentList = storage.loadPaymentList().get();
+            if (optionalPaymentList.isEmpty()) {
+                return;
+            }
+            PaymentList paymentList = optionalPaymentList.get();
             paymentList.add(paymentBuilder.build());
 
             logger.info("*********loading sample payment");
@@ -238,8 +346,13 @@ public class Main extends Application {
 
         } catch (DukeException e) {
             e.printStackTrace();
+        } finally {
+            try {
+                storage.commitTransaction();
+            } catch (DukeException e) {
+                logger.warning("Sample data did not save: " + e.getMessage());
+            }
         }
-        return storage;
     }
 
 }
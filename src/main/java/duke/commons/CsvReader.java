@@ -0,0 +1,103 @@
+package duke.commons;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Reads comma-separated values one record at a time, so that files of any size can be read
+ * without holding them in memory. Fields may be quoted with {@code "}, in which case they may contain
+ * commas, line breaks and doubled quotes. Lines may end with {@code \n} or {@code \r\n}.
+ */
+public class CsvReader implements Closeable {
+    private static final int END_OF_STREAM = -1;
+
+    private final BufferedReader reader;
+    private int lineNumber = 1;
+    private int recordLineNumber;
+
+    /**
+     * Constructs a {@code CsvReader} that reads from {@code reader}.
+     *
+     * @param reader cannot be null.
+     */
+    public CsvReader(Reader reader) {
+        requireNonNull(reader);
+        this.reader = (reader instanceof BufferedReader) ? (BufferedReader) reader : new BufferedReader(reader);
+    }
+
+    /**
+     * Returns the fields of the next record.
+     *
+     * @return the fields, or null if there are no more records.
+     * @throws IOException if the input cannot be read, or ends inside a quoted field.
+     */
+    public List<String> readRecord() throws IOException {
+        int c = reader.read();
+        if (c == END_OF_STREAM) {
+            return null;
+        }
+        recordLineNumber = lineNumber;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean isQuoted = false;
+        while (true) {
+            if (isQuoted) {
+                if (c == END_OF_STREAM) {
+                    throw new IOException("Quoted field starting on line " + recordLineNumber + " is not closed");
+                }
+                if (c == '"') {
+                    reader.mark(1);
+                    if (reader.read() == '"') {
+                        field.append('"');
+                    } else {
+                        reader.reset();
+                        isQuoted = false;
+                    }
+                } else {
+                    if (c == '\n') {
+                        lineNumber++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                isQuoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == END_OF_STREAM) {
+                if (c == '\n') {
+                    lineNumber++;
+                }
+                int end = field.length();
+                if (end > 0 && field.charAt(end - 1) == '\r') {
+                    field.setLength(end - 1);
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+    }
+
+    /**
+     * Returns the line on which the record last returned by {@link #readRecord()} starts.
+     *
+     * @return the line number, counting from 1.
+     */
+    public int getRecordLineNumber() {
+        return recordLineNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
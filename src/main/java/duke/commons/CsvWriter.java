@@ -0,0 +1,72 @@
+package duke.commons;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Writes comma-separated values one record at a time, in the format read by {@link CsvReader}.
+ * Fields holding commas, quotes or line breaks are quoted, with their quotes doubled.
+ */
+public class CsvWriter implements Closeable, Flushable {
+    private static final String RECORD_SEPARATOR = "\r\n";
+
+    private final Writer writer;
+
+    /**
+     * Constructs a {@code CsvWriter} that writes to {@code writer}, which should be buffered.
+     *
+     * @param writer cannot be null.
+     */
+    public CsvWriter(Writer writer) {
+        this.writer = requireNonNull(writer);
+    }
+
+    /**
+     * Writes a record holding the given fields.
+     *
+     * @param fields the fields of the record. Null fields are written as empty fields.
+     * @throws IOException if the record cannot be written.
+     */
+    public void writeRecord(List<String> fields) throws IOException {
+        for (int i = 0; i < fields.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeField(fields.get(i));
+        }
+        writer.write(RECORD_SEPARATOR);
+    }
+
+    private void writeField(String field) throws IOException {
+        if (field == null) {
+            return;
+        }
+        boolean isQuoted = false;
+        for (int i = 0; i < field.length() && !isQuoted; i++) {
+            char c = field.charAt(i);
+            isQuoted = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!isQuoted) {
+            writer.write(field);
+            return;
+        }
+        writer.write('"');
+        writer.write(field.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
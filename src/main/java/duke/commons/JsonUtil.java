@@ -5,18 +5,28 @@ package duke.commons;
 import static java.util.Objects.requireNonNull;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.Optional;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.deser.std.FromStringDeserializer;
 import com.fasterxml.jackson.databind.module.SimpleModule;
@@ -91,6 +101,96 @@ public class JsonUtil {
     }
 
 
+    /**
+     * Writes a JSON object holding a single array field, {@code {"arrayFieldName": [items...]}}, to the file.
+     * Each item is serialized straight to the file as it is reached, so no copy of the whole document is
+     * built in memory. Overwrites existing file if it exists, creates a new file if it doesn't.
+     *
+     * @param filePath         cannot be null.
+     * @param arrayFieldName   the name of the array field.
+     * @param items            the items of the array, which may be created lazily as they are iterated.
+     * @param isPrettyPrinted  whether to indent the document like {@link #toJsonString(Object)} does.
+     * @param <T>              the type of the items.
+     * @throws IOException if there was an error during writing to the file.
+     */
+    public static <T> void writeJsonArrayFile(Path filePath, String arrayFieldName, Iterable<T> items,
+                                              boolean isPrettyPrinted) throws IOException {
+        requireNonNull(filePath);
+        requireNonNull(items);
+
+        ObjectWriter itemWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+             OutputStream outputStream = Channels.newOutputStream(channel);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            if (isPrettyPrinted) {
+                generator.useDefaultPrettyPrinter();
+            }
+            generator.writeStartObject();
+            generator.writeArrayFieldStart(arrayFieldName);
+            for (T item : items) {
+                itemWriter.writeValue(generator, item);
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+    }
+
+    /**
+     * Reads the items of an array field of the JSON object in the file, as written by
+     * {@link #writeJsonArrayFile(Path, String, Iterable, boolean)}, passing each item to {@code consumer} as
+     * soon as it is parsed. Other fields are skipped, and a missing array field gives no items.
+     *
+     * @param filePath       cannot be null.
+     * @param arrayFieldName the name of the array field.
+     * @param itemClass      each item of the array has to correspond to the structure in the class given here.
+     * @param consumer       receives each item.
+     * @param <T>            the type of the items.
+     * @throws IOException   if the file cannot be read or is not in the expected format.
+     * @throws DukeException if {@code consumer} rejects an item.
+     */
+    public static <T> void readJsonArrayFile(Path filePath, String arrayFieldName, Class<T> itemClass,
+                                             ItemConsumer<T> consumer) throws IOException, DukeException {
+        requireNonNull(filePath);
+        requireNonNull(consumer);
+
+        ObjectReader itemReader = objectMapper.readerFor(itemClass);
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ);
+             InputStream inputStream = Channels.newInputStream(channel);
+             JsonParser parser = objectMapper.getFactory().createParser(inputStream)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException(filePath + " does not hold a JSON object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if (!arrayFieldName.equals(fieldName) || value == JsonToken.VALUE_NULL) {
+                    parser.skipChildren();
+                    continue;
+                }
+                if (value != JsonToken.START_ARRAY) {
+                    throw new IOException(arrayFieldName + " in " + filePath + " is not an array");
+                }
+                for (JsonToken item = parser.nextToken(); item != JsonToken.END_ARRAY; item = parser.nextToken()) {
+                    if (item == null) {
+                        throw new IOException(filePath + " ends in the middle of " + arrayFieldName);
+                    }
+                    consumer.accept(itemReader.readValue(parser));
+                }
+            }
+        }
+    }
+
+    /**
+     * Receives the items read by {@link #readJsonArrayFile(Path, String, Class, ItemConsumer)}.
+     *
+     * @param <T> the type of the items.
+     */
+    @FunctionalInterface
+    public interface ItemConsumer<T> {
+        void accept(T item) throws DukeException;
+    }
+
     /**
      * Converts a given string representation of a JSON data to instance of a class.
      * @param <T> The generic type to create an instance of
@@ -0,0 +1,76 @@
+package duke.commons;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.logging.Logger;
+
+/**
+ * Records how long each phase of startup took, so that cold start can be measured and compared across runs.
+ * Phases may run in parallel, so their times can add up to more than the total.
+ */
+public class StartupStats {
+    private static final Logger logger = LogsCenter.getLogger(StartupStats.class);
+
+    private static final Map<String, Long> phaseNanos = new LinkedHashMap<>();
+
+    /**
+     * Returns the time to pass to {@link #record(String, long)} once the phase has finished.
+     *
+     * @return the current value of {@link System#nanoTime()}.
+     */
+    public static long start() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Records that {@code phase} has finished, and logs how long it took.
+     *
+     * @param phase      the name of the phase.
+     * @param startNanos the time returned by {@link #start()} when the phase began.
+     */
+    public static void record(String phase, long startNanos) {
+        long elapsedNanos = System.nanoTime() - startNanos;
+        synchronized (phaseNanos) {
+            phaseNanos.put(phase, elapsedNanos);
+        }
+        logger.info(String.format("Startup phase %s took %.1f ms", phase, elapsedNanos / 1e6));
+    }
+
+    /**
+     * Returns the time each phase took, in order of completion.
+     *
+     * @return a map of phase names to their times in nanoseconds.
+     */
+    public static Map<String, Long> getPhaseNanos() {
+        synchronized (phaseNanos) {
+            return new LinkedHashMap<>(phaseNanos);
+        }
+    }
+
+    /**
+     * Returns one line per phase, giving the time it took in milliseconds.
+     *
+     * @return the recorded phases, or a note that none were recorded.
+     */
+    public static String getSummary() {
+        Map<String, Long> phases = getPhaseNanos();
+        if (phases.isEmpty()) {
+            return "No startup phases were recorded.";
+        }
+        StringJoiner stringJoiner = new StringJoiner("\n");
+        for (Map.Entry<String, Long> phase : phases.entrySet()) {
+            stringJoiner.add(String.format("%s: %.1f ms", phase.getKey(), phase.getValue() / 1e6));
+        }
+        return stringJoiner.toString();
+    }
+
+    /**
+     * Forgets every recorded phase.
+     */
+    public static void clear() {
+        synchronized (phaseNanos) {
+            phaseNanos.clear();
+        }
+    }
+}
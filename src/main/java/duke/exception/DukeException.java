@@ -12,6 +12,8 @@ public class DukeException extends Exception {
     public static final String MESSAGE_PARSER_TIME_INVALID = "%s is not a valid time!";
     public static final String MESSAGE_EXPENSE_AMOUNT_INVALID = "%s is not a valid amount!";
     public static final String MESSAGE_EXPENSE_TIME_INVALID = "%s is not a valid time!";
+    public static final String MESSAGE_RECURRENCE_INVALID = "%s is not a valid recurrence! "
+            + "Try daily, weekly, monthly, yearly or something like \"every 2 weeks\"!";
     public static final String MESSAGE_COMMAND_PARAM_UNKNOWN = "%s is not a valid parameter for this command!";
     public static final String MESSAGE_COMMAND_PARAM_MISSING_VALUE = "/%s needs a value!";
     public static final String MESSAGE_COMMAND_PARAM_MISSING = "This command needs /%s to be given!";
@@ -37,6 +39,24 @@ public class DukeException extends Exception {
     public static final String MESSAGE_PAYMENT_SCOPE_INVALID = "%s is not a valid time scope";
     public static final String MESSAGE_PLANBOT_INVALID_REPLY = "Please enter a valid reply!";
     public static final String MESSAGE_TAG_TOO_LONG = "The maximum length of tag is 30 chars.";
+    public static final String MESSAGE_STATS_SUBJECT_INVALID = "%s is not a statistic I keep! Try startup.";
+    public static final String MESSAGE_IMPORT_FILE_NOT_FOUND = "There is no file at %s to import!";
+    public static final String MESSAGE_IMPORT_FILE_FAILED = "The file at %s could not be read!";
+    public static final String MESSAGE_IMPORT_MAPPING_INVALID = "%s is not a valid column mapping! "
+        + "Map fields to columns like amount=Debit,time=1";
+    public static final String MESSAGE_IMPORT_COLUMN_MISSING = "There is no %s column to import from!";
+    public static final String MESSAGE_IMPORT_TIME_PATTERN_INVALID = "%s is not a valid time pattern!";
+    public static final String MESSAGE_EXPORT_FILE_FAILED = "The file at %s could not be written!";
+    public static final String MESSAGE_EXPORT_FORMAT_INVALID = "%s is not a format I can export! Try csv or jsonl.";
+    public static final String MESSAGE_EXPORT_SUBJECT_INVALID = "%s is not a list I can export! "
+        + "Try expenses, income or payments.";
+    public static final String MESSAGE_UNDO_EMPTY = "There is nothing to undo!";
+    public static final String MESSAGE_REDO_EMPTY = "There is nothing to redo!";
+    public static final String MESSAGE_UNDO_DEPTH_INVALID = "%s is not a valid undo depth!";
+    public static final String MESSAGE_UNDO_STEPS_INVALID = "%s is not a valid number of commands!";
+    public static final String MESSAGE_FIND_LIMIT_INVALID = "%s is not a valid number of matches!";
+    public static final String MESSAGE_FIND_THRESHOLD_INVALID = "%s is not a valid threshold! "
+            + "Try a number from 0 to 1.";
 
     public DukeException(String message) {
         super(message);
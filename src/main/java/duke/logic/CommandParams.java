@@ -18,10 +18,16 @@ import duke.logic.command.Command;
 import duke.logic.command.ConfirmTentativeCommand;
 import duke.logic.command.DeleteExpenseCommand;
 import duke.logic.command.ExitCommand;
+import duke.logic.command.ExportCommand;
 import duke.logic.command.FilterExpenseCommand;
+import duke.logic.command.FindCommand;
 import duke.logic.command.GoToCommand;
+import duke.logic.command.ImportCommand;
 import duke.logic.command.PlanBotCommand;
+import duke.logic.command.RedoCommand;
 import duke.logic.command.SortExpenseCommand;
+import duke.logic.command.StatsCommand;
+import duke.logic.command.UndoCommand;
 import duke.logic.command.ViewExpenseCommand;
 
 import java.util.Arrays;
@@ -77,7 +83,13 @@ public class CommandParams {
             new AddIncomeCommand(),
             new DeleteIncomeCommand(),
             new ViewBudgetCommand(),
-            new DonePaymentCommand()
+            new DonePaymentCommand(),
+            new StatsCommand(),
+            new ImportCommand(),
+            new ExportCommand(),
+            new UndoCommand(),
+            new RedoCommand(),
+            new FindCommand()
     );
 
     /**
@@ -187,6 +199,17 @@ public class CommandParams {
         return true;
     }
 
+    /**
+     * Returns whether the parameter specified by {@code paramName} exists and was given a value.
+     * Can be used for optional flags that may also take a value.
+     *
+     * @param paramName the parameter whose value to check for.
+     * @return true if the parameter exists and is not null, and false otherwise.
+     */
+    public boolean containsParamValue(String paramName) {
+        return secondaryParams.get(paramName) != null;
+    }
+
     private static String extractMainParam(String string, int numberOfWords) {
         String[] words = SPACE_REGEX.split(string, numberOfWords + 1);
         if (words.length <= numberOfWords) {
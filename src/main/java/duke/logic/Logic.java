@@ -4,6 +4,7 @@ import duke.exception.DukeException;
 import duke.model.Expense;
 import duke.model.Income;
 import duke.model.PlanBot;
+import duke.model.TagTotal;
 import duke.model.payment.Payment;
 import duke.model.payment.PaymentList;
 import javafx.beans.property.ObjectProperty;
@@ -34,6 +35,13 @@ public interface Logic {
 
     BigDecimal getTagAmount(String tag);
 
+    /**
+     * Returns the totals of the expenses displayed, by tag.
+     *
+     * @return an unmodifiable map of tags to their totals.
+     */
+    Map<String, TagTotal> getTagTotals();
+
     ObservableList<Income> getExternalIncomeList();
 
     ObservableList<String> getBudgetObservableList();
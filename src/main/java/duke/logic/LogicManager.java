@@ -6,6 +6,7 @@ import duke.model.Expense;
 import duke.model.Income;
 import duke.model.Model;
 import duke.model.PlanBot;
+import duke.model.TagTotal;
 import duke.model.payment.Payment;
 import duke.model.payment.PaymentList;
 import duke.storage.Storage;
@@ -36,12 +37,24 @@ public class LogicManager implements Logic {
         this.storage = storage;
     }
 
+    /**
+     * Executes the command given by {@code userInput}. Every save made by the command is written in a single
+     * storage transaction, so that a command that saves several stores never leaves only some of them saved.
+     * The saves made before a failure are still written, as the model already holds their changes.
+     * The changes made by the command, including those made before a failure, are undone as one step.
+     */
     @Override
     public CommandResult execute(String userInput) throws DukeException {
         CommandResult commandResult;
         CommandParams commandParams = new CommandParams(userInput);
         Command command = commandParams.getCommand();
-        commandResult = command.execute(commandParams, model, storage);
+        storage.beginTransaction();
+        try {
+            commandResult = command.execute(commandParams, model, storage);
+        } finally {
+            storage.commitTransaction();
+            model.commitUndoStep();
+        }
 
         return commandResult;
     }
@@ -61,6 +74,11 @@ public class LogicManager implements Logic {
         return model.getExpenseList().getTagAmount(tag);
     }
 
+    @Override
+    public Map<String, TagTotal> getTagTotals() {
+        return model.getExpenseList().getTagTotals();
+    }
+
     @Override
     public ObservableList<Income> getExternalIncomeList() {
         return model.getIncomeExternalList();
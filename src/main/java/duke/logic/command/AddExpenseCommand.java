@@ -5,6 +5,7 @@ import duke.logic.CommandParams;
 import duke.logic.CommandResult;
 import duke.model.Expense;
 import duke.model.Model;
+import duke.model.Recurrence;
 import duke.storage.Storage;
 
 import java.util.stream.Collectors;
@@ -27,7 +28,7 @@ public class AddExpenseCommand extends Command {
         TAG("tag", "tags that should be added to the expense"),
         TIME("time", "the time of the expense"),
         TENTATIVE("tentative", "sets the expense to be tentative"),
-        RECURRING("recurring", "sets the expense to be recurring");
+        RECURRING("recurring", "sets the expense to recur monthly, or as often as given, e.g. weekly");
 
 
         private String name;
@@ -78,6 +79,9 @@ public class AddExpenseCommand extends Command {
 
         if (commandParams.containsParams(SecondaryParam.RECURRING.name)) {
             expenseBuilder.setRecurring(true);
+            if (commandParams.containsParamValue(SecondaryParam.RECURRING.name)) {
+                expenseBuilder.setRecurrence(Recurrence.parse(commandParams.getParam(SecondaryParam.RECURRING.name)));
+            }
         }
 
         model.addExpense(expenseBuilder.build());
@@ -49,8 +49,7 @@ public class ConfirmTentativeCommand extends Command {
             Expense expense = model.getExpenseExternalList().get(index - 1);
             if (expense.isTentative()) {
                 model.deleteExpense(index);
-                expense.setTentative(false);
-                model.addExpense(expense);
+                model.addExpense(new Expense.Builder(expense).setTentative(false).build());
             } else {
                 throw new DukeException(index + " is not a tentative task!");
             }
@@ -1,5 +1,6 @@
 package duke.logic.command;
 
+import duke.exception.DukeException;
 import duke.logic.CommandParams;
 import duke.logic.CommandResult;
 import duke.model.Model;
@@ -48,8 +49,14 @@ public class ExitCommand extends Command {
             .collect(Collectors.toMap(s -> s.name, s -> s.description)));
     }
 
+    /**
+     * Waits for every pending save to be written before exiting, so that no save is lost.
+     *
+     * @throws DukeException if a pending save could not be written.
+     */
     @Override
-    public CommandResult execute(CommandParams commandParams, Model model, Storage storage) {
+    public CommandResult execute(CommandParams commandParams, Model model, Storage storage) throws DukeException {
+        storage.flush();
         return new CommandResult(COMPLETE_MESSAGE, CommandResult.DisplayedPane.EXPENSE, true);
     }
 }
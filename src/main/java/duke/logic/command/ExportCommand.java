@@ -0,0 +1,181 @@
+package duke.logic.command;
+
+import duke.exception.DukeException;
+import duke.logic.CommandParams;
+import duke.logic.CommandResult;
+import duke.logic.parser.Parser;
+import duke.logic.util.Exporter;
+import duke.model.Expense;
+import duke.model.Income;
+import duke.model.Model;
+import duke.model.payment.Payment;
+import duke.storage.Storage;
+
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Exports expenses, income or payments to a CSV or JSON Lines file for use outside Duke++.
+ *
+ * By default, the expenses currently displayed are exported. With /view and /previous specified,
+ * the expenses in that time scope are exported instead, and /tag keeps only the expenses with that tag.
+ * Rows are written as they are read, so the whole output is never held in memory.
+ */
+public class ExportCommand extends Command {
+    private static final String name = "export";
+    private static final String description = "Exports a list to a CSV or JSON Lines file";
+    private static final String usage = "export expenses|income|payments";
+
+    private static final String COMPLETE_MESSAGE = "Exported %d %s to %s.";
+    private static final String SUBJECT_EXPENSES = "expenses";
+    private static final String SUBJECT_INCOME = "income";
+    private static final String SUBJECT_PAYMENTS = "payments";
+    private static final String DEFAULT_EXPORT_DIRECTORY = "data/duke/exports";
+    private static final String DEFAULT_VIEW_SCOPE = "all";
+    private static final int DEFAULT_PREVIOUS_VALUE = 0;
+    private static final String EXCEPTION_WORD_FILE = "file";
+    private static final DateTimeFormatter DUE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    private static final List<String> EXPENSE_COLUMNS =
+        List.of("time", "amount", "description", "tag", "tentative", "recurring");
+    private static final List<String> INCOME_COLUMNS = List.of("amount", "description");
+    private static final List<String> PAYMENT_COLUMNS =
+        List.of("description", "receiver", "due", "tag", "amount", "priority");
+
+    /**
+     * Contains all secondary parameters used by {@code ExportCommand}.
+     */
+    private enum SecondaryParam {
+        FORMAT("format", "the format to export to, csv or jsonl"),
+        TO("to", "the file to export to"),
+        VIEW("view", "the time scope of expenses to export"),
+        PREVIOUS("previous", "the number of time scopes to move back by"),
+        TAG("tag", "the tag of expenses to export");
+
+        private String name;
+        private String description;
+
+        /**
+         * Constructs a {@code SecondaryParam} with its name and usage.
+         *
+         * @param name        The name of the secondary parameter.
+         * @param description The usage of this parameter.
+         */
+        SecondaryParam(String name, String description) {
+            this.name = name;
+            this.description = description;
+        }
+    }
+
+    /**
+     * Creates an ExportCommand, with its name, description, usage and secondary parameters.
+     */
+    public ExportCommand() {
+        super(name, description, usage, Stream.of(SecondaryParam.values())
+            .collect(Collectors.toMap(s -> s.name, s -> s.description)));
+    }
+
+    @Override
+    public CommandResult execute(CommandParams commandParams, Model model, Storage storage) throws DukeException {
+        String subject = commandParams.containsMainParam()
+            ? commandParams.getMainParam().trim().toLowerCase(Locale.ROOT)
+            : SUBJECT_EXPENSES;
+
+        Exporter.Format format = Exporter.Format.CSV;
+        if (commandParams.containsParams(SecondaryParam.FORMAT.name)) {
+            format = Exporter.Format.of(commandParams.getParam(SecondaryParam.FORMAT.name));
+        }
+        Path file = getFile(commandParams, subject, format);
+        Exporter exporter = new Exporter(format);
+
+        int rowCount;
+        switch (subject) {
+        case SUBJECT_EXPENSES:
+            rowCount = exporter.export(file, EXPENSE_COLUMNS, getExpenses(commandParams, model),
+                ExportCommand::toRow);
+            break;
+        case SUBJECT_INCOME:
+            rowCount = exporter.export(file, INCOME_COLUMNS, model.getIncomeList().getInternalList().iterator(),
+                ExportCommand::toRow);
+            break;
+        case SUBJECT_PAYMENTS:
+            rowCount = exporter.export(file, PAYMENT_COLUMNS, model.getPaymentList().getInternalList().iterator(),
+                ExportCommand::toRow);
+            break;
+        default:
+            throw new DukeException(String.format(DukeException.MESSAGE_EXPORT_SUBJECT_INVALID, subject));
+        }
+
+        return new CommandResult(String.format(COMPLETE_MESSAGE, rowCount, subject, file),
+            CommandResult.DisplayedPane.EXPENSE);
+    }
+
+    private Path getFile(CommandParams commandParams, String subject, Exporter.Format format)
+        throws DukeException {
+        if (!commandParams.containsParams(SecondaryParam.TO.name)) {
+            return Paths.get(DEFAULT_EXPORT_DIRECTORY, subject + "." + format.getExtension());
+        }
+        String to = commandParams.getParam(SecondaryParam.TO.name);
+        if (to.isBlank()) {
+            throw new DukeException(String.format(DukeException.MESSAGE_COMMAND_PARAM_MISSING,
+                EXCEPTION_WORD_FILE));
+        }
+        try {
+            return Paths.get(to.trim());
+        } catch (InvalidPathException e) {
+            throw new DukeException(String.format(DukeException.MESSAGE_EXPORT_FILE_FAILED, to));
+        }
+    }
+
+    /**
+     * Returns the expenses to export. Without a time scope or tag, these are the expenses displayed.
+     */
+    private Iterator<Expense> getExpenses(CommandParams commandParams, Model model) throws DukeException {
+        boolean hasView = commandParams.containsParams(SecondaryParam.VIEW.name);
+        boolean hasTag = commandParams.containsParams(SecondaryParam.TAG.name);
+        if (!hasView && !hasTag) {
+            return model.getExpenseExternalList().iterator();
+        }
+
+        String viewScopeName = hasView ? commandParams.getParam(SecondaryParam.VIEW.name) : DEFAULT_VIEW_SCOPE;
+        int previous = DEFAULT_PREVIOUS_VALUE;
+        if (commandParams.containsParams(SecondaryParam.PREVIOUS.name)) {
+            try {
+                previous = Integer.parseInt(commandParams.getParam(SecondaryParam.PREVIOUS.name));
+            } catch (NumberFormatException e) {
+                throw new DukeException(String.format(DukeException.MESSAGE_EXPENSE_VIEW_NUMBER_INVALID,
+                    commandParams.getParam(SecondaryParam.PREVIOUS.name)));
+            }
+        }
+
+        Stream<Expense> expenses = model.getExpenseList().streamViewScope(viewScopeName, previous);
+        if (hasTag) {
+            String tag = commandParams.getParam(SecondaryParam.TAG.name);
+            expenses = expenses.filter(expense -> expense.getTag().equalsIgnoreCase(tag));
+        }
+        return expenses.iterator();
+    }
+
+    private static List<String> toRow(Expense expense) {
+        return Arrays.asList(Parser.formatTime(expense.getTime()), expense.getAmount().toPlainString(),
+            expense.getDescription(), expense.getTag(), String.valueOf(expense.isTentative()),
+            String.valueOf(expense.isRecurring()));
+    }
+
+    private static List<String> toRow(Income income) {
+        return Arrays.asList(income.getAmount().toPlainString(), income.getDescription());
+    }
+
+    private static List<String> toRow(Payment payment) {
+        return Arrays.asList(payment.getDescription(), payment.getReceiver(), payment.getDue().format(DUE_FORMATTER),
+            payment.getTag(), payment.getAmount().toPlainString(), payment.getPriority().toString());
+    }
+}
@@ -9,6 +9,11 @@ import duke.storage.Storage;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+/**
+ * Shows only the expenses whose description or tag contain the given words.
+ * Words separated by "or" may match either way, and a word ending with "*" matches as a prefix.
+ * With no words, every expense is shown again.
+ */
 public class FilterExpenseCommand extends Command {
     private static final String name = "filterExpense";
     private static final String description = "Filter expenses according to a given criteria";
@@ -0,0 +1,139 @@
+package duke.logic.command;
+
+import duke.exception.DukeException;
+import duke.logic.CommandParams;
+import duke.logic.CommandResult;
+import duke.model.Expense;
+import duke.model.Model;
+import duke.model.TrigramIndex;
+import duke.model.payment.Payment;
+import duke.storage.Storage;
+
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Finds the expenses and payments whose descriptions, or whose payments' receivers, are similar to the
+ * text given, even if it is misspelt or spaced differently, such as "Gongcha" for "Gong Cha".
+ * The best matches are listed first.
+ */
+public class FindCommand extends Command {
+    private static final String name = "find";
+    private static final String description = "Finds expenses and payments with similar descriptions";
+    private static final String usage = "find $text";
+
+    private static final String COMPLETE_MESSAGE = "Found %d match(es) for \"%s\":";
+    private static final String NOT_FOUND_MESSAGE = "Found nothing similar to \"%s\".";
+    private static final String EXPENSE_FORMAT = "%d. [Expense] %s - $%s (%s)";
+    private static final String PAYMENT_FORMAT = "%d. [Payment] %s to %s - $%s (due %s)";
+    private static final String EXCEPTION_WORD_TEXT = "text";
+    private static final DateTimeFormatter DUE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final int DEFAULT_LIMIT = 10;
+
+    /**
+     * Contains all secondary parameters used by {@code FindCommand}.
+     */
+    private enum SecondaryParam {
+        LIMIT("limit", "the most matches to show"),
+        THRESHOLD("threshold", "how similar matches must be, from 0 to 1");
+
+        private String name;
+        private String description;
+
+        /**
+         * Constructs a {@code SecondaryParam} with its name and usage.
+         *
+         * @param name        The name of the secondary parameter.
+         * @param description The usage of this parameter.
+         */
+        SecondaryParam(String name, String description) {
+            this.name = name;
+            this.description = description;
+        }
+    }
+
+    /**
+     * Creates a FindCommand, with its name, description, usage and secondary parameters.
+     */
+    public FindCommand() {
+        super(name, description, usage, Stream.of(SecondaryParam.values())
+            .collect(Collectors.toMap(s -> s.name, s -> s.description)));
+    }
+
+    @Override
+    public CommandResult execute(CommandParams commandParams, Model model, Storage storage) throws DukeException {
+        if (!commandParams.containsMainParam()) {
+            throw new DukeException(String.format(DukeException.MESSAGE_COMMAND_PARAM_MISSING, EXCEPTION_WORD_TEXT));
+        }
+        String query = commandParams.getMainParam();
+        int limit = getLimit(commandParams);
+        double threshold = getThreshold(commandParams);
+
+        model.getExpenseList().loadHistory();
+        List<TrigramIndex.Match<?>> matches = new ArrayList<>();
+        matches.addAll(model.getExpenseList().getFuzzyIndex().search(query, threshold, limit));
+        matches.addAll(model.getPaymentList().getFuzzyIndex().search(query, threshold, limit));
+        matches.sort(TrigramIndex.Match.BEST_FIRST);
+        if (matches.size() > limit) {
+            matches = matches.subList(0, limit);
+        }
+
+        if (matches.isEmpty()) {
+            return new CommandResult(String.format(NOT_FOUND_MESSAGE, query), CommandResult.DisplayedPane.EXPENSE);
+        }
+        StringBuilder message = new StringBuilder(String.format(COMPLETE_MESSAGE, matches.size(), query));
+        boolean hasOnlyPayments = true;
+        for (int i = 0; i < matches.size(); i++) {
+            Object item = matches.get(i).getItem();
+            message.append("\n");
+            if (item instanceof Expense) {
+                Expense expense = (Expense) item;
+                message.append(String.format(EXPENSE_FORMAT, i + 1, expense.getDescription(), expense.getAmount(),
+                        expense.getTimeString()));
+                hasOnlyPayments = false;
+            } else {
+                Payment payment = (Payment) item;
+                message.append(String.format(PAYMENT_FORMAT, i + 1, payment.getDescription(), payment.getReceiver(),
+                        payment.getAmount(), payment.getDue().format(DUE_FORMATTER)));
+            }
+        }
+        return new CommandResult(message.toString(), hasOnlyPayments
+                ? CommandResult.DisplayedPane.PAYMENT
+                : CommandResult.DisplayedPane.EXPENSE);
+    }
+
+    private static int getLimit(CommandParams commandParams) throws DukeException {
+        if (!commandParams.containsParams(SecondaryParam.LIMIT.name)) {
+            return DEFAULT_LIMIT;
+        }
+        String limitString = commandParams.getParam(SecondaryParam.LIMIT.name);
+        try {
+            int limit = Integer.parseInt(limitString.trim());
+            if (limit > 0) {
+                return limit;
+            }
+        } catch (NumberFormatException e) {
+            // Handled below, along with limits that are too small.
+        }
+        throw new DukeException(String.format(DukeException.MESSAGE_FIND_LIMIT_INVALID, limitString));
+    }
+
+    private static double getThreshold(CommandParams commandParams) throws DukeException {
+        if (!commandParams.containsParams(SecondaryParam.THRESHOLD.name)) {
+            return TrigramIndex.DEFAULT_THRESHOLD;
+        }
+        String thresholdString = commandParams.getParam(SecondaryParam.THRESHOLD.name);
+        try {
+            double threshold = Double.parseDouble(thresholdString.trim());
+            if (threshold > 0 && threshold <= 1) {
+                return threshold;
+            }
+        } catch (NumberFormatException e) {
+            // Handled below, along with thresholds out of range.
+        }
+        throw new DukeException(String.format(DukeException.MESSAGE_FIND_THRESHOLD_INVALID, thresholdString));
+    }
+}
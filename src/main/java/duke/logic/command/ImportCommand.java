@@ -0,0 +1,97 @@
+package duke.logic.command;
+
+import duke.exception.DukeException;
+import duke.logic.CommandParams;
+import duke.logic.CommandResult;
+import duke.logic.util.ExpenseCsvImporter;
+import duke.model.Model;
+import duke.storage.Storage;
+
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Imports expenses in bulk from a CSV file, such as a bank export.
+ * Each batch of rows is added to the model at once, and the expenses are saved once at the end, or once
+ * the import fails if some batches were already added.
+ */
+public class ImportCommand extends Command {
+    private static final String name = "import";
+    private static final String description = "Imports expenses from a CSV file";
+    private static final String usage = "import $file";
+
+    private static final String COMPLETE_MESSAGE = "Imported %d expenses in %.1f s (%d rows/s).";
+    private static final String REJECTED_MESSAGE = "Rejected %d rows:";
+    private static final String EXCEPTION_WORD_FILE = "file";
+
+    private enum SecondaryParam {
+        COLUMNS("columns", "the column of each field, e.g. amount=Debit,description=Details,time=1"),
+        TIMEFORMAT("timeformat", "the pattern of the time column, e.g. dd/MM/yyyy");
+
+        private String name;
+        private String description;
+
+        SecondaryParam(String name, String description) {
+            this.name = name;
+            this.description = description;
+        }
+    }
+
+    /**
+     * Creates an ImportCommand, with its name, description, usage and secondary parameters.
+     */
+    public ImportCommand() {
+        super(name, description, usage, Stream.of(SecondaryParam.values())
+            .collect(Collectors.toMap(s -> s.name, s -> s.description)));
+    }
+
+    @Override
+    public CommandResult execute(CommandParams commandParams, Model model, Storage storage) throws DukeException {
+        if (!commandParams.containsMainParam()) {
+            throw new DukeException(String.format(DukeException.MESSAGE_COMMAND_PARAM_MISSING, EXCEPTION_WORD_FILE));
+        }
+        Path file;
+        try {
+            file = Paths.get(commandParams.getMainParam().trim());
+        } catch (InvalidPathException e) {
+            throw new DukeException(String.format(DukeException.MESSAGE_IMPORT_FILE_NOT_FOUND,
+                    commandParams.getMainParam()));
+        }
+
+        ExpenseCsvImporter importer = new ExpenseCsvImporter();
+        if (commandParams.containsParams(SecondaryParam.COLUMNS.name)) {
+            importer = importer.withColumns(commandParams.getParam(SecondaryParam.COLUMNS.name));
+        }
+        if (commandParams.containsParams(SecondaryParam.TIMEFORMAT.name)) {
+            importer = importer.withTimePattern(commandParams.getParam(SecondaryParam.TIMEFORMAT.name));
+        }
+
+        int expenseCount = model.getExpenseList().internalSize();
+        ExpenseCsvImporter.Result result;
+        try {
+            result = importer.importFile(file, model::addExpenses);
+        } catch (DukeException e) {
+            // The batches read before the failure are already in the model, so they are saved with it.
+            if (model.getExpenseList().internalSize() != expenseCount) {
+                storage.saveExpenseList(model.getExpenseList());
+            }
+            throw e;
+        }
+        if (result.getImportedCount() > 0) {
+            storage.saveExpenseList(model.getExpenseList());
+        }
+
+        StringBuilder message = new StringBuilder(String.format(COMPLETE_MESSAGE, result.getImportedCount(),
+                result.getElapsedNanos() / 1e9, result.getRowsPerSecond()));
+        if (result.getRejectedCount() > 0) {
+            message.append("\n").append(String.format(REJECTED_MESSAGE, result.getRejectedCount()));
+            for (String reason : result.getRejectionReasons()) {
+                message.append("\n").append(reason);
+            }
+        }
+        return new CommandResult(message.toString(), CommandResult.DisplayedPane.EXPENSE);
+    }
+}
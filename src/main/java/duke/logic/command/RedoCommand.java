@@ -0,0 +1,82 @@
+package duke.logic.command;
+
+import duke.exception.DukeException;
+import duke.logic.CommandParams;
+import duke.logic.CommandResult;
+import duke.model.Model;
+import duke.model.UndoJournal;
+import duke.storage.Storage;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Makes again the changes undone by the latest undo commands.
+ * With a number n, the latest n commands undone are redone, or as many as there are.
+ * Redoing is no longer possible once another command changes something.
+ */
+public class RedoCommand extends Command {
+    private static final String name = "redo";
+    private static final String description = "Redoes the changes undone by the latest undo commands";
+    private static final String usage = "redo [$steps]";
+
+    private static final String COMPLETE_MESSAGE = "Redid %d command(s)!";
+    private static final int DEFAULT_STEPS = 1;
+
+    /**
+     * Contains all secondary parameters used by {@code RedoCommand}.
+     * Here the {@code RedoCommand} does not demand secondary parameters.
+     */
+    private enum SecondaryParam {
+        ;
+
+        private String name;
+        private String description;
+
+        /**
+         * Constructs a {@code SecondaryParam} with its name and usage.
+         *
+         * @param name        The name of the secondary parameter.
+         * @param description The usage of this parameter.
+         */
+        SecondaryParam(String name, String description) {
+            this.name = name;
+            this.description = description;
+        }
+    }
+
+    /**
+     * Creates a RedoCommand, with its name, description, usage and secondary parameters.
+     */
+    public RedoCommand() {
+        super(name, description, usage, Stream.of(SecondaryParam.values())
+            .collect(Collectors.toMap(s -> s.name, s -> s.description)));
+    }
+
+    @Override
+    public CommandResult execute(CommandParams commandParams, Model model, Storage storage) throws DukeException {
+        int steps = DEFAULT_STEPS;
+        if (commandParams.containsMainParam()) {
+            steps = UndoCommand.parseCount(commandParams.getMainParam(), 1, DukeException.MESSAGE_UNDO_STEPS_INVALID);
+        }
+
+        Set<UndoJournal.Target> targets = EnumSet.noneOf(UndoJournal.Target.class);
+        int redoneSteps = 0;
+        try {
+            while (redoneSteps < steps) {
+                targets.addAll(model.redo());
+                redoneSteps++;
+            }
+        } catch (DukeException e) {
+            if (redoneSteps == 0) {
+                throw e;
+            }
+        }
+        UndoCommand.save(targets, model, storage);
+
+        return new CommandResult(String.format(COMPLETE_MESSAGE, redoneSteps),
+                UndoCommand.getDisplayedPane(targets));
+    }
+}
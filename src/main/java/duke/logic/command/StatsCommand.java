@@ -0,0 +1,68 @@
+package duke.logic.command;
+
+import duke.commons.StartupStats;
+import duke.exception.DukeException;
+import duke.logic.CommandParams;
+import duke.logic.CommandResult;
+import duke.model.Model;
+import duke.storage.Storage;
+
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Shows statistics Duke++ keeps about itself, such as how long each phase of startup took.
+ */
+public class StatsCommand extends Command {
+    private static final String name = "stats";
+    private static final String description = "Shows statistics about Duke++";
+    private static final String usage = "stats startup";
+
+    private static final String EXCEPTION_WORD_SUBJECT = "statistic";
+    private static final String SUBJECT_STARTUP = "startup";
+
+    /**
+     * Contains all secondary parameters used by {@code StatsCommand}.
+     * Here the {@code StatsCommand} does not demand secondary parameters.
+     */
+    private enum SecondaryParam {
+        ;
+
+        private String name;
+        private String description;
+
+        /**
+         * Constructs a {@code SecondaryParam} with its name and usage.
+         *
+         * @param name        The name of the secondary parameter.
+         * @param description The usage of this parameter.
+         */
+        SecondaryParam(String name, String description) {
+            this.name = name;
+            this.description = description;
+        }
+    }
+
+    /**
+     * Creates a StatsCommand, with its name, description, usage and secondary parameters.
+     */
+    public StatsCommand() {
+        super(name, description, usage, Stream.of(SecondaryParam.values())
+            .collect(Collectors.toMap(s -> s.name, s -> s.description)));
+    }
+
+    @Override
+    public CommandResult execute(CommandParams commandParams, Model model, Storage storage) throws DukeException {
+        if (!commandParams.containsMainParam()) {
+            throw new DukeException(String.format(DukeException.MESSAGE_COMMAND_PARAM_MISSING,
+                    EXCEPTION_WORD_SUBJECT));
+        }
+
+        String subject = commandParams.getMainParam().trim();
+        if (!subject.equalsIgnoreCase(SUBJECT_STARTUP)) {
+            throw new DukeException(String.format(DukeException.MESSAGE_STATS_SUBJECT_INVALID, subject));
+        }
+
+        return new CommandResult(StartupStats.getSummary(), CommandResult.DisplayedPane.EXPENSE);
+    }
+}
@@ -0,0 +1,150 @@
+package duke.logic.command;
+
+import duke.exception.DukeException;
+import duke.logic.CommandParams;
+import duke.logic.CommandResult;
+import duke.model.Model;
+import duke.model.UndoJournal;
+import duke.storage.Storage;
+
+import java.io.IOException;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Undoes the changes made by the latest commands.
+ * With a number n, the latest n commands that changed something are undone, or as many as there are.
+ * With /depth n, the number of commands that can be undone is set to n instead.
+ */
+public class UndoCommand extends Command {
+    private static final String name = "undo";
+    private static final String description = "Undoes the changes made by the latest commands";
+    private static final String usage = "undo [$steps]";
+
+    private static final String COMPLETE_MESSAGE = "Undid %d command(s)!";
+    private static final String DEPTH_MESSAGE = "Up to %d commands can now be undone!";
+    private static final int DEFAULT_STEPS = 1;
+
+    /**
+     * Contains all secondary parameters used by {@code UndoCommand}.
+     */
+    private enum SecondaryParam {
+        DEPTH("depth", "the number of commands that can be undone");
+
+        private String name;
+        private String description;
+
+        /**
+         * Constructs a {@code SecondaryParam} with its name and usage.
+         *
+         * @param name        The name of the secondary parameter.
+         * @param description The usage of this parameter.
+         */
+        SecondaryParam(String name, String description) {
+            this.name = name;
+            this.description = description;
+        }
+    }
+
+    /**
+     * Creates an UndoCommand, with its name, description, usage and secondary parameters.
+     */
+    public UndoCommand() {
+        super(name, description, usage, Stream.of(SecondaryParam.values())
+            .collect(Collectors.toMap(s -> s.name, s -> s.description)));
+    }
+
+    @Override
+    public CommandResult execute(CommandParams commandParams, Model model, Storage storage) throws DukeException {
+        if (commandParams.containsParams(SecondaryParam.DEPTH.name)) {
+            String depthString = commandParams.getParam(SecondaryParam.DEPTH.name);
+            model.setUndoDepth(parseCount(depthString, 0, DukeException.MESSAGE_UNDO_DEPTH_INVALID));
+            return new CommandResult(String.format(DEPTH_MESSAGE, model.getUndoDepth()),
+                    CommandResult.DisplayedPane.EXPENSE);
+        }
+
+        int steps = DEFAULT_STEPS;
+        if (commandParams.containsMainParam()) {
+            steps = parseCount(commandParams.getMainParam(), 1, DukeException.MESSAGE_UNDO_STEPS_INVALID);
+        }
+
+        Set<UndoJournal.Target> targets = EnumSet.noneOf(UndoJournal.Target.class);
+        int undoneSteps = 0;
+        try {
+            while (undoneSteps < steps) {
+                targets.addAll(model.undo());
+                undoneSteps++;
+            }
+        } catch (DukeException e) {
+            if (undoneSteps == 0) {
+                throw e;
+            }
+        }
+        save(targets, model, storage);
+
+        return new CommandResult(String.format(COMPLETE_MESSAGE, undoneSteps), getDisplayedPane(targets));
+    }
+
+    /**
+     * Parses a whole number that is at least {@code min}.
+     *
+     * @param string       the string to parse.
+     * @param min          the smallest number allowed.
+     * @param errorMessage the format of the message to show if {@code string} is not such a number.
+     * @return the number.
+     * @throws DukeException if {@code string} is not such a number.
+     */
+    static int parseCount(String string, int min, String errorMessage) throws DukeException {
+        try {
+            int count = Integer.parseInt(string.trim());
+            if (count >= min) {
+                return count;
+            }
+        } catch (NumberFormatException e) {
+            // Handled below, along with numbers that are too small.
+        }
+        throw new DukeException(String.format(errorMessage, string));
+    }
+
+    /**
+     * Saves the parts of the model changed by an undo or redo.
+     *
+     * @param targets the parts of the model that were changed.
+     * @param model   the model that was changed.
+     * @param storage the storage to save them to.
+     * @throws DukeException if a part cannot be saved.
+     */
+    static void save(Set<UndoJournal.Target> targets, Model model, Storage storage) throws DukeException {
+        if (targets.contains(UndoJournal.Target.EXPENSES)) {
+            storage.saveExpenseList(model.getExpenseList());
+        }
+        if (targets.contains(UndoJournal.Target.INCOME)) {
+            storage.saveIncomeList(model.getIncomeList());
+        }
+        if (targets.contains(UndoJournal.Target.BUDGET)) {
+            storage.saveBudget(model.getBudget());
+        }
+        if (targets.contains(UndoJournal.Target.PAYMENTS)) {
+            try {
+                storage.savePaymentList(model.getPaymentList());
+            } catch (IOException e) {
+                throw new DukeException(DukeException.MESSAGE_PAYMENT_SAVE_FAILED);
+            }
+        }
+    }
+
+    /**
+     * Returns the pane showing the parts of the model changed by an undo or redo.
+     *
+     * @param targets the parts of the model that were changed.
+     * @return the payment pane if only payments were changed, or the expense pane otherwise.
+     */
+    static CommandResult.DisplayedPane getDisplayedPane(Set<UndoJournal.Target> targets) {
+        if (targets.equals(EnumSet.of(UndoJournal.Target.PAYMENTS))) {
+            return CommandResult.DisplayedPane.PAYMENT;
+        }
+        return CommandResult.DisplayedPane.EXPENSE;
+    }
+}
@@ -49,8 +49,7 @@ public class Parser {
      */
     public static BigDecimal parseMoney(String string) throws DukeException {
         try {
-            double amountDouble = Double.parseDouble(string);
-            BigDecimal amount = BigDecimal.valueOf(amountDouble);
+            BigDecimal amount = new BigDecimal(string.trim());
             BigDecimal scaledAmount = amount.setScale(2, RoundingMode.HALF_EVEN);
             return scaledAmount;
         } catch (NumberFormatException | NullPointerException e) {
@@ -6,10 +6,16 @@ import duke.logic.command.Command;
 import duke.logic.command.ConfirmTentativeCommand;
 import duke.logic.command.DeleteExpenseCommand;
 import duke.logic.command.ExitCommand;
+import duke.logic.command.ExportCommand;
 import duke.logic.command.FilterExpenseCommand;
+import duke.logic.command.FindCommand;
 import duke.logic.command.GoToCommand;
+import duke.logic.command.ImportCommand;
 import duke.logic.command.PlanBotCommand;
+import duke.logic.command.RedoCommand;
 import duke.logic.command.SortExpenseCommand;
+import duke.logic.command.StatsCommand;
+import duke.logic.command.UndoCommand;
 import duke.logic.command.ViewExpenseCommand;
 import duke.logic.command.BudgetCommand;
 import duke.logic.command.ViewBudgetCommand;
@@ -146,7 +152,13 @@ public class AutoCompleter {
             new SortPaymentCommand(),
             new DonePaymentCommand(),
             new BudgetCommand(),
-            new ViewBudgetCommand()
+            new ViewBudgetCommand(),
+            new StatsCommand(),
+            new ImportCommand(),
+            new ExportCommand(),
+            new UndoCommand(),
+            new RedoCommand(),
+            new FindCommand()
     );
 
     /**
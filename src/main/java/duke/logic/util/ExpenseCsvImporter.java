@@ -0,0 +1,369 @@
+package duke.logic.util;
+
+import duke.commons.CsvReader;
+import duke.exception.DukeException;
+import duke.logic.parser.Parser;
+import duke.model.Expense;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoField;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Reads expenses from a CSV file with a header row, such as a bank export.
+ * Rows are read in batches, each of which is parsed in parallel and handed over whole, so that
+ * the caller can add a batch to the model with a single mutation.
+ */
+public class ExpenseCsvImporter {
+    public static final int DEFAULT_BATCH_SIZE = 1024;
+
+    /**
+     * The number of rejected rows whose reasons are kept for the report.
+     */
+    private static final int MAX_REJECTION_REASONS = 5;
+
+    private static final String MAPPING_SEPARATOR = ",";
+    private static final String MAPPING_ASSIGNMENT = "=";
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+    /**
+     * The expense fields that a column can be mapped to.
+     */
+    private enum Field {
+        AMOUNT, DESCRIPTION, TAG, TIME, TENTATIVE, RECURRING;
+
+        private String getName() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /**
+     * Receives each batch of parsed expenses.
+     */
+    @FunctionalInterface
+    public interface BatchConsumer {
+        void accept(List<Expense> expenses) throws DukeException;
+    }
+
+    /**
+     * The outcome of an import.
+     */
+    public static class Result {
+        private final int importedCount;
+        private final int rejectedCount;
+        private final List<String> rejectionReasons;
+        private final long elapsedNanos;
+
+        Result(int importedCount, int rejectedCount, List<String> rejectionReasons, long elapsedNanos) {
+            this.importedCount = importedCount;
+            this.rejectedCount = rejectedCount;
+            this.rejectionReasons = rejectionReasons;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public int getImportedCount() {
+            return importedCount;
+        }
+
+        public int getRejectedCount() {
+            return rejectedCount;
+        }
+
+        /**
+         * Returns why the first few rejected rows were rejected.
+         *
+         * @return one reason per rejected row, naming the row's line.
+         */
+        public List<String> getRejectionReasons() {
+            return rejectionReasons;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        /**
+         * Returns the number of rows read per second, whether they were imported or rejected.
+         *
+         * @return the rate of rows read.
+         */
+        public long getRowsPerSecond() {
+            return (importedCount + rejectedCount) * 1_000_000_000L / Math.max(elapsedNanos, 1);
+        }
+    }
+
+    /**
+     * A row of the file, or why it was rejected.
+     */
+    private static class ParsedRow {
+        private final Expense expense;
+        private final String rejectionReason;
+
+        ParsedRow(Expense expense, String rejectionReason) {
+            this.expense = expense;
+            this.rejectionReason = rejectionReason;
+        }
+    }
+
+    private final Map<Field, String> columnMapping;
+    private final DateTimeFormatter timeFormatter;
+    private final int batchSize;
+
+    /**
+     * Constructs an importer which takes each field from the column named after it, such as {@code amount},
+     * and parses times as {@link Parser#parseTime(String)} does.
+     */
+    public ExpenseCsvImporter() {
+        this(new EnumMap<>(Field.class), null, DEFAULT_BATCH_SIZE);
+    }
+
+    private ExpenseCsvImporter(Map<Field, String> columnMapping, DateTimeFormatter timeFormatter, int batchSize) {
+        this.columnMapping = columnMapping;
+        this.timeFormatter = timeFormatter;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Returns an importer which takes fields from the given columns instead, keeping the rest of this importer's
+     * columns. Each column is given by its header or its number counting from 1, as in
+     * {@code amount=Debit,description=Details,time=1}.
+     *
+     * @param mapping the fields and their columns.
+     * @return the new importer.
+     * @throws DukeException if a field is unknown or a column is not given.
+     */
+    public ExpenseCsvImporter withColumns(String mapping) throws DukeException {
+        requireNonNull(mapping);
+        Map<Field, String> newMapping = new EnumMap<>(columnMapping);
+        for (String assignment : mapping.split(MAPPING_SEPARATOR)) {
+            String[] fieldAndColumn = assignment.split(MAPPING_ASSIGNMENT, 2);
+            if (fieldAndColumn.length != 2 || fieldAndColumn[1].isBlank()) {
+                throw new DukeException(String.format(DukeException.MESSAGE_IMPORT_MAPPING_INVALID, assignment));
+            }
+            try {
+                newMapping.put(Field.valueOf(fieldAndColumn[0].trim().toUpperCase(Locale.ROOT)),
+                        fieldAndColumn[1].trim());
+            } catch (IllegalArgumentException e) {
+                throw new DukeException(String.format(DukeException.MESSAGE_IMPORT_MAPPING_INVALID, assignment));
+            }
+        }
+        return new ExpenseCsvImporter(newMapping, timeFormatter, batchSize);
+    }
+
+    /**
+     * Returns an importer which parses times with the given pattern instead, such as {@code dd/MM/yyyy}.
+     * Times without hours or minutes are taken to be at midnight.
+     *
+     * @param pattern the pattern, as used by {@link DateTimeFormatter}.
+     * @return the new importer.
+     * @throws DukeException if the pattern is not valid.
+     */
+    public ExpenseCsvImporter withTimePattern(String pattern) throws DukeException {
+        requireNonNull(pattern);
+        try {
+            DateTimeFormatter formatter = new DateTimeFormatterBuilder()
+                    .appendPattern(pattern)
+                    .parseDefaulting(ChronoField.HOUR_OF_DAY, 0)
+                    .parseDefaulting(ChronoField.MINUTE_OF_HOUR, 0)
+                    .toFormatter();
+            return new ExpenseCsvImporter(columnMapping, formatter, batchSize);
+        } catch (IllegalArgumentException e) {
+            throw new DukeException(String.format(DukeException.MESSAGE_IMPORT_TIME_PATTERN_INVALID, pattern));
+        }
+    }
+
+    /**
+     * Returns an importer which hands over the expenses in batches of the given size instead.
+     *
+     * @param batchSize the number of rows per batch.
+     * @return the new importer.
+     */
+    public ExpenseCsvImporter withBatchSize(int batchSize) {
+        assert batchSize > 0;
+        return new ExpenseCsvImporter(columnMapping, timeFormatter, batchSize);
+    }
+
+    /**
+     * Reads the expenses in {@code file}, passing each batch of them to {@code consumer}.
+     * Rows that cannot be parsed are rejected and counted, without stopping the import.
+     *
+     * @param file     the CSV file, whose first row holds the column headers.
+     * @param consumer receives each batch of expenses.
+     * @return the counts of imported and rejected rows.
+     * @throws DukeException if the file cannot be read, or has no column for the amount.
+     */
+    public Result importFile(Path file, BatchConsumer consumer) throws DukeException {
+        long start = System.nanoTime();
+        int importedCount = 0;
+        int rejectedCount = 0;
+        List<String> rejectionReasons = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+                CsvReader csvReader = new CsvReader(reader)) {
+            skipByteOrderMark(reader);
+            List<String> header = csvReader.readRecord();
+            if (header == null) {
+                throw new DukeException(String.format(DukeException.MESSAGE_IMPORT_COLUMN_MISSING,
+                        Field.AMOUNT.getName()));
+            }
+            Map<Field, Integer> columns = resolveColumns(header);
+
+            List<List<String>> rows = new ArrayList<>(batchSize);
+            List<Integer> lineNumbers = new ArrayList<>(batchSize);
+            boolean isEndOfFile = false;
+            while (!isEndOfFile) {
+                List<String> row = csvReader.readRecord();
+                isEndOfFile = (row == null);
+                if (!isEndOfFile && !(row.size() == 1 && row.get(0).isBlank())) {
+                    rows.add(row);
+                    lineNumbers.add(csvReader.getRecordLineNumber());
+                }
+                if (rows.size() < batchSize && !isEndOfFile) {
+                    continue;
+                }
+
+                List<ParsedRow> parsedRows = IntStream.range(0, rows.size())
+                        .parallel()
+                        .mapToObj(i -> parseRow(rows.get(i), lineNumbers.get(i), columns))
+                        .collect(Collectors.toList());
+                List<Expense> expenses = new ArrayList<>(parsedRows.size());
+                for (ParsedRow parsedRow : parsedRows) {
+                    if (parsedRow.expense != null) {
+                        expenses.add(parsedRow.expense);
+                    } else {
+                        rejectedCount++;
+                        if (rejectionReasons.size() < MAX_REJECTION_REASONS) {
+                            rejectionReasons.add(parsedRow.rejectionReason);
+                        }
+                    }
+                }
+                if (!expenses.isEmpty()) {
+                    consumer.accept(expenses);
+                    importedCount += expenses.size();
+                }
+                rows.clear();
+                lineNumbers.clear();
+            }
+        } catch (NoSuchFileException e) {
+            throw new DukeException(String.format(DukeException.MESSAGE_IMPORT_FILE_NOT_FOUND, file));
+        } catch (IOException e) {
+            throw new DukeException(String.format(DukeException.MESSAGE_IMPORT_FILE_FAILED, file));
+        }
+        return new Result(importedCount, rejectedCount, rejectionReasons, System.nanoTime() - start);
+    }
+
+    /**
+     * Skips the byte order mark that some programs, such as spreadsheets and banks, write at the start
+     * of a UTF-8 file, so that it does not become part of the first header.
+     */
+    private static void skipByteOrderMark(BufferedReader reader) throws IOException {
+        reader.mark(1);
+        if (reader.read() != BYTE_ORDER_MARK) {
+            reader.reset();
+        }
+    }
+
+    /**
+     * Finds the index of the column each mapped field is taken from. Unmapped fields are taken from
+     * the column named after them, if there is one.
+     */
+    private Map<Field, Integer> resolveColumns(List<String> header) throws DukeException {
+        Map<Field, Integer> columns = new EnumMap<>(Field.class);
+        for (Field field : Field.values()) {
+            String column = columnMapping.get(field);
+            int index = (column == null) ? indexOfHeader(header, field.getName()) : indexOfColumn(header, column);
+            if (index >= 0) {
+                columns.put(field, index);
+            } else if (column != null) {
+                throw new DukeException(String.format(DukeException.MESSAGE_IMPORT_COLUMN_MISSING, column));
+            }
+        }
+        if (!columns.containsKey(Field.AMOUNT)) {
+            throw new DukeException(String.format(DukeException.MESSAGE_IMPORT_COLUMN_MISSING,
+                    Field.AMOUNT.getName()));
+        }
+        return columns;
+    }
+
+    private static int indexOfColumn(List<String> header, String column) {
+        try {
+            int index = Integer.parseInt(column) - 1;
+            return (index >= 0 && index < header.size()) ? index : -1;
+        } catch (NumberFormatException e) {
+            return indexOfHeader(header, column);
+        }
+    }
+
+    private static int indexOfHeader(List<String> header, String name) {
+        for (int i = 0; i < header.size(); i++) {
+            if (header.get(i).trim().equalsIgnoreCase(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private ParsedRow parseRow(List<String> row, int lineNumber, Map<Field, Integer> columns) {
+        try {
+            Expense.Builder expenseBuilder = new Expense.Builder();
+            expenseBuilder.setAmount(value(row, columns, Field.AMOUNT).replace(",", "").replace("$", ""));
+            if (columns.containsKey(Field.DESCRIPTION)) {
+                expenseBuilder.setDescription(value(row, columns, Field.DESCRIPTION));
+            }
+            if (columns.containsKey(Field.TAG) && !value(row, columns, Field.TAG).isEmpty()) {
+                expenseBuilder.setTag(value(row, columns, Field.TAG).toUpperCase());
+            }
+            if (columns.containsKey(Field.TIME)) {
+                expenseBuilder.setTime(parseTime(value(row, columns, Field.TIME)));
+            }
+            if (columns.containsKey(Field.TENTATIVE)) {
+                expenseBuilder.setTentative(parseFlag(value(row, columns, Field.TENTATIVE)));
+            }
+            if (columns.containsKey(Field.RECURRING)) {
+                expenseBuilder.setRecurring(parseFlag(value(row, columns, Field.RECURRING)));
+            }
+            return new ParsedRow(expenseBuilder.build(), null);
+        } catch (DukeException e) {
+            return new ParsedRow(null, "line " + lineNumber + ": " + e.getMessage());
+        }
+    }
+
+    private static String value(List<String> row, Map<Field, Integer> columns, Field field) throws DukeException {
+        int index = columns.get(field);
+        if (index >= row.size()) {
+            throw new DukeException(String.format(DukeException.MESSAGE_IMPORT_COLUMN_MISSING, field.getName()));
+        }
+        return row.get(index).trim();
+    }
+
+    private LocalDateTime parseTime(String time) throws DukeException {
+        if (timeFormatter == null) {
+            return Parser.parseTime(time);
+        }
+        try {
+            return LocalDateTime.parse(time, timeFormatter);
+        } catch (DateTimeParseException e) {
+            throw new DukeException(String.format(DukeException.MESSAGE_EXPENSE_TIME_INVALID, time));
+        }
+    }
+
+    private static boolean parseFlag(String flag) {
+        return flag.equalsIgnoreCase("true") || flag.equalsIgnoreCase("yes") || flag.equals("1");
+    }
+}
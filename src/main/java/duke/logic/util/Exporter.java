@@ -0,0 +1,138 @@
+package duke.logic.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import duke.commons.CsvWriter;
+import duke.exception.DukeException;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Writes items to a file as CSV or JSON Lines, one row at a time, so that lists of any size can be
+ * exported without building the whole output in memory.
+ */
+public class Exporter {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * The formats that items can be exported to.
+     */
+    public enum Format {
+        CSV("csv"),
+        JSONL("jsonl");
+
+        private final String extension;
+
+        Format(String extension) {
+            this.extension = extension;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        /**
+         * Returns the format with the given name, ignoring case.
+         *
+         * @param name the name of the format.
+         * @return the format.
+         * @throws DukeException if there is no such format.
+         */
+        public static Format of(String name) throws DukeException {
+            try {
+                return valueOf(name.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new DukeException(String.format(DukeException.MESSAGE_EXPORT_FORMAT_INVALID, name));
+            }
+        }
+    }
+
+    private final Format format;
+
+    public Exporter(Format format) {
+        this.format = requireNonNull(format);
+    }
+
+    /**
+     * Writes a row for each item to {@code file}, replacing its contents.
+     * CSV files start with a header row of the column names, and JSON Lines files hold one object per line,
+     * keyed by the column names.
+     *
+     * @param file    the file to write to. Missing parent directories are created.
+     * @param columns the name of each column.
+     * @param items   the items to export, which are read only once.
+     * @param toRow   gives the value of each column for an item.
+     * @param <T>     the type of the items.
+     * @return the number of rows written.
+     * @throws DukeException if the file cannot be written.
+     */
+    public <T> int export(Path file, List<String> columns, Iterator<T> items, Function<T, List<String>> toRow)
+        throws DukeException {
+        int rowCount = 0;
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+            try (Writer writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8.newEncoder(),
+                BUFFER_SIZE), BUFFER_SIZE)) {
+                if (format == Format.CSV) {
+                    rowCount = writeCsv(writer, columns, items, toRow);
+                } else {
+                    rowCount = writeJsonLines(writer, columns, items, toRow);
+                }
+            }
+        } catch (IOException e) {
+            throw new DukeException(String.format(DukeException.MESSAGE_EXPORT_FILE_FAILED, file));
+        }
+        return rowCount;
+    }
+
+    private <T> int writeCsv(Writer writer, List<String> columns, Iterator<T> items,
+                             Function<T, List<String>> toRow) throws IOException {
+        CsvWriter csvWriter = new CsvWriter(writer);
+        csvWriter.writeRecord(columns);
+        int rowCount = 0;
+        while (items.hasNext()) {
+            csvWriter.writeRecord(toRow.apply(items.next()));
+            rowCount++;
+        }
+        csvWriter.flush();
+        return rowCount;
+    }
+
+    private <T> int writeJsonLines(Writer writer, List<String> columns, Iterator<T> items,
+                                   Function<T, List<String>> toRow) throws IOException {
+        JsonGenerator generator = new JsonFactory().setRootValueSeparator(null).createGenerator(writer);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        int rowCount = 0;
+        while (items.hasNext()) {
+            List<String> row = toRow.apply(items.next());
+            generator.writeStartObject();
+            for (int i = 0; i < columns.size(); i++) {
+                generator.writeStringField(columns.get(i), row.get(i));
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+            rowCount++;
+        }
+        generator.flush();
+        return rowCount;
+    }
+}
@@ -64,10 +64,14 @@ public class Budget {
      * Sets budget to a given category.
      *
      * @param category the String tag specified that we want to set a budget for
-     * @param budget   a BigDecimal amount for the budget we want to set
+     * @param budget   a BigDecimal amount for the budget we want to set, or null to remove the budget
      */
     public void setCategoryBudget(String category, BigDecimal budget) {
-        budgetCategory.put(category, budget);
+        if (budget == null) {
+            budgetCategory.remove(category);
+        } else {
+            budgetCategory.put(category, budget);
+        }
         updateBudgetObservableList();
     }
 
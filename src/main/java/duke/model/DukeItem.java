@@ -1,5 +1,8 @@
 package duke.model;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.HashSet;
 import java.util.Map;
@@ -31,9 +34,10 @@ abstract class DukeItem implements Serializable {
      */
     protected static final String TAG_SEPARATOR = " ";
     /**
-     * The item's tags.
+     * The code of the item's tag in the {@link SymbolTable}. Codes are not saved, so the tag is
+     * serialized in its place.
      */
-    protected final String tag;
+    private transient int tagCode;
 
     /**
      * A utility method used to extract fields from a storage string into a map, so that they can be
@@ -71,7 +75,7 @@ abstract class DukeItem implements Serializable {
          * @param i the existing item.
          */
         protected Builder(DukeItem i) {
-            tag = i.tag;
+            tag = i.getTag();
         }
 
         /**
@@ -119,7 +123,7 @@ abstract class DukeItem implements Serializable {
      * @param builder the builder containing information for this object.
      */
     protected DukeItem(Builder<?> builder) {
-        tag = builder.tag;
+        tagCode = SymbolTable.encodeTag(builder.tag);
     }
 
     /**
@@ -129,7 +133,7 @@ abstract class DukeItem implements Serializable {
      */
     protected String toStorageString() {
         StringJoiner stringJoiner = new StringJoiner(STORAGE_FIELD_DELIMITER);
-        stringJoiner.add("tag" + STORAGE_NAME_SEPARATOR + String.join(" ", tag));
+        stringJoiner.add("tag" + STORAGE_NAME_SEPARATOR + getTag());
         return stringJoiner.toString();
     }
 
@@ -139,7 +143,16 @@ abstract class DukeItem implements Serializable {
      * @return the set of tags of this item.
      */
     public String getTag() {
-        return tag;
+        return SymbolTable.decodeTag(tagCode);
+    }
+
+    /**
+     * Returns the code of the tag of this item, which is equal for equal tags.
+     *
+     * @return the code of the tag in the {@link SymbolTable}.
+     */
+    public int getTagCode() {
+        return tagCode;
     }
 
     /**
@@ -149,6 +162,7 @@ abstract class DukeItem implements Serializable {
      */
     public String getTagString() {
         StringJoiner stringJoiner = new StringJoiner(" ");
+        String tag = getTag();
         if (tag.isEmpty()) {
             return "";
         } else {
@@ -156,4 +170,14 @@ abstract class DukeItem implements Serializable {
         }
     }
 
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeUTF(getTag());
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        tagCode = SymbolTable.encodeTag(in.readUTF());
+    }
+
 }
@@ -1,26 +1,17 @@
 package duke.model;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.io.File;
-import java.io.FileWriter;
-import java.io.IOException;
-import java.io.ObjectInput;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutput;
-import java.io.ObjectOutputStream;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.Scanner;
-import java.util.Stack;
+import java.util.Set;
 
 import duke.exception.DukeException;
-import duke.exception.DukeRuntimeException;
 import javafx.collections.ObservableList;
 
 /**
- * The generic parent list of all lists in Duke, which are responsible for saving their own information
- * and have undo and redo capabilities.
+ * The generic parent list of all lists in Duke, which are responsible for saving their own information.
+ * Undo and redo are recorded by the model in an {@code UndoJournal}.
  *
  * @param <T> The {@code DukeItem} contained in the list.
  */
@@ -29,21 +20,19 @@ abstract class DukeList<T extends DukeItem> {
 
     // private final File file;
     private final String itemName;
-    private Stack<byte[]> undoStates;
-    private byte[] currentState;
-    private Stack<byte[]> redoStates;
 
     protected List<T> internalList;
     protected ObservableList<T> externalList;
 
+    /**
+     * Mutations since the last {@link #drainChanges()}, or null if changes are not tracked.
+     */
+    private List<ListChange<T>> pendingChanges;
+
 
     public DukeList(List<T> internalList, String itemName) {
         this.itemName = itemName;
         this.internalList = internalList;
-
-        undoStates = new Stack<byte[]>();
-        currentState = toByteArray(internalList);
-        redoStates = new Stack<byte[]>();
     }
 
     /**
@@ -76,6 +65,19 @@ abstract class DukeList<T extends DukeItem> {
      */
     public void add(T item) {
         internalList.add(item);
+        recordChange(ListChange.Type.ADD, item);
+    }
+
+    /**
+     * Adds all the given items into {@code internalList}, in order.
+     *
+     * @param items the items to add.
+     */
+    public void addAll(List<T> items) {
+        internalList.addAll(items);
+        for (T item : items) {
+            recordChange(ListChange.Type.ADD, item);
+        }
     }
 
     /**
@@ -108,7 +110,23 @@ abstract class DukeList<T extends DukeItem> {
      * @throws DukeException if the index is out of bounds.
      */
     public void remove(int index) throws DukeException {
-        internalList.remove(get(index));
+        T item = get(index);
+        internalList.remove(item);
+        recordChange(ListChange.Type.DELETE, item);
+    }
+
+    /**
+     * Removes the given items from {@code internalList}. Items are matched by identity.
+     *
+     * @param items the items to remove.
+     */
+    public void removeAll(List<T> items) {
+        Set<T> removed = Collections.newSetFromMap(new IdentityHashMap<>());
+        removed.addAll(items);
+        internalList.removeIf(removed::contains);
+        for (T item : items) {
+            recordChange(ListChange.Type.DELETE, item);
+        }
     }
 
     /**
@@ -116,41 +134,49 @@ abstract class DukeList<T extends DukeItem> {
      */
     public void clear() {
         internalList.clear();
+        recordChange(ListChange.Type.CLEAR, null);
     }
 
+    /**
+     * Starts recording every mutation of this list, so that storage can persist only what changed.
+     * Storages that rewrite the whole list should not call this, as the changes would never be drained.
+     */
+    public void trackChanges() {
+        if (pendingChanges == null) {
+            pendingChanges = new ArrayList<>();
+        }
+    }
 
     /**
-     * Taken from https://stackoverflow.com/a/30968827
-     * Converts the current state of {@code internalList} into a byte array so that it can be restored later.
+     * Returns whether mutations of this list are being recorded.
      *
-     * @return the byte array of the current {@code internalList}.
+     * @return true if {@link #trackChanges()} has been called.
      */
-    private byte[] toByteArray(List<T> list) {
-        try (ByteArrayOutputStream bos = new ByteArrayOutputStream();
-            ObjectOutput out = new ObjectOutputStream(bos)) {
-            out.writeObject(list);
-            return bos.toByteArray();
-        } catch (IOException e) {
-            throw new DukeRuntimeException("Failed to create byte array from list.", e);
-        }
+    public boolean isTrackingChanges() {
+        return pendingChanges != null;
     }
 
     /**
-     * Taken from https://stackoverflow.com/a/30968827
-     * Returns a list corresponding to a previous state of {@code internalList}.
-     * Casting to {@code List<T>} causes the warning. As the code is self-contained, there is no risk of
-     * the object in {@code bytes} not being one of type {@code List<T>}.
+     * Returns the mutations recorded since the last call, in the order they happened, and forgets them.
      *
-     * @param bytes a byte array corresponding to a previous state of {@code internalList}.
-     * @return the previous state of {@code internalList}.
+     * @return the recorded mutations, empty if changes are not tracked.
      */
-    @SuppressWarnings("unchecked")
-    private List<T> fromByteArray(byte[] bytes) {
-        try (ByteArrayInputStream bis = new ByteArrayInputStream(bytes);
-            ObjectInput in = new ObjectInputStream(bis)) {
-            return (List<T>) in.readObject();
-        } catch (IOException | ClassNotFoundException e) {
-            throw new DukeRuntimeException("Failed to load list from byte array.", e);
+    public List<ListChange<T>> drainChanges() {
+        if (pendingChanges == null) {
+            return new ArrayList<>();
+        }
+        List<ListChange<T>> changes = pendingChanges;
+        pendingChanges = new ArrayList<>();
+        return changes;
+    }
+
+    private void recordChange(ListChange.Type type, T item) {
+        if (pendingChanges == null) {
+            return;
+        }
+        if (type == ListChange.Type.CLEAR) {
+            pendingChanges.clear(); // earlier changes are superseded by the clear.
         }
+        pendingChanges.add(new ListChange<>(type, item, item == null ? null : item.toStorageString()));
     }
-}
\ No newline at end of file
+}
@@ -14,8 +14,10 @@ import javafx.collections.ObservableList;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Predicate;
 import java.util.logging.Logger;
 
@@ -35,6 +37,7 @@ public class DukePP implements Model {
     private final Budget budget;
     private final BudgetView budgetView;
     private final PaymentList payments;
+    private final UndoJournal undoJournal = new UndoJournal();
 
     public ObservableList<Expense> externalExpenseList;
     public ObservableList<Income> externalIncomeList;
@@ -65,14 +68,43 @@ public class DukePP implements Model {
 
     public void addExpense(Expense expense) {
         expenseList.add(expense);
+        undoJournal.record(UndoJournal.Target.EXPENSES,
+            () -> expenseList.removeAll(List.of(expense)), () -> expenseList.add(expense));
     }
 
+    /**
+     * Adds all the given expenses at once.
+     *
+     * @param expenses the expenses to add.
+     */
+    public void addExpenses(List<Expense> expenses) {
+        expenseList.addAll(expenses);
+        undoJournal.record(UndoJournal.Target.EXPENSES,
+            () -> expenseList.removeAll(expenses), () -> expenseList.addAll(expenses));
+    }
+
+    /**
+     * Deletes the expense at {@code index} in the displayed list.
+     *
+     * @param index the index of the expense, counting from 1.
+     * @throws DukeException if there is no expense at {@code index}.
+     */
     public void deleteExpense(int index) throws DukeException {
+        Expense expense = expenseList.get(index);
         expenseList.remove(index);
+        undoJournal.record(UndoJournal.Target.EXPENSES,
+            () -> expenseList.add(expense), () -> expenseList.removeAll(List.of(expense)));
     }
 
+    /**
+     * Deletes every expense. Older expenses are loaded first, so that the clear can be undone.
+     */
     public void clearExpense() {
+        expenseList.loadHistory();
+        List<Expense> expenses = new ArrayList<>(expenseList.getInternalList());
         expenseList.clear();
+        undoJournal.record(UndoJournal.Target.EXPENSES,
+            () -> expenseList.addAll(expenses), expenseList::clear);
     }
 
     public void filterExpense(String filterCriteria) throws DukeException {
@@ -144,12 +176,19 @@ public class DukePP implements Model {
 
     @Override
     public void setMonthlyBudget(BigDecimal monthlyBudget) {
+        BigDecimal previousBudget = budget.getMonthlyBudget();
         budget.setMonthlyBudget(monthlyBudget);
+        undoJournal.record(UndoJournal.Target.BUDGET,
+            () -> budget.setMonthlyBudget(previousBudget), () -> budget.setMonthlyBudget(monthlyBudget));
     }
 
     @Override
     public void setCategoryBudget(String category, BigDecimal budgetBD) {
+        BigDecimal previousBudget = budget.getBudgetCategory().get(category);
         budget.setCategoryBudget(category, budgetBD);
+        undoJournal.record(UndoJournal.Target.BUDGET,
+            () -> budget.setCategoryBudget(category, previousBudget),
+            () -> budget.setCategoryBudget(category, budgetBD));
     }
 
     @Override
@@ -227,16 +266,32 @@ public class DukePP implements Model {
      */
     public void addIncome(Income income) {
         incomeList.add(income);
+        undoJournal.record(UndoJournal.Target.INCOME,
+            () -> incomeList.removeAll(List.of(income)), () -> incomeList.add(income));
         logger.info("Model's income externalList length now is "
                 + externalIncomeList.size());
     }
 
+    /**
+     * Deletes the income at {@code index} in the displayed list.
+     *
+     * @param index the index of the income, counting from 1.
+     * @throws DukeException if there is no income at {@code index}.
+     */
     public void deleteIncome(int index) throws DukeException {
+        Income income = incomeList.get(index);
         incomeList.remove(index);
+        undoJournal.record(UndoJournal.Target.INCOME,
+            () -> incomeList.add(income), () -> incomeList.removeAll(List.of(income)));
     }
 
+    /**
+     * Deletes every income.
+     */
     public void clearIncome() {
+        List<Income> incomes = new ArrayList<>(incomeList.getInternalList());
         incomeList.clear();
+        undoJournal.record(UndoJournal.Target.INCOME, () -> incomeList.addAll(incomes), incomeList::clear);
     }
 
     public void filterIncome(String filterCriteria) throws DukeException {
@@ -272,14 +327,33 @@ public class DukePP implements Model {
 
     public void addPayment(Payment payment) {
         payments.add(payment);
+        undoJournal.record(UndoJournal.Target.PAYMENTS, () -> payments.remove(payment), () -> payments.add(payment));
     }
 
+    /**
+     * Replaces the payment at {@code index} in the displayed list with {@code editedPayment}.
+     *
+     * @param index         the index of the payment, counting from 1.
+     * @param editedPayment the payment to replace it with.
+     * @throws DukeException if there is no payment at {@code index}.
+     */
     public void setPayment(int index, Payment editedPayment) throws DukeException {
+        Payment payment = payments.getPayment(index);
         payments.setPayment(index, editedPayment);
+        undoJournal.record(UndoJournal.Target.PAYMENTS,
+            () -> payments.replace(editedPayment, payment), () -> payments.replace(payment, editedPayment));
     }
 
+    /**
+     * Deletes the payment at {@code index} in the displayed list.
+     *
+     * @param index the index of the payment, counting from 1.
+     * @throws DukeException if there is no payment at {@code index}.
+     */
     public void removePayment(int index) throws DukeException {
+        Payment payment = payments.getPayment(index);
         payments.remove(index);
+        undoJournal.record(UndoJournal.Target.PAYMENTS, () -> payments.add(payment), () -> payments.remove(payment));
     }
 
     public void setPaymentSortingCriteria(String sortCriteria) throws DukeException {
@@ -336,4 +410,32 @@ public class DukePP implements Model {
         return payments.getPredicateIndicator();
     }
 
+    //************************************************************
+    // Undo and redo operations
+
+    @Override
+    public void commitUndoStep() {
+        undoJournal.commitStep();
+    }
+
+    @Override
+    public Set<UndoJournal.Target> undo() throws DukeException {
+        return undoJournal.undo();
+    }
+
+    @Override
+    public Set<UndoJournal.Target> redo() throws DukeException {
+        return undoJournal.redo();
+    }
+
+    @Override
+    public void setUndoDepth(int depth) {
+        undoJournal.setDepth(depth);
+    }
+
+    @Override
+    public int getUndoDepth() {
+        return undoJournal.getDepth();
+    }
+
 }
@@ -5,7 +5,6 @@ import duke.logic.parser.Parser;
 import duke.model.payment.Payment;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDateTime;
 import java.util.Map;
 import java.util.StringJoiner;
@@ -14,7 +13,7 @@ public class Expense extends DukeItem {
     /**
      * The amount of money of the expense.
      */
-    private final BigDecimal amount;
+    private final Money amount;
     /**
      * The description of the expense.
      */
@@ -22,7 +21,7 @@ public class Expense extends DukeItem {
     /**
      * Whether or not the expense is tentative.
      */
-    private boolean isTentative;
+    private final boolean isTentative;
     /**
      * The time of the expense.
      */
@@ -30,16 +29,21 @@ public class Expense extends DukeItem {
     /**
      * Is true if expense is a recurring one.
      */
-    private boolean isRecurring;
+    private final boolean isRecurring;
+    /**
+     * How often the expense recurs, or null if it does not.
+     */
+    private final Recurrence recurrence;
 
     /**
      * {@inheritDoc}
      */
     public static class Builder extends DukeItem.Builder<Builder> {
-        private BigDecimal amount = BigDecimal.ZERO;
+        private Money amount = Money.ZERO;
         private String description = "";
         private boolean isTentative = false;
         private boolean isRecurring = false;
+        private Recurrence recurrence = null;
         private LocalDateTime time = LocalDateTime.now();
 
         public Builder() {
@@ -56,6 +60,8 @@ public class Expense extends DukeItem {
             amount = expense.amount;
             description = expense.description;
             isTentative = expense.isTentative;
+            isRecurring = expense.isRecurring;
+            recurrence = expense.recurrence;
             time = expense.time;
         }
 
@@ -65,7 +71,7 @@ public class Expense extends DukeItem {
          */
         public Builder(Payment payment) {
             setTag(payment.getTag());
-            amount = payment.getAmount();
+            amount = Money.of(payment.getAmount());
             description = payment.getDescription();
             isTentative = false;
             time = LocalDateTime.now();
@@ -98,6 +104,9 @@ public class Expense extends DukeItem {
             if (mappedStorageString.containsKey("isRecurring")) {
                 setRecurring(Boolean.parseBoolean(mappedStorageString.get("isRecurring")));
             }
+            if (mappedStorageString.containsKey("recurrence")) {
+                setRecurrence(Recurrence.parse(mappedStorageString.get("recurrence")));
+            }
         }
 
         /**
@@ -129,7 +138,23 @@ public class Expense extends DukeItem {
                 throw new DukeException(
                         String.format(DukeException.MESSAGE_EXPENSE_AMOUNT_INVALID, amount.toPlainString()));
             }
-            this.amount = amount.setScale(2, RoundingMode.UNNECESSARY);
+            try {
+                this.amount = Money.of(amount);
+            } catch (ArithmeticException e) {
+                throw new DukeException(
+                        String.format(DukeException.MESSAGE_EXPENSE_AMOUNT_INVALID, amount.toPlainString()));
+            }
+            return this;
+        }
+
+        /**
+         * Sets the amount of the expense.
+         *
+         * @param amount the amount of the expense.
+         * @return this builder.
+         */
+        public Builder setAmount(Money amount) {
+            this.amount = amount;
             return this;
         }
 
@@ -156,9 +181,10 @@ public class Expense extends DukeItem {
         }
 
         /**
-         * Sets the expense as a recurring expense.
+         * Sets the expense as a recurring expense. Recurring expenses recur monthly unless
+         * {@link #setRecurrence(Recurrence)} says otherwise.
          *
-         * @param recurring whether the expense is tentative.
+         * @param recurring whether the expense is recurring.
          * @return this builder.
          */
         public Builder setRecurring(boolean recurring) {
@@ -166,6 +192,18 @@ public class Expense extends DukeItem {
             return this;
         }
 
+        /**
+         * Sets how often the expense recurs.
+         *
+         * @param recurrence how often the expense recurs, or null if it does not.
+         * @return this builder.
+         */
+        public Builder setRecurrence(Recurrence recurrence) {
+            this.recurrence = recurrence;
+            isRecurring = (recurrence != null);
+            return this;
+        }
+
         /**
          * Sets the time of the expense using a string.
          *
@@ -212,9 +250,14 @@ public class Expense extends DukeItem {
     private Expense(Builder builder) {
         super(builder);
         amount = builder.amount;
-        description = builder.description;
+        description = SymbolTable.internDescription(builder.description);
         isTentative = builder.isTentative;
         isRecurring = builder.isRecurring;
+        if (isRecurring) {
+            recurrence = (builder.recurrence == null) ? Recurrence.MONTHLY : builder.recurrence;
+        } else {
+            recurrence = null;
+        }
         time = builder.time;
     }
 
@@ -224,7 +267,16 @@ public class Expense extends DukeItem {
      * @return {@link #amount}.
      */
     public BigDecimal getAmount() {
-        return amount;
+        return amount.toBigDecimal();
+    }
+
+    /**
+     * Returns the amount of the expense in cents, for summing without allocating.
+     *
+     * @return the number of cents in {@link #amount}.
+     */
+    public long getAmountCents() {
+        return amount.getCents();
     }
 
     /**
@@ -245,10 +297,6 @@ public class Expense extends DukeItem {
         return isTentative;
     }
 
-    public void setTentative(boolean val) {
-        isTentative = val;
-    }
-
     /**
      * Returns the date of the expense.
      *
@@ -261,12 +309,21 @@ public class Expense extends DukeItem {
     /**
      * Returns whether the expense is recurring.
      *
-     * @return {@link #isTentative}.
+     * @return {@link #isRecurring}.
      */
     public boolean isRecurring() {
         return isRecurring;
     }
 
+    /**
+     * Returns how often the expense recurs. It first happens at {@link #getTime()}.
+     *
+     * @return {@link #recurrence}, or null if the expense does not recur.
+     */
+    public Recurrence getRecurrence() {
+        return recurrence;
+    }
+
 
     /**
      * Return the formatted time.
@@ -275,7 +332,7 @@ public class Expense extends DukeItem {
      */
     public String getTimeString() {
         if (isRecurring) {
-            return "recurring";
+            return recurrence + " from " + Parser.formatTime(time);
         }
         return Parser.formatTime(time);
     }
@@ -295,6 +352,9 @@ public class Expense extends DukeItem {
         stringJoiner.add("time" + STORAGE_NAME_SEPARATOR + Parser.formatTime(time));
         stringJoiner.add("isTentative" + STORAGE_NAME_SEPARATOR + isTentative);
         stringJoiner.add("isRecurring" + STORAGE_NAME_SEPARATOR + isRecurring);
+        if (isRecurring) {
+            stringJoiner.add("recurrence" + STORAGE_NAME_SEPARATOR + recurrence);
+        }
         return stringJoiner.toString();
     }
 }
@@ -0,0 +1,141 @@
+package duke.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A text filter over the descriptions and tags of expenses, parsed from criteria such as
+ * {@code coffee tea}, {@code lunch or dinner} or {@code din*}.
+ * Words are all required to match, unless separated by {@code or} (or {@code |}), in which case either group
+ * of words may match. A word ending with {@code *} matches any word starting with it. Case and punctuation
+ * are ignored.
+ */
+public class ExpenseFilter {
+    private static final String PREFIX_MARKER = "*";
+    private static final String AND_OPERATOR = "and";
+    private static final String OR_OPERATOR = "or";
+    private static final String OR_SYMBOL = "|";
+
+    /**
+     * A word to match, either as a whole word or as the start of a word.
+     */
+    private static class Term {
+        private final String word;
+        private final boolean isPrefix;
+
+        Term(String word, boolean isPrefix) {
+            this.word = word;
+            this.isPrefix = isPrefix;
+        }
+
+        boolean matches(List<String> words) {
+            for (String candidate : words) {
+                if (isPrefix ? candidate.startsWith(word) : candidate.equals(word)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * The groups of terms, any group of which matches if all its terms match.
+     */
+    private final List<List<Term>> groups;
+
+    private ExpenseFilter(List<List<Term>> groups) {
+        this.groups = groups;
+    }
+
+    /**
+     * Parses {@code criteria} into a filter. Blank criteria give a filter that matches every expense.
+     *
+     * @param criteria the criteria, which may be null.
+     * @return the filter.
+     */
+    public static ExpenseFilter parse(String criteria) {
+        List<List<Term>> groups = new ArrayList<>();
+        if (criteria == null) {
+            return new ExpenseFilter(groups);
+        }
+        List<Term> group = new ArrayList<>();
+        for (String part : criteria.trim().split("\\s+")) {
+            String lowerPart = part.toLowerCase();
+            if (lowerPart.equals(OR_OPERATOR) || lowerPart.equals(OR_SYMBOL)) {
+                addGroup(groups, group);
+                group = new ArrayList<>();
+                continue;
+            }
+            if (lowerPart.equals(AND_OPERATOR)) {
+                continue;
+            }
+            boolean isPrefix = part.endsWith(PREFIX_MARKER);
+            List<String> words = ExpenseTextIndex.tokenize(part);
+            for (int i = 0; i < words.size(); i++) {
+                group.add(new Term(words.get(i), isPrefix && i == words.size() - 1));
+            }
+        }
+        addGroup(groups, group);
+        return new ExpenseFilter(groups);
+    }
+
+    private static void addGroup(List<List<Term>> groups, List<Term> group) {
+        if (!group.isEmpty()) {
+            groups.add(group);
+        }
+    }
+
+    /**
+     * Returns whether the filter matches every expense.
+     *
+     * @return true if the criteria had no words.
+     */
+    public boolean isEmpty() {
+        return groups.isEmpty();
+    }
+
+    /**
+     * Returns whether {@code expense} matches the filter.
+     *
+     * @param expense the expense to check.
+     * @return true if the expense matches.
+     */
+    public boolean matches(Expense expense) {
+        if (isEmpty()) {
+            return true;
+        }
+        List<String> words = ExpenseTextIndex.getWords(expense);
+        return groups.stream().anyMatch(group -> group.stream().allMatch(term -> term.matches(words)));
+    }
+
+    /**
+     * Returns the expenses in {@code index} that match the filter. Each group is answered by intersecting the
+     * posting lists of its terms, smallest first, and the groups are then united.
+     *
+     * @param index the index to look the terms up in.
+     * @return the matching expenses, compared by identity.
+     */
+    public Set<Expense> match(ExpenseTextIndex index) {
+        Set<Expense> matched = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (List<Term> group : groups) {
+            List<Set<Expense>> postingLists = new ArrayList<>();
+            for (Term term : group) {
+                postingLists.add(index.lookup(term.word, term.isPrefix));
+            }
+            postingLists.sort(Comparator.comparingInt(Set::size));
+
+            Set<Expense> groupMatched = Collections.newSetFromMap(new IdentityHashMap<>());
+            groupMatched.addAll(postingLists.get(0));
+            for (int i = 1; i < postingLists.size() && !groupMatched.isEmpty(); i++) {
+                Set<Expense> postingList = postingLists.get(i);
+                groupMatched.removeIf(expense -> !postingList.contains(expense));
+            }
+            matched.addAll(groupMatched);
+        }
+        return matched;
+    }
+}
@@ -0,0 +1,36 @@
+package duke.model;
+
+import duke.exception.DukeException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * The expenses that storage left unread when an {@code ExpenseList} was loaded, so that they
+ * can be read only once a view or query of the list needs them.
+ */
+public interface ExpenseHistory {
+    /**
+     * Returns the date from which every expense has been loaded. Recurring expenses are loaded
+     * whatever their date, since views include them regardless of their time.
+     *
+     * @return the earliest date whose expenses are all in the list.
+     */
+    LocalDate getHorizon();
+
+    /**
+     * Returns the total amount of the non-tentative expenses left unread.
+     *
+     * @return the total amount.
+     */
+    BigDecimal getTotalAmount();
+
+    /**
+     * Reads the expenses left unread.
+     *
+     * @return the expenses.
+     * @throws DukeException if the expenses cannot be read.
+     */
+    List<Expense> load() throws DukeException;
+}
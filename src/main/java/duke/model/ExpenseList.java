@@ -9,16 +9,33 @@ import javafx.collections.ObservableList;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class ExpenseList extends DukeList<Expense> {
 
 
     private static final Logger logger = LogsCenter.getLogger(ExpenseList.class);
 
+    /**
+     * The most expenses {@link #addAll(List)} inserts one by one before it recomputes the external list instead.
+     */
+    private static final int MAX_INCREMENTAL_ADDITIONS = 64;
+
     private enum SortCriteria {
         AMOUNT(Comparator.comparing(Expense::getAmount).reversed()),
         TIME(Comparator.comparing(Expense::getTime).reversed()),
@@ -39,6 +56,26 @@ public class ExpenseList extends DukeList<Expense> {
         private int viewScopeNumber;
         private ViewScopeName viewScopeName;
 
+        /**
+         * The first moment within the view scope, or null if the view scope is ALL.
+         */
+        private LocalDateTime start;
+
+        /**
+         * The first moment after the view scope, or null if the view scope is ALL.
+         */
+        private LocalDateTime end;
+
+        /**
+         * The first moment after the occurrences of recurring expenses counted in the view scope.
+         */
+        private LocalDateTime projectionEnd;
+
+        /**
+         * The day the boundaries were computed on, as they are relative to it.
+         */
+        private LocalDate computedOn;
+
         /**
          * Constructor for ViewScope.
          * @param viewScopeName String name of the viewScope
@@ -53,64 +90,84 @@ public class ExpenseList extends DukeList<Expense> {
                 throw new DukeException(String.format(
                         DukeException.MESSAGE_EXPENSE_VIEW_NAME_INVALID, viewScopeName));
             }
+            computeBoundaries();
         }
 
         public ViewScope(ViewScopeName viewScopeName) {
             this.viewScopeNumber = 0;
             this.viewScopeName = viewScopeName;
+            computeBoundaries();
         }
 
+        /**
+         * Computes the start and end of the view scope relative to today.
+         * Weeks run from Monday to Sunday.
+         */
+        private void computeBoundaries() {
+            LocalDate current = LocalDate.now();
+            computedOn = current;
+            LocalDate startDate;
+            LocalDate endDate;
+            switch (viewScopeName) {
+            case DAY:
+                startDate = current.minusDays(viewScopeNumber);
+                endDate = startDate.plusDays(1);
+                break;
 
-        private List<Expense> dayView(List<Expense> currentList) {
-            return currentList.stream()
-                    .filter(e -> {
-                        boolean isRecurring = e.isRecurring();
-                        LocalDate dateOfExpense = e.getTime().toLocalDate();
-                        LocalDate current = LocalDate.now().minusDays(viewScopeNumber);
-                        return dateOfExpense.equals(current) && !isRecurring;
-                    })
-                    .collect(Collectors.toList());
-        }
+            case WEEK:
+                LocalDate dayOfWeek = current.minusWeeks(viewScopeNumber);
+                startDate = dayOfWeek.minusDays(dayOfWeek.getDayOfWeek().getValue() - 1);
+                endDate = startDate.plusWeeks(1);
+                break;
 
-        private List<Expense> weekView(List<Expense> currentList) {
-            return currentList.stream()
-                    .filter(e -> {
-                        boolean isRecurring = e.isRecurring();
-                        int dayOfWeek = e.getTime().getDayOfWeek().getValue();
-                        LocalDate start = e.getTime().minusDays(dayOfWeek - 1).toLocalDate();
-                        // Sunday of week of expense.
-                        LocalDate end = e.getTime().plusDays(7 - dayOfWeek).toLocalDate();
-                        // Monday of week of expense.
-                        LocalDate current = LocalDate.now().minusWeeks(viewScopeNumber);
-
-                        return (current.equals(end) || current.equals(start)
-                                || (current.isAfter(start) && current.isBefore(end)) && !isRecurring);
-                    })
-                    .collect(Collectors.toList());
+            case MONTH:
+                startDate = current.minusMonths(viewScopeNumber).withDayOfMonth(1);
+                endDate = startDate.plusMonths(1);
+                break;
+
+            case YEAR:
+                startDate = current.minusYears(viewScopeNumber).withDayOfYear(1);
+                endDate = startDate.plusYears(1);
+                break;
+
+            default: // case ALL:
+                projectionEnd = current.plusDays(1).atStartOfDay();
+                return;
+            }
+            start = startDate.atStartOfDay();
+            end = endDate.atStartOfDay();
+            projectionEnd = end;
         }
 
-        private List<Expense> monthView(List<Expense> currentList) {
-            return currentList.stream()
-                    .filter(e -> {
-                        boolean isRecurring = e.isRecurring();
-                        LocalDate dateOfExpense = e.getTime().toLocalDate();
-                        LocalDate current = LocalDate.now().minusMonths(viewScopeNumber);
-                        boolean isSameYear = dateOfExpense.getYear() == current.getYear();
-                        boolean isSameMonth = dateOfExpense.getMonth().equals(current.getMonth());
-                        return (isSameYear && isSameMonth || isRecurring);
-                    })
-                    .collect(Collectors.toList());
+        /**
+         * Returns the occurrences of the recurring expenses within the view scope.
+         * The whole list counts the occurrences up to the end of today.
+         *
+         * @return the projection of the view scope.
+         */
+        private RecurrenceProjector.Projection getProjection() {
+            if (viewScopeName == ViewScopeName.ALL) {
+                return projector.project(null, projectionEnd);
+            }
+            return projector.project(start, end);
         }
 
-        private List<Expense> yearView(List<Expense> currentList) {
-            return currentList.stream()
-                    .filter(e -> {
-                        boolean isRecurring = e.isRecurring();
-                        LocalDate dateOfExpense = e.getTime().toLocalDate();
-                        LocalDate current = LocalDate.now().minusYears(viewScopeNumber);
-                        return dateOfExpense.getYear() == current.getYear() || isRecurring;
-                    })
-                    .collect(Collectors.toList());
+        /**
+         * Returns whether the expense is within the view scope.
+         * Recurring expenses are within it if they happen in it at least once.
+         *
+         * @param expense the expense to check.
+         * @return true if the view scope includes the expense.
+         */
+        public boolean includes(Expense expense) {
+            if (viewScopeName == ViewScopeName.ALL) {
+                return true;
+            }
+            if (expense.isRecurring()) {
+                return getProjection().getOccurrenceCount(expense) > 0;
+            }
+            LocalDateTime time = expense.getTime();
+            return !time.isBefore(start) && time.isBefore(end);
         }
 
         /**
@@ -120,34 +177,116 @@ public class ExpenseList extends DukeList<Expense> {
          * @return the filtered List of Expense
          */
         public List<Expense> view(List<Expense> currentList) {
-            switch (viewScopeName) {
-            case DAY:
-                return dayView(currentList);
-
-            case WEEK:
-                return weekView(currentList);
-
-            case MONTH:
-                return monthView(currentList);
-
-            case YEAR:
-                return yearView(currentList);
-
-            default: // case ALL:
+            if (viewScopeName == ViewScopeName.ALL) {
                 return currentList; // the viewScope here is ALL.
             }
+            return currentList.stream()
+                    .filter(this::includes)
+                    .collect(Collectors.toList());
+        }
+
+        /**
+         * Returns the expenses within the view scope, looked up in the time index of the list
+         * rather than by checking every expense.
+         *
+         * @return the expenses within the view scope, non-recurring ones in time order first.
+         */
+        private List<Expense> viewIndexed() {
+            if (viewScopeName == ViewScopeName.ALL) {
+                return internalList;
+            }
+            List<Expense> expenses = new ArrayList<>();
+            for (List<Expense> expensesAtTime : timeIndex.subMap(start, end).values()) {
+                expenses.addAll(expensesAtTime);
+            }
+            expenses.addAll(getProjection().getExpenses());
+            return expenses;
+        }
+
+        /**
+         * Returns whether the day has changed since the boundaries were computed, so that they no longer
+         * describe the view scope.
+         */
+        private boolean isStale() {
+            return !LocalDate.now().equals(computedOn);
         }
 
         public ViewScopeName getViewScopeName() {
             return viewScopeName;
         }
+
+        /**
+         * Returns whether the view may include non-recurring expenses dated before {@code date}.
+         *
+         * @param date the date to check against.
+         * @return true if the view starts before {@code date}.
+         */
+        public boolean reachesBefore(LocalDate date) {
+            return start == null || start.toLocalDate().isBefore(date);
+        }
     }
 
     private SortCriteria sortCriteria;
     private ViewScope viewScope;
     private String filterCriteria;
+    private ExpenseFilter filter;
+
+    /**
+     * Months in which an expense was added or removed since the last {@link #drainDirtyMonths()},
+     * or null if they are not tracked.
+     */
+    private Set<YearMonth> dirtyMonths;
+
+    /**
+     * The expenses storage has not read yet, or null if every expense is in {@code internalList}.
+     */
+    private ExpenseHistory unloadedHistory;
+
+    /**
+     * The non-recurring expenses in {@code internalList}, keyed by time, so that view scopes can be
+     * looked up as a range.
+     */
+    private final NavigableMap<LocalDateTime, List<Expense>> timeIndex = new TreeMap<>();
+
+    /**
+     * The recurring expenses in {@code internalList}, in the order they were added.
+     */
+    private final Set<Expense> recurringExpenses = new LinkedHashSet<>();
+
+    /**
+     * The occurrences of the expenses in {@code recurringExpenses} within the windows views ask for.
+     */
+    private final RecurrenceProjector projector = new RecurrenceProjector(recurringExpenses);
+
+    /**
+     * The totals of the expenses in {@code internalList} by day, month and tag.
+     */
+    private final ExpenseRollup rollup = new ExpenseRollup();
+
+    /**
+     * The words in the descriptions and tags of the expenses in {@code internalList}, so that filters
+     * can be answered without scanning every expense.
+     */
+    private final ExpenseTextIndex textIndex = new ExpenseTextIndex();
+
+    /**
+     * The descriptions of the expenses in {@code internalList}, so that they can be found by similar text.
+     */
+    private final TrigramIndex<Expense> fuzzyIndex = new TrigramIndex<>();
 
     private ObservableList<Expense> externalFinalList;
+
+    /**
+     * The total amount in cents of the non-tentative expenses in {@code externalList}, kept up to date
+     * as they change.
+     */
+    private long externalTotalCents;
+
+    /**
+     * The totals of the expenses in {@code externalList}, by tag, kept up to date as they change.
+     */
+    private final Map<Integer, TagTotal> tagTotals = new HashMap<>();
+
     private StringProperty totalString;
     private StringProperty filterString;
     private StringProperty sortString;
@@ -160,7 +299,11 @@ public class ExpenseList extends DukeList<Expense> {
      */
     public ExpenseList(List<Expense> internalList) {
         super(internalList, "expense");
+        for (Expense expense : internalList) {
+            index(expense);
+        }
         filterCriteria = "";
+        filter = ExpenseFilter.parse(filterCriteria);
         viewScope = new ViewScope(ViewScopeName.ALL);
         sortCriteria = SortCriteria.TIME;
         externalList = FXCollections.observableArrayList();
@@ -172,11 +315,40 @@ public class ExpenseList extends DukeList<Expense> {
         updateExternalList();
     }
 
+    /**
+     * Recomputes {@code externalList} from the whole of {@code internalList}.
+     * This is only needed when the sort criteria, filter criteria or view scope change, as additions and
+     * removals are applied to {@code externalList} in place.
+     */
     private void updateExternalList() {
-        List<Expense> filteredSortedViewedList = filter(sort(view(internalList)));
-        ObservableList<Expense> internalFinalList = FXCollections.observableArrayList(filteredSortedViewedList);
-        externalList.setAll(internalFinalList);
-        totalString.setValue("Total: $" + getTotalExternalAmount());
+        if (viewScope.isStale()) {
+            viewScope.computeBoundaries();
+        }
+        if (unloadedHistory != null && viewScope.reachesBefore(unloadedHistory.getHorizon())) {
+            mergeHistory();
+        }
+        List<Expense> filteredSortedViewedList = sort(filter(viewScope.viewIndexed()));
+        externalList.setAll(filteredSortedViewedList);
+        externalTotalCents = 0;
+        tagTotals.clear();
+        if (filter.isEmpty()) {
+            // Every expense in the view scope is visible, so the totals can be summed from the rollups.
+            LocalDate start = (viewScope.start == null) ? null : viewScope.start.toLocalDate();
+            LocalDate end = (viewScope.end == null) ? null : viewScope.end.toLocalDate();
+            tagTotals.putAll(rollup.getTotalsByTagCode(start, end, false));
+            for (Map.Entry<Integer, TagTotal> tagTotal
+                    : viewScope.getProjection().getTagTotalsByTagCode().entrySet()) {
+                tagTotals.computeIfAbsent(tagTotal.getKey(), tag -> new TagTotal()).add(tagTotal.getValue());
+            }
+            for (TagTotal tagTotal : tagTotals.values()) {
+                externalTotalCents += tagTotal.getConfirmedCents();
+            }
+        } else {
+            for (Expense expense : externalList) {
+                countExternal(expense);
+            }
+        }
+        updateTotalString();
         filterString.setValue("Filter: " + filterCriteria);
         switch (sortCriteria) {
         case AMOUNT:
@@ -189,28 +361,317 @@ public class ExpenseList extends DukeList<Expense> {
             sortString.setValue("Sort by: Newest");
             break;
         }
-        viewString.set("Viewscope: " + viewScope.getViewScopeName());
+        updateViewString();
+    }
+
+    /**
+     * Recomputes {@code externalList} if the day has changed since the view scope was computed.
+     * Changes are applied to {@code externalList} under the boundaries it was computed with before this is
+     * called, so that its running totals stay consistent.
+     */
+    private void refreshViewScope() {
+        if (viewScope.isStale()) {
+            updateExternalList();
+        }
+    }
+
+    private void updateTotalString() {
+        totalString.setValue("Total: $" + getTotalExternalAmount());
+    }
+
+    /**
+     * Returns whether {@code expense} belongs in {@code externalList} under the current view scope and filter.
+     */
+    private boolean isVisible(Expense expense) {
+        return viewScope.includes(expense) && filter.matches(expense);
+    }
+
+    /**
+     * Inserts {@code expense} into {@code externalList} at its sorted position if it is visible.
+     * Expenses that sort equally keep the order they were added in, as they would after a full sort.
+     */
+    private void insertExternal(Expense expense) {
+        if (!isVisible(expense)) {
+            return;
+        }
+        int low = 0;
+        int high = externalList.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (sortCriteria.comparator.compare(externalList.get(middle), expense) <= 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        externalList.add(low, expense);
+        countExternal(expense);
+    }
+
+    /**
+     * Returns the number of times {@code expense} counts towards the totals of {@code externalList}:
+     * once, or once for each time it happens in the view scope if it recurs.
+     */
+    private int getOccurrenceCount(Expense expense) {
+        return expense.isRecurring() ? viewScope.getProjection().getOccurrenceCount(expense) : 1;
+    }
+
+    /**
+     * Adds {@code expense} to the running totals of {@code externalList}.
+     */
+    private void countExternal(Expense expense) {
+        int occurrences = getOccurrenceCount(expense);
+        if (occurrences == 0) {
+            return;
+        }
+        if (!expense.isTentative()) {
+            externalTotalCents += expense.getAmountCents() * occurrences;
+        }
+        tagTotals.computeIfAbsent(expense.getTagCode(), tag -> new TagTotal()).add(expense, occurrences);
+    }
+
+    /**
+     * Removes the expense at {@code externalIndex} from {@code externalList}.
+     * This must be done before the expense is unindexed, while its occurrences are still counted.
+     */
+    private void removeExternal(int externalIndex) {
+        Expense expense = externalList.remove(externalIndex);
+        int occurrences = getOccurrenceCount(expense);
+        if (occurrences == 0) {
+            return;
+        }
+        if (!expense.isTentative()) {
+            externalTotalCents -= expense.getAmountCents() * occurrences;
+        }
+        TagTotal tagTotal = tagTotals.get(expense.getTagCode());
+        tagTotal.remove(expense, occurrences);
+        if (tagTotal.isEmpty()) {
+            tagTotals.remove(expense.getTagCode());
+        }
+    }
+
+    private void updateViewString() {
+        if (unloadedHistory == null) {
+            viewString.set("Viewscope: " + viewScope.getViewScopeName());
+        } else {
+            viewString.set("Viewscope: " + viewScope.getViewScopeName() + " (older expenses load when viewed)");
+        }
     }
 
     @Override
     public void add(Expense expense) {
+        if (unloadedHistory != null && expense.getTime().toLocalDate().isBefore(unloadedHistory.getHorizon())) {
+            // Storage rewrites the expense's month whole, so the rest of the month must be loaded first.
+            mergeHistory();
+            super.add(expense);
+            index(expense);
+            markDirty(expense);
+            updateExternalList();
+            return;
+        }
         super.add(expense);
-        updateExternalList();
+        index(expense);
+        markDirty(expense);
+        insertExternal(expense);
+        updateTotalString();
+        refreshViewScope();
         logger.info("externalList lengths " + externalList.size());
     }
 
+    /**
+     * Adds all the given expenses. Each is inserted into the external list at its sorted position,
+     * unless there are so many that sorting the whole list again is cheaper.
+     *
+     * @param expenses the expenses to add.
+     */
+    @Override
+    public void addAll(List<Expense> expenses) {
+        boolean isHistoryMerged = unloadedHistory != null && expenses.stream()
+                .anyMatch(expense -> expense.getTime().toLocalDate().isBefore(unloadedHistory.getHorizon()));
+        if (isHistoryMerged) {
+            mergeHistory();
+        }
+        super.addAll(expenses);
+        for (Expense expense : expenses) {
+            index(expense);
+            markDirty(expense);
+        }
+        if (isHistoryMerged || expenses.size() > MAX_INCREMENTAL_ADDITIONS) {
+            updateExternalList();
+            return;
+        }
+        for (Expense expense : expenses) {
+            insertExternal(expense);
+        }
+        updateTotalString();
+        refreshViewScope();
+    }
+
     @Override
     public void remove(int index) throws DukeException {
+        Expense expense = get(index);
         super.remove(index);
+        removeExternal(index - 1);
+        unindex(expense);
+        markDirty(expense);
+        updateTotalString();
+        refreshViewScope();
+    }
+
+    /**
+     * Removes the given expenses, refreshing the external list once.
+     *
+     * @param expenses the expenses to remove.
+     */
+    @Override
+    public void removeAll(List<Expense> expenses) {
+        super.removeAll(expenses);
+        for (Expense expense : expenses) {
+            unindex(expense);
+            markDirty(expense);
+        }
         updateExternalList();
     }
 
     @Override
     public void clear() {
+        mergeHistory();
+        for (Expense expense : internalList) {
+            markDirty(expense);
+        }
         super.clear();
+        timeIndex.clear();
+        recurringExpenses.clear();
+        rollup.clear();
+        textIndex.clear();
+        fuzzyIndex.clear();
+        projector.invalidate();
         updateExternalList();
     }
 
+    /**
+     * Starts recording the months in which expenses are added or removed, so that storage can rewrite
+     * only the months that changed.
+     */
+    public void trackDirtyMonths() {
+        if (dirtyMonths == null) {
+            dirtyMonths = new HashSet<>();
+        }
+    }
+
+    /**
+     * Returns whether the months in which expenses change are being recorded.
+     *
+     * @return true if {@link #trackDirtyMonths()} has been called.
+     */
+    public boolean isTrackingDirtyMonths() {
+        return dirtyMonths != null;
+    }
+
+    /**
+     * Returns the months in which an expense was added or removed since the last call, and forgets them.
+     *
+     * @return the changed months, empty if they are not tracked.
+     */
+    public Set<YearMonth> drainDirtyMonths() {
+        if (dirtyMonths == null) {
+            return new HashSet<>();
+        }
+        Set<YearMonth> months = dirtyMonths;
+        dirtyMonths = new HashSet<>();
+        return months;
+    }
+
+    /**
+     * Leaves the expenses in {@code history} unread until a view or query needs them.
+     * If the current view already reaches before the history, it is read at once, so that the view and
+     * its totals are never shown without it.
+     *
+     * @param history the expenses storage has not read yet.
+     */
+    public void setUnloadedHistory(ExpenseHistory history) {
+        unloadedHistory = history;
+        if (viewScope.reachesBefore(history.getHorizon())) {
+            loadHistory();
+            return;
+        }
+        updateViewString();
+    }
+
+    /**
+     * Returns whether every expense has been read from storage.
+     *
+     * @return false if older expenses are still left to load.
+     */
+    public boolean isHistoryLoaded() {
+        return unloadedHistory == null;
+    }
+
+    /**
+     * Reads the expenses storage has not read yet into the list.
+     */
+    public void loadHistory() {
+        if (unloadedHistory != null) {
+            mergeHistory();
+            updateExternalList();
+        }
+    }
+
+    /**
+     * Adds the unread expenses to {@code internalList} as loaded, rather than as changes to be saved.
+     * If they cannot be read, the list goes on without them, as when a file fails to load.
+     */
+    private void mergeHistory() {
+        if (unloadedHistory == null) {
+            return;
+        }
+        ExpenseHistory history = unloadedHistory;
+        unloadedHistory = null;
+        try {
+            List<Expense> expenses = history.load();
+            internalList.addAll(expenses);
+            for (Expense expense : expenses) {
+                index(expense);
+            }
+            logger.info("Loaded " + expenses.size() + " expenses before " + history.getHorizon());
+        } catch (DukeException e) {
+            logger.warning("Failed to load expenses before " + history.getHorizon() + ": " + e.getMessage());
+        }
+    }
+
+    private void index(Expense expense) {
+        rollup.add(expense);
+        textIndex.add(expense);
+        fuzzyIndex.add(expense, expense.getDescription());
+        if (expense.isRecurring()) {
+            recurringExpenses.add(expense);
+            projector.invalidate();
+        } else {
+            timeIndex.computeIfAbsent(expense.getTime(), time -> new ArrayList<>(1)).add(expense);
+        }
+    }
+
+    private void unindex(Expense expense) {
+        rollup.remove(expense);
+        textIndex.remove(expense);
+        fuzzyIndex.remove(expense);
+        if (expense.isRecurring()) {
+            recurringExpenses.remove(expense);
+            projector.invalidate();
+            return;
+        }
+        List<Expense> expensesAtTime = timeIndex.get(expense.getTime());
+        if (expensesAtTime != null && expensesAtTime.remove(expense) && expensesAtTime.isEmpty()) {
+            timeIndex.remove(expense.getTime());
+        }
+    }
+
+    private void markDirty(Expense expense) {
+        if (dirtyMonths != null) {
+            dirtyMonths.add(YearMonth.from(expense.getTime()));
+        }
+    }
+
     /**
      * Updates {@code externalList}, then returns it.
      *
@@ -243,9 +704,16 @@ public class ExpenseList extends DukeList<Expense> {
         updateExternalList();
     }
 
+    /**
+     * Sets the filter criteria, such as {@code coffee tea}, {@code lunch or dinner} or {@code din*}.
+     * See {@link ExpenseFilter} for how they are matched. Blank criteria show every expense.
+     *
+     * @param filterCriteria the criteria, which may be null.
+     */
     @Override
     public void setFilterCriteria(String filterCriteria) throws DukeException {
-        this.filterCriteria = filterCriteria;
+        this.filterCriteria = (filterCriteria == null) ? "" : filterCriteria.trim();
+        this.filter = ExpenseFilter.parse(this.filterCriteria);
         updateExternalList();
     }
     
@@ -275,14 +743,25 @@ public class ExpenseList extends DukeList<Expense> {
     }
 
     /**
-     * To be implemented when tags are specified.
+     * Returns the expenses in the given List that match the filter criteria, in the same order.
+     * The matching expenses are looked up in the text index, rather than by checking the words of each expense.
      *
      * @param currentList The List going to be filtered.
      * @return The filtered List.
      */
     @Override
     public List<Expense> filter(List<Expense> currentList) {
-        return currentList;
+        if (filter.isEmpty()) {
+            return currentList;
+        }
+        Set<Expense> matched = filter.match(textIndex);
+        List<Expense> filteredList = new ArrayList<>(matched.size());
+        for (Expense expense : currentList) {
+            if (matched.contains(expense)) {
+                filteredList.add(expense);
+            }
+        }
+        return filteredList;
     }
 
     /**
@@ -295,9 +774,27 @@ public class ExpenseList extends DukeList<Expense> {
      */
     @Override
     public List<Expense> view(List<Expense> currentList) {
+        refreshViewScope();
         return viewScope.view(currentList);
     }
 
+    /**
+     * Returns the expenses within the given view scope without changing
+     * the view scope of the list. Older expenses are loaded first if the scope reaches them.
+     *
+     * @param viewScopeName   the name of the view scope.
+     * @param viewScopeNumber how many units of the view scope to move back by.
+     * @return the expenses within the view scope.
+     * @throws DukeException if the view scope name is invalid.
+     */
+    public Stream<Expense> streamViewScope(String viewScopeName, int viewScopeNumber) throws DukeException {
+        ViewScope scope = new ViewScope(viewScopeName, viewScopeNumber);
+        if (unloadedHistory != null && scope.reachesBefore(unloadedHistory.getHorizon())) {
+            loadHistory();
+        }
+        return scope.viewIndexed().stream();
+    }
+
     /**
      * Returns an item from its storage string. Although this method is present in the item builders,
      * it is declared here to make it easier to implement (otherwise requires reflection).
@@ -312,32 +809,82 @@ public class ExpenseList extends DukeList<Expense> {
 
     /**
      * Returns the total amount of money spent.
+     * Recurring expenses count once for each time they have happened up to the end of today.
      *
      * @return BigDecimal of the total amount of money spent.
      */
     public BigDecimal getTotalAmount() {
-        return internalList.stream()
-                .filter(expense -> !expense.isTentative())
-                .map(Expense::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        long cents = rollup.getConfirmedCents();
+        for (Expense expense : recurringExpenses) {
+            if (!expense.isTentative()) {
+                cents -= expense.getAmountCents();
+            }
+        }
+        cents += projector.project(null, LocalDate.now().plusDays(1).atStartOfDay()).getConfirmedCents();
+        Money total = Money.ofCents(cents);
+        if (unloadedHistory != null) {
+            total = total.add(Money.of(unloadedHistory.getTotalAmount()));
+        }
+        return total.toBigDecimal();
     }
 
     /**
      * returns the total Amount given a specific tag.
+     * Expenses whose tag contains {@code tag} are counted, so this takes time in the number of distinct tags
+     * in view rather than the number of expenses.
      *
      * @param tag the tag of
      * @return A BigDecimal which is the sum of all items of a single tag
      */
     public BigDecimal getTagAmount(String tag) {
-        try {
-            return externalList.stream()
-                    .filter(expense -> expense.getTag().contains(tag))
-                    .filter(expense -> !expense.isTentative())
-                    .map(Expense::getAmount)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-        } catch (NullPointerException e) {
+        if (tag == null) {
             return BigDecimal.ZERO;
         }
+        refreshViewScope();
+        long cents = 0;
+        for (Map.Entry<Integer, TagTotal> tagTotal : tagTotals.entrySet()) {
+            if (SymbolTable.decodeTag(tagTotal.getKey()).contains(tag)) {
+                cents += tagTotal.getValue().getConfirmedCents();
+            }
+        }
+        return Money.ofCents(cents).toBigDecimal();
+    }
+
+    /**
+     * Returns the totals of the loaded expenses by day, month and tag.
+     *
+     * @return the rollups of this list.
+     */
+    public ExpenseRollup getRollup() {
+        return rollup;
+    }
+
+    public ExpenseTextIndex getTextIndex() {
+        return textIndex;
+    }
+
+    /**
+     * Returns the index of the descriptions of the loaded expenses by runs of characters.
+     * Callers that need older expenses too should call {@link #loadHistory()} first.
+     *
+     * @return the index.
+     */
+    public TrigramIndex<Expense> getFuzzyIndex() {
+        return fuzzyIndex;
+    }
+
+    /**
+     * Returns the totals of the expenses in view, by their exact tag.
+     *
+     * @return an unmodifiable map of tags to their totals. Untagged expenses are under the empty tag.
+     */
+    public Map<String, TagTotal> getTagTotals() {
+        refreshViewScope();
+        Map<String, TagTotal> decodedTagTotals = new HashMap<>();
+        for (Map.Entry<Integer, TagTotal> tagTotal : tagTotals.entrySet()) {
+            decodedTagTotals.put(SymbolTable.decodeTag(tagTotal.getKey()), tagTotal.getValue());
+        }
+        return Collections.unmodifiableMap(decodedTagTotals);
     }
 
     /**
@@ -346,10 +893,7 @@ public class ExpenseList extends DukeList<Expense> {
      * @return BigDecimal of the total amount of money spent on currently visible expenses.
      */
     public BigDecimal getTotalExternalAmount() {
-        return externalList.stream()
-                .filter(expense -> !expense.isTentative())
-                .map(Expense::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return Money.ofCents(externalTotalCents).toBigDecimal();
     }
 
 
@@ -0,0 +1,172 @@
+package duke.model;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * The totals of the expenses in an {@code ExpenseList} by day and by month, and within each by tag,
+ * kept up to date as expenses are added and deleted. Tags are grouped by their codes in the {@link SymbolTable}.
+ * Recurring expenses are totalled separately, as views include them whatever their time.
+ * Totals over a range of time are then summed from at most one bucket per day or month, whatever the
+ * number of expenses.
+ */
+public class ExpenseRollup {
+    private final NavigableMap<LocalDate, Map<Integer, TagTotal>> dayTotals = new TreeMap<>();
+    private final NavigableMap<YearMonth, Map<Integer, TagTotal>> monthTotals = new TreeMap<>();
+    private final Map<Integer, TagTotal> recurringTotals = new HashMap<>();
+    private long confirmedCents;
+
+    /**
+     * Counts {@code expense} towards its day, month and tag.
+     *
+     * @param expense the expense added to the list.
+     */
+    void add(Expense expense) {
+        if (!expense.isTentative()) {
+            confirmedCents += expense.getAmountCents();
+        }
+        if (expense.isRecurring()) {
+            recurringTotals.computeIfAbsent(expense.getTagCode(), tag -> new TagTotal()).add(expense);
+            return;
+        }
+        LocalDate date = expense.getTime().toLocalDate();
+        dayTotals.computeIfAbsent(date, day -> new HashMap<>())
+                .computeIfAbsent(expense.getTagCode(), tag -> new TagTotal()).add(expense);
+        monthTotals.computeIfAbsent(YearMonth.from(date), month -> new HashMap<>())
+                .computeIfAbsent(expense.getTagCode(), tag -> new TagTotal()).add(expense);
+    }
+
+    /**
+     * Stops counting {@code expense}. Buckets left empty are dropped.
+     *
+     * @param expense the expense deleted from the list.
+     */
+    void remove(Expense expense) {
+        if (!expense.isTentative()) {
+            confirmedCents -= expense.getAmountCents();
+        }
+        if (expense.isRecurring()) {
+            removeFrom(recurringTotals, expense);
+            return;
+        }
+        LocalDate date = expense.getTime().toLocalDate();
+        removeFrom(dayTotals, date, expense);
+        removeFrom(monthTotals, YearMonth.from(date), expense);
+    }
+
+    void clear() {
+        dayTotals.clear();
+        monthTotals.clear();
+        recurringTotals.clear();
+        confirmedCents = 0;
+    }
+
+    private static <K> void removeFrom(Map<K, Map<Integer, TagTotal>> buckets, K key, Expense expense) {
+        Map<Integer, TagTotal> bucket = buckets.get(key);
+        if (bucket == null) {
+            return;
+        }
+        removeFrom(bucket, expense);
+        if (bucket.isEmpty()) {
+            buckets.remove(key);
+        }
+    }
+
+    private static void removeFrom(Map<Integer, TagTotal> bucket, Expense expense) {
+        TagTotal tagTotal = bucket.get(expense.getTagCode());
+        if (tagTotal == null) {
+            return;
+        }
+        tagTotal.remove(expense);
+        if (tagTotal.isEmpty()) {
+            bucket.remove(expense.getTagCode());
+        }
+    }
+
+    /**
+     * Returns the total of every non-tentative expense counted.
+     *
+     * @return the total in cents.
+     */
+    public long getConfirmedCents() {
+        return confirmedCents;
+    }
+
+    /**
+     * Returns the totals of the non-recurring expenses on {@code date}, by tag.
+     *
+     * @param date the day to total.
+     * @return a new map of tags to their totals.
+     */
+    public Map<String, TagTotal> getDayTotals(LocalDate date) {
+        return decode(sum(dayTotals.subMap(date, true, date, true), null));
+    }
+
+    /**
+     * Returns the totals of the non-recurring expenses in {@code month}, by tag.
+     *
+     * @param month the month to total.
+     * @return a new map of tags to their totals.
+     */
+    public Map<String, TagTotal> getMonthTotals(YearMonth month) {
+        return decode(sum(monthTotals.subMap(month, true, month, true), null));
+    }
+
+    /**
+     * Returns the totals of the expenses from {@code start} until before {@code end}, by tag.
+     * Whole months are summed from the monthly buckets, and other ranges from the daily ones.
+     *
+     * @param start             the first day, or null to total every expense.
+     * @param end               the day after the last, or null to total every expense.
+     * @param includesRecurring whether to add the recurring expenses.
+     * @return a new map of tags to their totals.
+     */
+    public Map<String, TagTotal> getTotals(LocalDate start, LocalDate end, boolean includesRecurring) {
+        return decode(getTotalsByTagCode(start, end, includesRecurring));
+    }
+
+    /**
+     * Returns the totals of the expenses from {@code start} until before {@code end}, by the code of their tag.
+     *
+     * @see #getTotals(LocalDate, LocalDate, boolean)
+     */
+    Map<Integer, TagTotal> getTotalsByTagCode(LocalDate start, LocalDate end, boolean includesRecurring) {
+        Map<Integer, TagTotal> recurring = includesRecurring ? recurringTotals : null;
+        if (start == null || end == null) {
+            return sum(monthTotals, recurring);
+        }
+        if (start.getDayOfMonth() == 1 && end.getDayOfMonth() == 1) {
+            return sum(monthTotals.subMap(YearMonth.from(start), true, YearMonth.from(end), false), recurring);
+        }
+        return sum(dayTotals.subMap(start, true, end, false), recurring);
+    }
+
+    private static Map<String, TagTotal> decode(Map<Integer, TagTotal> totals) {
+        Map<String, TagTotal> decodedTotals = new HashMap<>();
+        for (Map.Entry<Integer, TagTotal> tagTotal : totals.entrySet()) {
+            decodedTotals.put(SymbolTable.decodeTag(tagTotal.getKey()), tagTotal.getValue());
+        }
+        return decodedTotals;
+    }
+
+    private static Map<Integer, TagTotal> sum(Map<?, Map<Integer, TagTotal>> buckets, Map<Integer, TagTotal> extra) {
+        Map<Integer, TagTotal> totals = new HashMap<>();
+        for (Map<Integer, TagTotal> bucket : buckets.values()) {
+            addTo(totals, bucket);
+        }
+        if (extra != null) {
+            addTo(totals, extra);
+        }
+        return totals;
+    }
+
+    private static void addTo(Map<Integer, TagTotal> totals, Map<Integer, TagTotal> bucket) {
+        for (Map.Entry<Integer, TagTotal> tagTotal : bucket.entrySet()) {
+            totals.computeIfAbsent(tagTotal.getKey(), tag -> new TagTotal()).add(tagTotal.getValue());
+        }
+    }
+}
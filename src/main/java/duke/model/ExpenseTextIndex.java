@@ -0,0 +1,114 @@
+package duke.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * An inverted index from the words in the descriptions and tags of the expenses in an {@code ExpenseList}
+ * to the expenses containing them, kept up to date as expenses are added and deleted.
+ * Words are kept in order, so that every word starting with a prefix can be looked up as a range.
+ */
+public class ExpenseTextIndex {
+    private static final String WORD_SEPARATOR = "[^\\p{Alnum}]+";
+
+    private final NavigableMap<String, Set<Expense>> postings = new TreeMap<>();
+
+    /**
+     * Splits {@code text} into lower case words, dropping punctuation and spaces.
+     *
+     * @param text the text to split, which may be null.
+     * @return the words, in the order they appear.
+     */
+    public static List<String> tokenize(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        for (String word : text.toLowerCase(Locale.ROOT).split(WORD_SEPARATOR)) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Returns the words of the description and tag of {@code expense}.
+     *
+     * @param expense the expense.
+     * @return the words, which may repeat.
+     */
+    static List<String> getWords(Expense expense) {
+        List<String> words = tokenize(expense.getDescription());
+        words.addAll(tokenize(expense.getTag()));
+        return words;
+    }
+
+    /**
+     * Adds {@code expense} to the posting list of each of its words.
+     *
+     * @param expense the expense added to the list.
+     */
+    void add(Expense expense) {
+        for (String word : getWords(expense)) {
+            postings.computeIfAbsent(word, w -> Collections.newSetFromMap(new IdentityHashMap<>())).add(expense);
+        }
+    }
+
+    /**
+     * Removes {@code expense} from the posting list of each of its words. Words left without expenses are dropped.
+     *
+     * @param expense the expense deleted from the list.
+     */
+    void remove(Expense expense) {
+        for (String word : getWords(expense)) {
+            Set<Expense> expenses = postings.get(word);
+            if (expenses != null && expenses.remove(expense) && expenses.isEmpty()) {
+                postings.remove(word);
+            }
+        }
+    }
+
+    void clear() {
+        postings.clear();
+    }
+
+    /**
+     * Returns the expenses containing {@code word}, or if {@code isPrefix}, containing a word starting with it.
+     * The set returned for a whole word is the index's own, and must not be changed.
+     *
+     * @param word     the lower case word to look up.
+     * @param isPrefix whether to match every word starting with {@code word}.
+     * @return the expenses, compared by identity.
+     */
+    Set<Expense> lookup(String word, boolean isPrefix) {
+        if (!isPrefix) {
+            return postings.getOrDefault(word, Collections.emptySet());
+        }
+        Map<String, Set<Expense>> range = postings.subMap(word, true, word + Character.MAX_VALUE, false);
+        if (range.size() == 1) {
+            return range.values().iterator().next();
+        }
+        Set<Expense> expenses = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Set<Expense> wordExpenses : range.values()) {
+            expenses.addAll(wordExpenses);
+        }
+        return expenses;
+    }
+
+    /**
+     * Returns the number of distinct words indexed.
+     *
+     * @return the number of words.
+     */
+    public int getWordCount() {
+        return postings.size();
+    }
+}
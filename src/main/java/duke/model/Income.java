@@ -3,7 +3,6 @@ package duke.model;
 import duke.exception.DukeException;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.util.Map;
 import java.util.StringJoiner;
 
@@ -14,7 +13,7 @@ public class Income extends DukeItem {
     /**
      * The amount of money of the income.
      */
-    private final BigDecimal amount;
+    private final Money amount;
     /**
      * The description of the income.
      */
@@ -24,7 +23,7 @@ public class Income extends DukeItem {
      * {@inheritDoc}
      */
     public static class Builder extends DukeItem.Builder<Builder> {
-        private BigDecimal amount = BigDecimal.ZERO;
+        private Money amount = Money.ZERO;
         private String description = "";
 
         public Builder() {
@@ -94,7 +93,12 @@ public class Income extends DukeItem {
                 throw new DukeException(
                         String.format(DukeException.MESSAGE_INCOME_AMOUNT_INVALID, amount.toPlainString()));
             }
-            this.amount = amount.setScale(2, RoundingMode.UNNECESSARY);
+            try {
+                this.amount = Money.of(amount);
+            } catch (ArithmeticException e) {
+                throw new DukeException(
+                        String.format(DukeException.MESSAGE_INCOME_AMOUNT_INVALID, amount.toPlainString()));
+            }
             return this;
         }
 
@@ -127,7 +131,7 @@ public class Income extends DukeItem {
     private Income(Builder builder) {
         super(builder);
         amount = builder.amount;
-        description = builder.description;
+        description = SymbolTable.internDescription(builder.description);
     }
 
     /**
@@ -136,7 +140,16 @@ public class Income extends DukeItem {
      * @return {@link #amount}.
      */
     public BigDecimal getAmount() {
-        return amount;
+        return amount.toBigDecimal();
+    }
+
+    /**
+     * Returns the amount of the income in cents, for summing without allocating.
+     *
+     * @return the number of cents in {@link #amount}.
+     */
+    public long getAmountCents() {
+        return amount.getCents();
     }
 
     /**
@@ -74,6 +74,28 @@ public class IncomeList extends DukeList<Income> {
         updateExternalList();
     }
 
+    /**
+     * Adds all the given incomes to incomeList.
+     *
+     * @param incomes incomes to be added
+     */
+    @Override
+    public void addAll(List<Income> incomes) {
+        super.addAll(incomes);
+        updateExternalList();
+    }
+
+    /**
+     * Removes the given incomes from incomeList.
+     *
+     * @param incomes incomes to be removed
+     */
+    @Override
+    public void removeAll(List<Income> incomes) {
+        super.removeAll(incomes);
+        updateExternalList();
+    }
+
     /**
      * Clears the entire incomeList.
      */
@@ -121,9 +143,11 @@ public class IncomeList extends DukeList<Income> {
      * @return BigDecimal of the total amount of money spent on currently visible incomes.
      */
     public BigDecimal getTotalExternalAmount() {
-        return externalList.stream()
-                .map(Income::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        long cents = 0;
+        for (Income income : externalList) {
+            cents += income.getAmountCents();
+        }
+        return Money.ofCents(cents).toBigDecimal();
     }
 
     /**
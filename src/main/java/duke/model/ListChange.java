@@ -0,0 +1,51 @@
+package duke.model;
+
+/**
+ * A single mutation applied to a {@code DukeList}, recorded so that storage can persist it incrementally
+ * instead of rewriting the whole list.
+ *
+ * @param <T> the item contained in the list.
+ */
+public class ListChange<T> {
+    /**
+     * The kinds of mutations that can be recorded.
+     */
+    public enum Type {
+        ADD, DELETE, CLEAR
+    }
+
+    private final Type type;
+    private final T item;
+    private final String storageString;
+
+    /**
+     * Constructs a change. {@code item} and {@code storageString} are null for {@code CLEAR}.
+     *
+     * @param type          the kind of mutation.
+     * @param item          the item that was added or deleted.
+     * @param storageString the storage string of the item at the time of the mutation.
+     */
+    ListChange(Type type, T item, String storageString) {
+        this.type = type;
+        this.item = item;
+        this.storageString = storageString;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public T getItem() {
+        return item;
+    }
+
+    /**
+     * Returns the storage string of the item, captured when the change happened, so that later in-place
+     * edits of the item do not alter what was recorded.
+     *
+     * @return the storage string of the item, or null for {@code CLEAR}.
+     */
+    public String getStorageString() {
+        return storageString;
+    }
+}
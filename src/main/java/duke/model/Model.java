@@ -8,7 +8,9 @@ import javafx.beans.property.StringProperty;
 import javafx.collections.ObservableList;
 
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Predicate;
 
 /**
@@ -20,6 +22,8 @@ public interface Model {
 
     public void addExpense(Expense expense);
 
+    public void addExpenses(List<Expense> expenses);
+
     public void deleteExpense(int index) throws DukeException;
 
     public void clearExpense();
@@ -110,6 +114,21 @@ public interface Model {
 
     public ObjectProperty<Predicate> getPaymentPredicate();
 
+    //******************************** Undo and redo operations
+
+    /**
+     * Ends the current undo step, so that the changes made since the last call are undone together.
+     */
+    public void commitUndoStep();
+
+    public Set<UndoJournal.Target> undo() throws DukeException;
+
+    public Set<UndoJournal.Target> redo() throws DukeException;
+
+    public void setUndoDepth(int depth);
+
+    public int getUndoDepth();
+
     //******************************** IncomeList operations
 
     public void addIncome(Income income);
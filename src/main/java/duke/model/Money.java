@@ -0,0 +1,83 @@
+package duke.model;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * An amount of money, held as a whole number of cents so that it can be summed without allocating.
+ * {@code BigDecimal} is only produced for display and storage, always with two decimal places.
+ */
+public final class Money implements Comparable<Money>, Serializable {
+    public static final Money ZERO = new Money(0);
+
+    private static final int SCALE = 2;
+
+    private final long cents;
+
+    private Money(long cents) {
+        this.cents = cents;
+    }
+
+    /**
+     * Returns the amount of money with the given number of cents.
+     *
+     * @param cents the number of cents.
+     * @return the amount.
+     */
+    public static Money ofCents(long cents) {
+        return (cents == 0) ? ZERO : new Money(cents);
+    }
+
+    /**
+     * Returns {@code amount}, rounded to the nearest cent, with ties going to the even cent.
+     *
+     * @param amount the amount in dollars.
+     * @return the amount.
+     * @throws ArithmeticException if the amount has too many cents to be held.
+     */
+    public static Money of(BigDecimal amount) {
+        return ofCents(amount.setScale(SCALE, RoundingMode.HALF_EVEN).unscaledValue().longValueExact());
+    }
+
+    public long getCents() {
+        return cents;
+    }
+
+    /**
+     * Returns the amount in dollars.
+     *
+     * @return the amount with two decimal places.
+     */
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    public Money add(Money other) {
+        return ofCents(Math.addExact(cents, other.cents));
+    }
+
+    public Money subtract(Money other) {
+        return ofCents(Math.subtractExact(cents, other.cents));
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(cents, other.cents);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other == this || (other instanceof Money && cents == ((Money) other).cents);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(cents);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
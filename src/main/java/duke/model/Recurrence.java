@@ -0,0 +1,225 @@
+package duke.model;
+
+import duke.exception.DukeException;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * How often a recurring expense happens, such as monthly or every 2 weeks.
+ *
+ * A recurring expense happens at its own time, and then once every {@code interval} units after it.
+ * Monthly and yearly occurrences are counted from the first, so one on the 31st falls on the last day
+ * of shorter months and returns to the 31st after them.
+ */
+public final class Recurrence implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    public static final Recurrence DAILY = new Recurrence(1, Unit.DAY);
+    public static final Recurrence WEEKLY = new Recurrence(1, Unit.WEEK);
+    public static final Recurrence MONTHLY = new Recurrence(1, Unit.MONTH);
+    public static final Recurrence YEARLY = new Recurrence(1, Unit.YEAR);
+
+    private static final Pattern CUSTOM_PATTERN = Pattern.compile("(?:every\\s+)?(\\d+)\\s*([a-z]+?)s?");
+
+    /**
+     * The units in which a recurrence is measured.
+     */
+    public enum Unit {
+        DAY("day", "daily", ChronoUnit.DAYS),
+        WEEK("week", "weekly", ChronoUnit.WEEKS),
+        MONTH("month", "monthly", ChronoUnit.MONTHS),
+        YEAR("year", "yearly", ChronoUnit.YEARS);
+
+        private final String name;
+        private final String adverb;
+        private final ChronoUnit chronoUnit;
+
+        /**
+         * Constructs a {@code Unit} with its names and the unit of time it measures.
+         *
+         * @param name       the name of one unit.
+         * @param adverb     the name of a recurrence every unit.
+         * @param chronoUnit the unit of time.
+         */
+        Unit(String name, String adverb, ChronoUnit chronoUnit) {
+            this.name = name;
+            this.adverb = adverb;
+            this.chronoUnit = chronoUnit;
+        }
+    }
+
+    private final int interval;
+    private final Unit unit;
+
+    private Recurrence(int interval, Unit unit) {
+        this.interval = interval;
+        this.unit = unit;
+    }
+
+    /**
+     * Returns the recurrence every {@code interval} units.
+     *
+     * @param interval the number of units between occurrences, at least 1.
+     * @param unit     the unit.
+     * @return the recurrence.
+     */
+    public static Recurrence of(int interval, Unit unit) {
+        if (interval < 1) {
+            throw new IllegalArgumentException("The interval of a recurrence must be positive: " + interval);
+        }
+        return new Recurrence(interval, unit);
+    }
+
+    /**
+     * Parses a recurrence from its name, such as "daily", "weekly", "monthly" or "yearly",
+     * or from a custom interval, such as "every 2 weeks" or "10 days".
+     *
+     * @param recurrence the recurrence as written by the user or by {@link #toString()}.
+     * @return the recurrence.
+     * @throws DukeException if {@code recurrence} is not a valid recurrence.
+     */
+    public static Recurrence parse(String recurrence) throws DukeException {
+        String normalized = recurrence.trim().toLowerCase();
+        for (Unit unit : Unit.values()) {
+            if (unit.adverb.equals(normalized)) {
+                return new Recurrence(1, unit);
+            }
+        }
+        Matcher matcher = CUSTOM_PATTERN.matcher(normalized);
+        if (matcher.matches()) {
+            for (Unit unit : Unit.values()) {
+                if (unit.name.equals(matcher.group(2))) {
+                    try {
+                        int interval = Integer.parseInt(matcher.group(1));
+                        if (interval >= 1) {
+                            return new Recurrence(interval, unit);
+                        }
+                    } catch (NumberFormatException e) {
+                        // Handled below, along with intervals that are too small.
+                    }
+                }
+            }
+        }
+        throw new DukeException(String.format(DukeException.MESSAGE_RECURRENCE_INVALID, recurrence));
+    }
+
+    public int getInterval() {
+        return interval;
+    }
+
+    public Unit getUnit() {
+        return unit;
+    }
+
+    /**
+     * Returns the time of an occurrence of an expense that recurs from {@code start}.
+     *
+     * @param start the time of the first occurrence.
+     * @param index the number of the occurrence, where the first is 0.
+     * @return the time of the occurrence.
+     */
+    public LocalDateTime getOccurrence(LocalDateTime start, long index) {
+        return start.plus(index * interval, unit.chronoUnit);
+    }
+
+    /**
+     * Returns the number of the first occurrence at or after {@code time}.
+     * The estimate from the units between them can be off by one where months are of different lengths.
+     */
+    private long getFirstIndexFrom(LocalDateTime start, LocalDateTime time) {
+        if (time == null || !time.isAfter(start)) {
+            return 0;
+        }
+        long index = Math.max(0, unit.chronoUnit.between(start, time) / interval);
+        while (getOccurrence(start, index).isBefore(time)) {
+            index++;
+        }
+        while (index > 0 && !getOccurrence(start, index - 1).isBefore(time)) {
+            index--;
+        }
+        return index;
+    }
+
+    /**
+     * Returns the number of occurrences of an expense that recurs from {@code start}, from {@code from}
+     * until before {@code to}. The occurrences are counted without going through each of them.
+     *
+     * @param start the time of the first occurrence.
+     * @param from  the first moment to count, or null to count from {@code start}.
+     * @param to    the moment after the last to count.
+     * @return the number of occurrences.
+     */
+    public long countOccurrences(LocalDateTime start, LocalDateTime from, LocalDateTime to) {
+        return Math.max(0, getFirstIndexFrom(start, to) - getFirstIndexFrom(start, from));
+    }
+
+    /**
+     * Returns the occurrences of an expense that recurs from {@code start}, from {@code from} until before
+     * {@code to}, in order. Each occurrence is only computed when the iterator reaches it.
+     *
+     * @param start the time of the first occurrence.
+     * @param from  the first moment to include, or null to start at {@code start}.
+     * @param to    the moment after the last to include.
+     * @return an iterator over the times of the occurrences.
+     */
+    public Iterator<LocalDateTime> occurrences(LocalDateTime start, LocalDateTime from, LocalDateTime to) {
+        long firstIndex = getFirstIndexFrom(start, from);
+        return new Iterator<>() {
+            private long index = firstIndex;
+            private LocalDateTime next = getOccurrence(start, firstIndex);
+
+            @Override
+            public boolean hasNext() {
+                return next.isBefore(to);
+            }
+
+            @Override
+            public LocalDateTime next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                LocalDateTime occurrence = next;
+                index++;
+                next = getOccurrence(start, index);
+                return occurrence;
+            }
+        };
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof Recurrence)) {
+            return false;
+        }
+        Recurrence recurrence = (Recurrence) other;
+        return interval == recurrence.interval && unit == recurrence.unit;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(interval, unit);
+    }
+
+    /**
+     * Returns the recurrence as {@link #parse(String)} reads it, such as "monthly" or "every 2 weeks".
+     *
+     * @return the recurrence as a string.
+     */
+    @Override
+    public String toString() {
+        if (interval == 1) {
+            return unit.adverb;
+        }
+        return "every " + interval + " " + unit.name + "s";
+    }
+}
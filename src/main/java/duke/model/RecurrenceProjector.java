@@ -0,0 +1,148 @@
+package duke.model;
+
+import java.time.LocalDateTime;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Expands the recurring expenses of an {@code ExpenseList} into their occurrences within windows of time,
+ * so that views and their totals count a recurring expense once for every time it happens in them.
+ *
+ * Occurrences are counted from each expense's {@link Recurrence} rather than listed, so a window costs
+ * the same whatever its length. Views ask for the same few windows again and again, so the projections
+ * of the most recent windows are kept until the recurring expenses change.
+ */
+public class RecurrenceProjector {
+    private static final int MAX_CACHED_WINDOWS = 8;
+
+    private final Collection<Expense> recurringExpenses;
+
+    /**
+     * The projections of the windows asked for most recently, keyed by the start and end of the window.
+     */
+    private final Map<Map.Entry<LocalDateTime, LocalDateTime>, Projection> projections =
+            new LinkedHashMap<>(MAX_CACHED_WINDOWS * 2, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Map.Entry<LocalDateTime, LocalDateTime>,
+                        Projection> eldest) {
+                    return size() > MAX_CACHED_WINDOWS;
+                }
+            };
+
+    /**
+     * Creates a projector over {@code recurringExpenses}, which it reads but does not copy.
+     * {@link #invalidate()} must be called whenever they change.
+     *
+     * @param recurringExpenses the recurring expenses to project.
+     */
+    RecurrenceProjector(Collection<Expense> recurringExpenses) {
+        this.recurringExpenses = recurringExpenses;
+    }
+
+    /**
+     * Returns the occurrences of the recurring expenses from {@code from} until before {@code to}.
+     *
+     * @param from the first moment of the window, or null to count from the first occurrence of each expense.
+     * @param to   the moment after the window.
+     * @return the projection of the window.
+     */
+    public Projection project(LocalDateTime from, LocalDateTime to) {
+        return projections.computeIfAbsent(new AbstractMap.SimpleImmutableEntry<>(from, to),
+                window -> new Projection(from, to));
+    }
+
+    /**
+     * Forgets the projections made so far, after the recurring expenses change.
+     */
+    void invalidate() {
+        projections.clear();
+    }
+
+    /**
+     * The recurring expenses that happen within one window of time, with the number of times each happens
+     * and their totals by tag.
+     */
+    public class Projection {
+        private final LocalDateTime from;
+        private final LocalDateTime to;
+        private final Map<Expense, Integer> occurrenceCounts = new IdentityHashMap<>();
+        private final List<Expense> expenses = new ArrayList<>();
+        private final Map<Integer, TagTotal> tagTotals = new HashMap<>();
+        private long confirmedCents;
+
+        private Projection(LocalDateTime from, LocalDateTime to) {
+            this.from = from;
+            this.to = to;
+            for (Expense expense : recurringExpenses) {
+                long count = expense.getRecurrence().countOccurrences(expense.getTime(), from, to);
+                if (count == 0) {
+                    continue;
+                }
+                int occurrences = (int) Math.min(count, Integer.MAX_VALUE);
+                occurrenceCounts.put(expense, occurrences);
+                expenses.add(expense);
+                tagTotals.computeIfAbsent(expense.getTagCode(), tag -> new TagTotal()).add(expense, occurrences);
+                if (!expense.isTentative()) {
+                    confirmedCents += expense.getAmountCents() * occurrences;
+                }
+            }
+        }
+
+        /**
+         * Returns the number of times {@code expense} happens within the window.
+         *
+         * @param expense a recurring expense.
+         * @return the number of occurrences, or 0 if it does not happen within the window.
+         */
+        public int getOccurrenceCount(Expense expense) {
+            return occurrenceCounts.getOrDefault(expense, 0);
+        }
+
+        /**
+         * Returns the recurring expenses that happen within the window, in the order they were added.
+         *
+         * @return an unmodifiable list of the expenses.
+         */
+        public List<Expense> getExpenses() {
+            return Collections.unmodifiableList(expenses);
+        }
+
+        /**
+         * Returns the times at which {@code expense} happens within the window, computed as they are reached.
+         *
+         * @param expense a recurring expense.
+         * @return an iterator over the times of its occurrences, in order.
+         */
+        public Iterator<LocalDateTime> getOccurrences(Expense expense) {
+            if (!occurrenceCounts.containsKey(expense)) {
+                return Collections.emptyIterator();
+            }
+            return expense.getRecurrence().occurrences(expense.getTime(), from, to);
+        }
+
+        /**
+         * Returns the totals of the occurrences within the window, by the code of their tag.
+         * The totals are shared, so callers must add them to their own rather than change them.
+         */
+        Map<Integer, TagTotal> getTagTotalsByTagCode() {
+            return tagTotals;
+        }
+
+        /**
+         * Returns the total of the occurrences of the non-tentative expenses within the window.
+         *
+         * @return the total in cents.
+         */
+        public long getConfirmedCents() {
+            return confirmedCents;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package duke.model;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * The tags and descriptions shared by the items of the model, so that each distinct one is held only once.
+ *
+ * Tags are few, so each is given a small code, which items hold in place of the tag. Tags can then be
+ * compared and grouped by their codes, and decoding a code always gives the same string.
+ * Codes are only valid while the program runs, and must never be saved.
+ *
+ * Descriptions are many, but often repeated, so equal descriptions are replaced by a single string.
+ * Descriptions no item holds any more are forgotten.
+ */
+public class SymbolTable {
+    private static final Map<String, Integer> tagCodes = new HashMap<>();
+
+    /**
+     * The tags by code. It is replaced rather than changed as tags are added, so that it can be read
+     * without locking.
+     */
+    private static volatile String[] tags = new String[0];
+
+    private static final Map<String, WeakReference<String>> descriptions = new WeakHashMap<>();
+
+    private SymbolTable() {
+    }
+
+    /**
+     * Returns the code of {@code tag}, giving it the next code if it has none.
+     *
+     * @param tag the tag, where null is taken as no tag.
+     * @return the code.
+     */
+    public static int encodeTag(String tag) {
+        String key = (tag == null) ? "" : tag;
+        synchronized (tagCodes) {
+            Integer code = tagCodes.get(key);
+            if (code != null) {
+                return code;
+            }
+            int newCode = tags.length;
+            String[] newTags = Arrays.copyOf(tags, newCode + 1);
+            newTags[newCode] = key;
+            tags = newTags;
+            tagCodes.put(key, newCode);
+            return newCode;
+        }
+    }
+
+    /**
+     * Returns the tag with {@code code}.
+     *
+     * @param code a code returned by {@link #encodeTag(String)}.
+     * @return the tag.
+     */
+    public static String decodeTag(int code) {
+        return tags[code];
+    }
+
+    /**
+     * Returns the number of distinct tags seen.
+     *
+     * @return the number of tags.
+     */
+    public static int getTagCount() {
+        return tags.length;
+    }
+
+    /**
+     * Returns the string held for descriptions equal to {@code description}, holding it if there is none.
+     *
+     * @param description the description, which may be null.
+     * @return an equal description, shared by every item holding it.
+     */
+    public static String internDescription(String description) {
+        if (description == null) {
+            return null;
+        }
+        synchronized (descriptions) {
+            WeakReference<String> reference = descriptions.get(description);
+            String shared = (reference == null) ? null : reference.get();
+            if (shared != null) {
+                return shared;
+            }
+            descriptions.put(description, new WeakReference<>(description));
+            return description;
+        }
+    }
+}
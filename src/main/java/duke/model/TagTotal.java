@@ -0,0 +1,94 @@
+package duke.model;
+
+import java.math.BigDecimal;
+
+/**
+ * The sums and counts of the visible expenses with one tag, kept up to date by {@code ExpenseList}
+ * as expenses enter and leave its view. Sums are kept in cents.
+ */
+public class TagTotal {
+    private long confirmedCents;
+    private long tentativeCents;
+    private int confirmedCount;
+    private int tentativeCount;
+
+    /**
+     * Counts {@code expense} towards this total.
+     *
+     * @param expense an expense with this tag.
+     */
+    void add(Expense expense) {
+        add(expense, 1);
+    }
+
+    /**
+     * Counts {@code expense} towards this total once for each of its occurrences.
+     *
+     * @param expense     an expense with this tag.
+     * @param occurrences the number of times the expense happens, which is 1 unless it recurs.
+     */
+    void add(Expense expense, int occurrences) {
+        if (expense.isTentative()) {
+            tentativeCents += expense.getAmountCents() * occurrences;
+            tentativeCount += occurrences;
+        } else {
+            confirmedCents += expense.getAmountCents() * occurrences;
+            confirmedCount += occurrences;
+        }
+    }
+
+    /**
+     * Counts every expense counted by {@code other} towards this total.
+     *
+     * @param other the total to add.
+     */
+    void add(TagTotal other) {
+        confirmedCents += other.confirmedCents;
+        tentativeCents += other.tentativeCents;
+        confirmedCount += other.confirmedCount;
+        tentativeCount += other.tentativeCount;
+    }
+
+    /**
+     * Stops counting {@code expense} towards this total.
+     *
+     * @param expense an expense with this tag that was added before.
+     */
+    void remove(Expense expense) {
+        remove(expense, 1);
+    }
+
+    /**
+     * Stops counting {@code expense} towards this total for each of its occurrences.
+     *
+     * @param expense     an expense with this tag that was added before.
+     * @param occurrences the number of times it was counted.
+     */
+    void remove(Expense expense, int occurrences) {
+        add(expense, -occurrences);
+    }
+
+    boolean isEmpty() {
+        return confirmedCount == 0 && tentativeCount == 0;
+    }
+
+    long getConfirmedCents() {
+        return confirmedCents;
+    }
+
+    public BigDecimal getConfirmedAmount() {
+        return Money.ofCents(confirmedCents).toBigDecimal();
+    }
+
+    public BigDecimal getTentativeAmount() {
+        return Money.ofCents(tentativeCents).toBigDecimal();
+    }
+
+    public int getConfirmedCount() {
+        return confirmedCount;
+    }
+
+    public int getTentativeCount() {
+        return tentativeCount;
+    }
+}
@@ -0,0 +1,220 @@
+package duke.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * An index of the texts of items by their runs of three characters, so that items can be found by texts
+ * that are only similar to the query, such as "Gongcha" for "Gong Cha" or "Starbuks" for "Starbucks".
+ *
+ * Texts are compared in lower case with everything but letters and digits removed, and padded so that
+ * their first and last characters form runs of their own. A text is scored by the share of the query's
+ * runs that it contains, so that a query matches longer texts it is part of. Texts scoring the same are
+ * ranked by how much of the text the query covers.
+ *
+ * Items are compared by identity, and may have several texts, in which case the best scoring one counts.
+ *
+ * @param <T> the type of the items.
+ */
+public class TrigramIndex<T> {
+    public static final double DEFAULT_THRESHOLD = 0.5;
+
+    private static final int GRAM_LENGTH = 3;
+    private static final String PADDING = "  ";
+    private static final String IGNORED_CHARACTERS = "[^\\p{Alnum}]+";
+
+    /**
+     * A text of an item, along with the number of distinct runs of characters in it.
+     * The runs themselves are worked out again from the text when it is removed.
+     */
+    private static class Document<T> {
+        private final T item;
+        private final String text;
+        private final int gramCount;
+
+        Document(T item, String text, int gramCount) {
+            this.item = item;
+            this.text = text;
+            this.gramCount = gramCount;
+        }
+    }
+
+    /**
+     * An item found by a search, and how similar its text is to the query.
+     *
+     * @param <T> the type of the item.
+     */
+    public static class Match<T> {
+        /**
+         * Orders matches from best to worst.
+         */
+        public static final Comparator<Match<?>> BEST_FIRST = Comparator.comparingDouble((Match<?> m) -> m.score)
+                .thenComparingDouble(m -> m.coverage).reversed();
+
+        private final T item;
+        private final double score;
+        private final double coverage;
+
+        Match(T item, double score, double coverage) {
+            this.item = item;
+            this.score = score;
+            this.coverage = coverage;
+        }
+
+        public T getItem() {
+            return item;
+        }
+
+        /**
+         * Returns the share of the query's runs of characters found in the text, from 0 to 1.
+         *
+         * @return the score.
+         */
+        public double getScore() {
+            return score;
+        }
+
+        /**
+         * Returns the share of the runs of characters in both the query and the text that they have in common,
+         * from 0 to 1.
+         *
+         * @return the coverage.
+         */
+        public double getCoverage() {
+            return coverage;
+        }
+    }
+
+    private final Map<T, List<Document<T>>> documents = new IdentityHashMap<>();
+    private final Map<String, Set<Document<T>>> postings = new HashMap<>();
+
+    /**
+     * Returns the distinct runs of three characters in {@code text}, once normalized and padded.
+     *
+     * @param text the text, which may be null.
+     * @return the runs, or an empty set if the text has no letters or digits.
+     */
+    static Set<String> getGrams(String text) {
+        Set<String> grams = new HashSet<>();
+        if (text == null) {
+            return grams;
+        }
+        String normalized = text.toLowerCase(Locale.ROOT).replaceAll(IGNORED_CHARACTERS, "");
+        if (normalized.isEmpty()) {
+            return grams;
+        }
+        String padded = PADDING + normalized + " ";
+        for (int i = 0; i + GRAM_LENGTH <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    /**
+     * Indexes {@code text} as one of the texts of {@code item}.
+     *
+     * @param item the item.
+     * @param text the text, which is ignored if it has no letters or digits.
+     */
+    public void add(T item, String text) {
+        requireNonNull(item);
+
+        Set<String> grams = getGrams(text);
+        if (grams.isEmpty()) {
+            return;
+        }
+        Document<T> document = new Document<>(item, text, grams.size());
+        documents.computeIfAbsent(item, i -> new ArrayList<>(1)).add(document);
+        for (String gram : grams) {
+            postings.computeIfAbsent(gram, g -> Collections.newSetFromMap(new IdentityHashMap<>())).add(document);
+        }
+    }
+
+    /**
+     * Stops indexing every text of {@code item}. Runs left without texts are dropped.
+     *
+     * @param item the item.
+     */
+    public void remove(T item) {
+        List<Document<T>> itemDocuments = documents.remove(item);
+        if (itemDocuments == null) {
+            return;
+        }
+        for (Document<T> document : itemDocuments) {
+            for (String gram : getGrams(document.text)) {
+                Set<Document<T>> gramDocuments = postings.get(gram);
+                if (gramDocuments != null && gramDocuments.remove(document) && gramDocuments.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    public void clear() {
+        documents.clear();
+        postings.clear();
+    }
+
+    /**
+     * Returns the items with a text similar to {@code query}, best first.
+     * Only the texts sharing a run of characters with the query are scored, by counting the runs they share
+     * as the posting lists of the query's runs are walked.
+     *
+     * @param query     the text to look for.
+     * @param threshold the lowest score to return, from 0 to 1.
+     * @param limit     the most items to return.
+     * @return the matches, at most one per item.
+     */
+    public List<Match<T>> search(String query, double threshold, int limit) {
+        requireNonNull(query);
+
+        Set<String> queryGrams = getGrams(query);
+        List<Match<T>> matches = new ArrayList<>();
+        if (queryGrams.isEmpty() || limit <= 0) {
+            return matches;
+        }
+
+        Map<Document<T>, Integer> sharedCounts = new IdentityHashMap<>();
+        for (String gram : queryGrams) {
+            for (Document<T> document : postings.getOrDefault(gram, Collections.emptySet())) {
+                sharedCounts.merge(document, 1, Integer::sum);
+            }
+        }
+
+        Map<T, Match<T>> bestMatches = new IdentityHashMap<>();
+        for (Map.Entry<Document<T>, Integer> sharedCount : sharedCounts.entrySet()) {
+            Document<T> document = sharedCount.getKey();
+            int shared = sharedCount.getValue();
+            double score = (double) shared / queryGrams.size();
+            if (score < threshold) {
+                continue;
+            }
+            double coverage = (double) shared / (queryGrams.size() + document.gramCount - shared);
+            Match<T> match = new Match<>(document.item, score, coverage);
+            bestMatches.merge(document.item, match, (a, b) -> Match.BEST_FIRST.compare(a, b) <= 0 ? a : b);
+        }
+
+        // Keeps the best matches in a heap whose head is the worst of them
+        PriorityQueue<Match<T>> best = new PriorityQueue<>(Match.BEST_FIRST.reversed());
+        for (Match<T> match : bestMatches.values()) {
+            best.add(match);
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+        matches.addAll(best);
+        matches.sort(Match.BEST_FIRST);
+        return matches;
+    }
+}
@@ -0,0 +1,175 @@
+package duke.model;
+
+import duke.exception.DukeException;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Records how to reverse each change made to the model, so that changes can be undone and redone.
+ * Each edit holds only the items it changed, rather than a copy of the list it changed.
+ * The edits made by one command form a step, and only the latest {@code depth} steps are kept.
+ */
+public class UndoJournal {
+    public static final int DEFAULT_DEPTH = 50;
+
+    /**
+     * The parts of the model that an edit can change, so that only those need to be saved again.
+     */
+    public enum Target {
+        EXPENSES, INCOME, PAYMENTS, BUDGET
+    }
+
+    /**
+     * A change and the change that reverses it.
+     */
+    private static class Edit {
+        private final Target target;
+        private final Runnable undo;
+        private final Runnable redo;
+
+        Edit(Target target, Runnable undo, Runnable redo) {
+            this.target = target;
+            this.undo = undo;
+            this.redo = redo;
+        }
+    }
+
+    private final Deque<List<Edit>> undoSteps = new ArrayDeque<>();
+    private final Deque<List<Edit>> redoSteps = new ArrayDeque<>();
+    private List<Edit> currentStep = new ArrayList<>();
+    private int depth;
+
+    /**
+     * Whether an undo or redo is being applied, in which case the changes it makes are not recorded.
+     */
+    private boolean isReplaying;
+
+    public UndoJournal() {
+        this(DEFAULT_DEPTH);
+    }
+
+    /**
+     * Constructs a journal that keeps the latest {@code depth} steps.
+     *
+     * @param depth the number of steps that can be undone.
+     */
+    public UndoJournal(int depth) {
+        setDepth(depth);
+    }
+
+    /**
+     * Sets the number of steps that can be undone, forgetting the oldest steps beyond it.
+     *
+     * @param depth the number of steps, at least 0.
+     */
+    public void setDepth(int depth) {
+        if (depth < 0) {
+            throw new IllegalArgumentException("Undo depth cannot be negative: " + depth);
+        }
+        this.depth = depth;
+        while (undoSteps.size() > depth) {
+            undoSteps.removeLast();
+        }
+        while (redoSteps.size() > depth) {
+            redoSteps.removeLast();
+        }
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Records a change that has just been made, as part of the current step.
+     *
+     * @param target the part of the model that was changed.
+     * @param undo   reverses the change.
+     * @param redo   makes the change again.
+     */
+    public void record(Target target, Runnable undo, Runnable redo) {
+        if (isReplaying || depth == 0) {
+            return;
+        }
+        currentStep.add(new Edit(target, undo, redo));
+    }
+
+    /**
+     * Ends the current step, so that the changes recorded since the last call are undone together.
+     * A step that changed something clears the steps that could be redone.
+     */
+    public void commitStep() {
+        if (currentStep.isEmpty()) {
+            return;
+        }
+        undoSteps.addFirst(currentStep);
+        if (undoSteps.size() > depth) {
+            undoSteps.removeLast();
+        }
+        redoSteps.clear();
+        currentStep = new ArrayList<>();
+    }
+
+    public boolean canUndo() {
+        return !currentStep.isEmpty() || !undoSteps.isEmpty();
+    }
+
+    public boolean canRedo() {
+        return !redoSteps.isEmpty();
+    }
+
+    /**
+     * Reverses the latest step, latest change first.
+     *
+     * @return the parts of the model that were changed.
+     * @throws DukeException if there is nothing to undo.
+     */
+    public Set<Target> undo() throws DukeException {
+        commitStep();
+        if (undoSteps.isEmpty()) {
+            throw new DukeException(DukeException.MESSAGE_UNDO_EMPTY);
+        }
+        List<Edit> step = undoSteps.removeFirst();
+        Set<Target> targets = EnumSet.noneOf(Target.class);
+        isReplaying = true;
+        try {
+            for (int i = step.size() - 1; i >= 0; i--) {
+                step.get(i).undo.run();
+                targets.add(step.get(i).target);
+            }
+        } finally {
+            isReplaying = false;
+        }
+        redoSteps.addFirst(step);
+        return targets;
+    }
+
+    /**
+     * Makes the latest undone step again, earliest change first.
+     *
+     * @return the parts of the model that were changed.
+     * @throws DukeException if there is nothing to redo.
+     */
+    public Set<Target> redo() throws DukeException {
+        if (redoSteps.isEmpty()) {
+            throw new DukeException(DukeException.MESSAGE_REDO_EMPTY);
+        }
+        List<Edit> step = redoSteps.removeFirst();
+        Set<Target> targets = EnumSet.noneOf(Target.class);
+        isReplaying = true;
+        try {
+            for (Edit edit : step) {
+                edit.redo.run();
+                targets.add(edit.target);
+            }
+        } finally {
+            isReplaying = false;
+        }
+        undoSteps.addFirst(step);
+        return targets;
+    }
+}
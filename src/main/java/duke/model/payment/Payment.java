@@ -1,6 +1,7 @@
 package duke.model.payment;
 
 import duke.exception.DukeException;
+import duke.model.SymbolTable;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -33,7 +34,7 @@ public class Payment {
 
     // Optional fields
     private String receiver;
-    private String tag;
+    private int tagCode; // the code of the tag in the SymbolTable
     private Priority priority;
 
     /**
@@ -102,7 +103,7 @@ public class Payment {
             description = payment.description;
             receiver = payment.receiver;
             due = payment.due;
-            tag = payment.tag;
+            tag = payment.getTag();
             amount = payment.amount;
             priority = payment.priority;
         }
@@ -227,10 +228,10 @@ public class Payment {
     public Payment(Builder builder) {
         requireNonNull(builder);
 
-        description = builder.description;
-        receiver = builder.receiver;
+        description = SymbolTable.internDescription(builder.description);
+        receiver = SymbolTable.internDescription(builder.receiver);
         due = builder.due;
-        tag = builder.tag;
+        tagCode = SymbolTable.encodeTag(builder.tag);
         amount = builder.amount;
         priority = builder.priority;
     }
@@ -248,7 +249,11 @@ public class Payment {
     }
 
     public String getTag() {
-        return this.tag;
+        return SymbolTable.decodeTag(tagCode);
+    }
+
+    public int getTagCode() {
+        return tagCode;
     }
 
     public BigDecimal getAmount() {
@@ -276,6 +281,6 @@ public class Payment {
 
         return description.toLowerCase().contains(keyword.toLowerCase())
                 || receiver.toLowerCase().contains(keyword.toLowerCase())
-                || tag.toLowerCase().contains(keyword.toLowerCase());
+                || getTag().toLowerCase().contains(keyword.toLowerCase());
     }
 }
@@ -0,0 +1,89 @@
+package duke.model.payment;
+
+import java.time.LocalDate;
+import java.util.NavigableMap;
+import java.util.function.Predicate;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Tests whether a {@code payment} is due within a range of dates.
+ * The range is worked out once for a given day, so that testing many payments does not ask for the
+ * current date each time, and so that {@code PaymentList} can look up the payments in the range in its
+ * due date index instead of testing each of them. A predicate that follows today is worked out again
+ * with {@link #withToday(LocalDate)} once that day has passed.
+ */
+abstract class PaymentDueRangePredicate implements Predicate<Payment> {
+    /**
+     * The date the range was worked out for.
+     */
+    private final LocalDate today;
+
+    /**
+     * Whether the range is meant for the current day, rather than for {@code today} only.
+     */
+    private final boolean isFollowingToday;
+
+    /**
+     * The first date in the range, or null if the range has no start.
+     */
+    private final LocalDate start;
+
+    /**
+     * The date after the range, or null if the range has no end.
+     */
+    private final LocalDate end;
+
+    PaymentDueRangePredicate(LocalDate today, boolean isFollowingToday, LocalDate start, LocalDate end) {
+        this.today = today;
+        this.isFollowingToday = isFollowingToday;
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * Returns a predicate for the same kind of range that follows today, worked out for {@code today}.
+     *
+     * @param today the current date
+     * @return the predicate.
+     */
+    abstract PaymentDueRangePredicate withToday(LocalDate today);
+
+    /**
+     * Returns whether the range follows today but was worked out for another day, so that it no longer
+     * describes the payments it is named after.
+     *
+     * @return true if the day has changed since the range was worked out.
+     */
+    boolean isStale() {
+        return isFollowingToday && !LocalDate.now().equals(today);
+    }
+
+    @Override
+    public boolean test(Payment payment) {
+        requireNonNull(payment);
+
+        LocalDate due = payment.getDue();
+        return (start == null || !due.isBefore(start)) && (end == null || due.isBefore(end));
+    }
+
+    /**
+     * Returns the part of an index keyed by due date that is within the range.
+     *
+     * @param dueIndex the index to look up.
+     * @param <V>      the type of the values of the index.
+     * @return a view of the entries of {@code dueIndex} within the range.
+     */
+    <V> NavigableMap<LocalDate, V> slice(NavigableMap<LocalDate, V> dueIndex) {
+        if (start == null && end == null) {
+            return dueIndex;
+        }
+        if (start == null) {
+            return dueIndex.headMap(end, false);
+        }
+        if (end == null) {
+            return dueIndex.tailMap(start, true);
+        }
+        return dueIndex.subMap(start, true, end, false);
+    }
+}
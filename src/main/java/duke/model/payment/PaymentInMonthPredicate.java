@@ -1,30 +1,37 @@
 package duke.model.payment;
 
 import java.time.LocalDate;
-import java.util.function.Predicate;
-
-import static java.util.Objects.requireNonNull;
 
 /**
- * Tests whether a {@code payment} is coming to due in current month.
+ * Tests whether a {@code payment} is coming to due in current month, from today until its last day.
  */
-public class PaymentInMonthPredicate implements Predicate<Payment> {
+public class PaymentInMonthPredicate extends PaymentDueRangePredicate {
 
     public PaymentInMonthPredicate() {
-
+        this(LocalDate.now(), true);
     }
 
-    @Override
-    public boolean test(Payment payment) {
-        requireNonNull(payment);
-
-        LocalDate due = payment.getDue();
-        LocalDate now = LocalDate.now();
+    /**
+     * Creates a predicate for the month of {@code today} only.
+     *
+     * @param today the date taken as today
+     */
+    PaymentInMonthPredicate(LocalDate today) {
+        this(today, false);
+    }
 
-        boolean isSameYear = (due.getYear() == now.getYear());
-        boolean isSameMonth = due.getMonth().equals(now.getMonth());
-        boolean isOverdue = due.isBefore(now);
+    /**
+     * Creates a predicate for the month of {@code today}.
+     *
+     * @param today            the date taken as today
+     * @param isFollowingToday whether the range is worked out again once {@code today} has passed
+     */
+    PaymentInMonthPredicate(LocalDate today, boolean isFollowingToday) {
+        super(today, isFollowingToday, today, today.withDayOfMonth(1).plusMonths(1));
+    }
 
-        return (isSameYear && isSameMonth && !isOverdue);
+    @Override
+    PaymentInMonthPredicate withToday(LocalDate today) {
+        return new PaymentInMonthPredicate(today, true);
     }
 }
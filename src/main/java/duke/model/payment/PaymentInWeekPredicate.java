@@ -1,40 +1,38 @@
 package duke.model.payment;
 
 import java.time.LocalDate;
-import java.util.function.Predicate;
-
-import static java.util.Objects.requireNonNull;
 
 /**
- * Tests whether a {@code payment} is coming to due in current week.
+ * Tests whether a {@code payment} is coming to due in current week, from today until Sunday.
  */
-public class PaymentInWeekPredicate implements Predicate<Payment> {
+public class PaymentInWeekPredicate extends PaymentDueRangePredicate {
 
     public PaymentInWeekPredicate() {
-
+        this(LocalDate.now(), true);
     }
 
-    @Override
-    public boolean test(Payment payment) {
-        requireNonNull(payment);
-
-        LocalDate now = LocalDate.now();
-        LocalDate due = payment.getDue();
-
-        // The current day of week. e.g. Wednesday corresponds to 3
-        int dayOfWeek = now.getDayOfWeek().getValue();
-
-        // Monday of current week
-        LocalDate thisMonday = now.minusDays(dayOfWeek - 1);
-
-        // Sunday of current week
-        LocalDate thisSunday = now.plusDays(7 - dayOfWeek);
-
-        boolean isInCurrentWeek = due.equals(thisSunday) || due.equals(thisMonday)
-                || (due.isAfter(thisMonday) && due.isBefore(thisSunday));
+    /**
+     * Creates a predicate for the week of {@code today} only.
+     *
+     * @param today the date taken as today
+     */
+    PaymentInWeekPredicate(LocalDate today) {
+        this(today, false);
+    }
 
-        boolean isOverdue = due.isBefore(now);
+    /**
+     * Creates a predicate for the week of {@code today}.
+     *
+     * @param today            the date taken as today
+     * @param isFollowingToday whether the range is worked out again once {@code today} has passed
+     */
+    PaymentInWeekPredicate(LocalDate today, boolean isFollowingToday) {
+        // The day after Sunday of current week. e.g. Wednesday corresponds to 3, so it is 5 days later.
+        super(today, isFollowingToday, today, today.plusDays(8 - today.getDayOfWeek().getValue()));
+    }
 
-        return (!isOverdue && isInCurrentWeek);
+    @Override
+    PaymentInWeekPredicate withToday(LocalDate today) {
+        return new PaymentInWeekPredicate(today, true);
     }
 }
@@ -1,18 +1,27 @@
 package duke.model.payment;
 
-import duke.commons.LogsCenter;
 import duke.exception.DukeException;
+import duke.model.TrigramIndex;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.collections.transformation.FilteredList;
+import javafx.collections.transformation.SortedList;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
 import java.util.function.Predicate;
-import java.util.logging.Logger;
 
 import static java.util.Objects.requireNonNull;
 
@@ -23,17 +32,19 @@ import static java.util.Objects.requireNonNull;
  *
  * Payments can be sorted according to their amounts, due or priorities,
  * where payments with higher amounts, priorities and closer due will be placed at prior.
+ * The payments are kept in all three orders as they are added and removed, so changing the sorting
+ * criteria only picks another order. Payments that sort equally keep the order they were added in.
  *
  * Time scope of payments can be altered such that it can choose to only shows payments
  * overdue, coming in current week, coming in current month or in all time.
+ * The payments in a time scope are looked up as a range of an index by due date.
  *
  * Payments can be searched by keyword. Those containing keyword in their
- * description, receiver, or tag will be found out.
+ * description, receiver, or tag will be found out, through a {@code PaymentSearchIndex},
+ * and shown with the best matches first.
  */
 public class PaymentList {
 
-    private static final Logger logger = LogsCenter.getLogger(PaymentList.class);
-
     private static final String ITEM_NAME = "payment";
 
     private static final SortingCriteria DEFAULT_SORTING_CRITERIA = SortingCriteria.TIME;
@@ -41,20 +52,59 @@ public class PaymentList {
     public static final Predicate<Payment> PREDICATE_SHOW_ALL_PAYMENTS = unused -> true;
 
     /**
-     * The list containing all the payments.
+     * The order in which the payments were added, used to break ties between payments that sort equally.
+     */
+    private final Map<Payment, Long> sequenceNumbers = new IdentityHashMap<>();
+
+    private long nextSequenceNumber;
+
+    /**
+     * All the payments, in the order of each sorting criteria.
      */
-    private ObservableList<Payment> internalList;
+    private final Map<SortingCriteria, NavigableSet<Payment>> orderings = new EnumMap<>(SortingCriteria.class);
+
+    /**
+     * The payments within the time scope, in the order of the sorting criteria.
+     */
+    private ObservableList<Payment> scopedList;
+
+    /**
+     * The range of due dates of the time scope, or null if every payment is within it.
+     */
+    private PaymentDueRangePredicate dueRange;
 
     /**
      * The filtered list containing sorted and filtered payments.
      */
     private FilteredList<Payment> filteredList;
 
+    /**
+     * The filtered list, ranked by how well payments match while a search is shown,
+     * and otherwise in the order of the filtered list.
+     */
+    private SortedList<Payment> rankedList;
+
     /**
      * The external list containing sorted and filtered payments.
      */
     private ObservableList<Payment> unmodifiableFilteredList;
 
+    /**
+     * The index of the payments in the internal list used by searches.
+     */
+    private final PaymentSearchIndex searchIndex = new PaymentSearchIndex();
+
+    /**
+     * The descriptions and receivers of the payments in the internal list, so that they can be found
+     * by similar text.
+     */
+    private final TrigramIndex<Payment> fuzzyIndex = new TrigramIndex<>();
+
+    /**
+     * The payments in the internal list by due date, each date's in the order they were added.
+     */
+    private final NavigableMap<LocalDate, List<Payment>> dueIndex = new TreeMap<>();
+
     /**
      * Sorting criteria used to sort payments.
      */
@@ -74,9 +124,15 @@ public class PaymentList {
      * Sorting criteria of payments.
      */
     public enum SortingCriteria {
-        TIME,
-        AMOUNT,
-        PRIORITY;
+        TIME(Comparator.comparing(Payment::getDue)),
+        AMOUNT(Comparator.comparing(Payment::getAmount).reversed()), // payments with higher amounts will be prior.
+        PRIORITY(Comparator.comparing(Payment::getNumeratedPriority).reversed());
+
+        private final Comparator<Payment> comparator;
+
+        SortingCriteria(Comparator<Payment> comparator) {
+            this.comparator = comparator;
+        }
     }
 
     /**
@@ -90,17 +146,24 @@ public class PaymentList {
     public PaymentList(List<Payment> payments) {
         requireNonNull(payments);
 
-        // Fills the internal list
-        this.internalList = FXCollections.observableList(payments);
+        // Fills the orderings
+        for (SortingCriteria criteria : SortingCriteria.values()) {
+            orderings.put(criteria, new TreeSet<>(getOrder(criteria)));
+        }
         sortingCriteria = DEFAULT_SORTING_CRITERIA; // TIME
-        sortInternalList();
+        for (Payment payment : payments) {
+            index(payment);
+        }
 
         // Fills the filtered list
-        filteredList = new FilteredList<Payment>(internalList);
+        scopedList = FXCollections.observableArrayList();
+        updateScopedList();
+        filteredList = new FilteredList<Payment>(scopedList);
         filteredList.setPredicate(PREDICATE_SHOW_ALL_PAYMENTS);
+        rankedList = new SortedList<Payment>(filteredList);
 
         // Fills the external unmodifiable list
-        unmodifiableFilteredList = FXCollections.unmodifiableObservableList(filteredList);
+        unmodifiableFilteredList = FXCollections.unmodifiableObservableList(rankedList);
 
         // Sets the fetcher of Ui
         predicateIndicator.setValue(PREDICATE_SHOW_ALL_PAYMENTS);
@@ -115,25 +178,77 @@ public class PaymentList {
     }
 
     /**
-     * Adds a payment to the list.
-     * The list will then be sorted.
+     * Adds a payment to the list, in its place in each order.
+     * A payment already in the list is not added again.
      */
     public void add(Payment payment) {
         requireNonNull(payment);
 
-        internalList.add(payment);
-        sortInternalList();
+        if (sequenceNumbers.containsKey(payment)) {
+            return;
+        }
+        index(payment);
+        SearchKeywordPredicate searchPredicate = getSearchPredicate();
+        if (searchPredicate != null) {
+            // Ranked before it is inserted, so that the filtered list tests it against its own rank.
+            searchPredicate.setRank(payment, searchIndex.rank(payment, searchPredicate.getKeyword()));
+        }
+        insertScoped(payment);
+        refreshDueRange();
     }
 
     /**
      * Removes the payment at {@code index} from the list.
      * The payment must exist in the list.
-     * The list will then be sorted.
      */
     public void remove(int index) throws DukeException {
         Payment target = getPayment(index);
-        internalList.remove(target);
-        sortInternalList();
+        remove(target);
+    }
+
+    /**
+     * Removes {@code payment} from the list, if it is there.
+     *
+     * @param payment the payment to remove, matched by identity
+     */
+    public void remove(Payment payment) {
+        requireNonNull(payment);
+
+        if (!sequenceNumbers.containsKey(payment)) {
+            return;
+        }
+        int scopedIndex = Collections.binarySearch(scopedList, payment, getOrder(sortingCriteria));
+        if (scopedIndex >= 0) {
+            scopedList.remove(scopedIndex);
+        }
+        for (NavigableSet<Payment> ordering : orderings.values()) {
+            ordering.remove(payment);
+        }
+        sequenceNumbers.remove(payment);
+        searchIndex.remove(payment);
+        fuzzyIndex.remove(payment);
+        List<Payment> paymentsDue = dueIndex.get(payment.getDue());
+        if (paymentsDue != null && paymentsDue.removeIf(p -> p == payment) && paymentsDue.isEmpty()) {
+            dueIndex.remove(payment.getDue());
+        }
+        SearchKeywordPredicate searchPredicate = getSearchPredicate();
+        if (searchPredicate != null) {
+            searchPredicate.setRank(payment, 0);
+        }
+        refreshDueRange();
+    }
+
+    /**
+     * Replaces {@code payment} in the list with {@code editedPayment}.
+     *
+     * @param payment       the payment to replace, matched by identity
+     * @param editedPayment the payment to replace it with
+     */
+    public void replace(Payment payment, Payment editedPayment) {
+        requireNonNull(editedPayment);
+
+        remove(payment);
+        add(editedPayment);
     }
 
     /**
@@ -147,7 +262,7 @@ public class PaymentList {
     public Payment getPayment(int index) throws DukeException {
         Payment target;
         try {
-            target = filteredList.get(index - 1);
+            target = rankedList.get(index - 1);
         } catch (IndexOutOfBoundsException e) {
             throw new DukeException(String.format(DukeException.MESSAGE_NO_ITEM_AT_INDEX, ITEM_NAME, index));
         }
@@ -157,7 +272,6 @@ public class PaymentList {
     /**
      * Replaces the payment at {@code index} in the list with {@code editedPayment}.
      * The {@code index} must be a valid index in scope.
-     * The list will then be sorted.
      */
     public void setPayment(int index, Payment editedPayment) throws DukeException {
         requireNonNull(editedPayment);
@@ -179,7 +293,8 @@ public class PaymentList {
 
         try {
             this.sortingCriteria = SortingCriteria.valueOf(sortingCriteria.toUpperCase());
-            sortInternalList();
+            updateScopedList();
+            refreshDueRange();
         } catch (IllegalArgumentException e) {
             throw new DukeException(String.format(DukeException.MESSAGE_SORT_CRITERIA_INVALID, sortingCriteria));
         }
@@ -190,6 +305,8 @@ public class PaymentList {
 
     /**
      * Sets the time predicate of the filtered list.
+     * The payments due within the range of an overdue, week or month predicate are looked up in the due date
+     * index, rather than tested one by one.
      * Updates the {@code predicateIndicator}.
      *
      * @param predicate the time predicate to be set
@@ -202,7 +319,16 @@ public class PaymentList {
                 || (predicate instanceof PaymentInMonthPredicate)
                 || (predicate.equals(PREDICATE_SHOW_ALL_PAYMENTS));
 
-        filteredList.setPredicate(predicate);
+        if (predicate instanceof PaymentDueRangePredicate) {
+            dueRange = (PaymentDueRangePredicate) predicate;
+            updateScopedList();
+            filteredList.setPredicate(PREDICATE_SHOW_ALL_PAYMENTS);
+        } else {
+            dueRange = null;
+            updateScopedList();
+            filteredList.setPredicate(predicate);
+        }
+        rankedList.setComparator(null);
 
         // Updates the fetcher of Ui
         predicateIndicator.setValue(predicate);
@@ -210,17 +336,35 @@ public class PaymentList {
 
     /**
      * Sets the search predicate to the filtered list by specifying the {@code keyword}.
+     * The payments found are looked up in the search index and shown with the best matches first.
      *
      * @param keyword the keyword to search
      */
     public void setSearchPredicate(String keyword) {
         requireNonNull(keyword);
 
-        SearchKeywordPredicate searchPredicate = new SearchKeywordPredicate(keyword);
+        SearchKeywordPredicate searchPredicate = new SearchKeywordPredicate(keyword, searchIndex.search(keyword));
+        if (dueRange != null) {
+            // Searches look through every payment, whatever the time scope.
+            dueRange = null;
+            updateScopedList();
+        }
         filteredList.setPredicate(searchPredicate);
+        rankedList.setComparator(searchPredicate.getRankComparator());
         predicateIndicator.set(searchPredicate);
     }
 
+    /**
+     * Returns the search predicate being shown, whose ranks are kept up to date as payments are added
+     * and removed, or null if the list is not showing a search.
+     */
+    private SearchKeywordPredicate getSearchPredicate() {
+        if (predicateIndicator.get() instanceof SearchKeywordPredicate) {
+            return (SearchKeywordPredicate) predicateIndicator.get();
+        }
+        return null;
+    }
+
     /**
      * Returns the filtered list as an unmodifiable {@code ObservableList}.
      *
@@ -251,37 +395,87 @@ public class PaymentList {
     }
     
     /**
-     * Returns all internal payments as a list.
+     * Returns all internal payments as a list, in order of due.
      * This is for storage ONLY!
      *
-     * @return a list containing all internal payments.
+     * @return a new list containing all internal payments.
      */
     public List<Payment> getInternalList() {
-        return internalList;
+        return new ArrayList<>(orderings.get(SortingCriteria.TIME));
     }
 
     /**
-     * Sorts the internal list with the current {@code sortingCriteria}.
+     * Returns the index of the descriptions and receivers of the payments by runs of characters.
+     *
+     * @return the index.
      */
-    private void sortInternalList() {
-        switch (sortingCriteria) {
-        case TIME:
-            internalList.sort(Comparator.comparing(Payment::getDue));
-            break;
+    public TrigramIndex<Payment> getFuzzyIndex() {
+        return fuzzyIndex;
+    }
 
-        case AMOUNT:
-            internalList.sort(Comparator.comparing(Payment::getAmount));
-            FXCollections.reverse(internalList); // payments with higher amounts will be prior.
-            break;
+    private void index(Payment payment) {
+        sequenceNumbers.put(payment, nextSequenceNumber++);
+        for (NavigableSet<Payment> ordering : orderings.values()) {
+            ordering.add(payment);
+        }
+        searchIndex.add(payment);
+        fuzzyIndex.add(payment, payment.getDescription());
+        fuzzyIndex.add(payment, payment.getReceiver());
+        dueIndex.computeIfAbsent(payment.getDue(), due -> new ArrayList<>(1)).add(payment);
+    }
 
-        case PRIORITY:
-            internalList.sort(Comparator.comparing(Payment::getNumeratedPriority));
-            FXCollections.reverse(internalList); // payments with higher priority will be prior.
-            break;
+    /**
+     * Returns the order of the payments by {@code criteria}, where payments that sort equally are in the
+     * order they were added.
+     */
+    private Comparator<Payment> getOrder(SortingCriteria criteria) {
+        return criteria.comparator.thenComparingLong(sequenceNumbers::get);
+    }
 
-        default:
-            logger.warning("Unknown errors occur on sortingCriteria");
-            break;
+    /**
+     * Works out the range of the time scope again if the day has changed since it was worked out, and refills
+     * the scoped list with it. Changes are applied to the scoped list under the old range before this is
+     * called, so that indices the user has seen still refer to the same payments.
+     */
+    private void refreshDueRange() {
+        if (dueRange == null || !dueRange.isStale()) {
+            return;
+        }
+        dueRange = dueRange.withToday(LocalDate.now());
+        updateScopedList();
+        predicateIndicator.setValue(dueRange);
+    }
+
+    /**
+     * Refills the scoped list with the payments within the time scope.
+     * Every payment is copied from the ordering of the sorting criteria, and the payments of a range of due
+     * dates are looked up in the due date index, which already holds them in order of due.
+     */
+    private void updateScopedList() {
+        List<Payment> scoped;
+        if (dueRange == null) {
+            scoped = new ArrayList<>(orderings.get(sortingCriteria));
+        } else {
+            scoped = new ArrayList<>();
+            for (List<Payment> paymentsDue : dueRange.slice(dueIndex).values()) {
+                scoped.addAll(paymentsDue);
+            }
+            if (sortingCriteria != SortingCriteria.TIME) {
+                scoped.sort(getOrder(sortingCriteria));
+            }
+        }
+        scopedList.setAll(scoped);
+    }
+
+    /**
+     * Inserts {@code payment} into the scoped list at its sorted position if it is within the time scope.
+     * Payments that sort equally keep the order they were added in.
+     */
+    private void insertScoped(Payment payment) {
+        if (dueRange != null && !dueRange.test(payment)) {
+            return;
         }
+        int insertionPoint = Collections.binarySearch(scopedList, payment, getOrder(sortingCriteria));
+        scopedList.add(-(insertionPoint + 1), payment);
     }
 }
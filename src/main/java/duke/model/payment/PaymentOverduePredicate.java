@@ -1,26 +1,37 @@
 package duke.model.payment;
 
 import java.time.LocalDate;
-import java.util.function.Predicate;
-
-import static java.util.Objects.requireNonNull;
 
 /**
- * Tests whether a {@code payment} is overdue.
+ * Tests whether a {@code payment} is overdue, that is, due before today.
  */
-public class PaymentOverduePredicate implements Predicate<Payment> {
+public class PaymentOverduePredicate extends PaymentDueRangePredicate {
 
     public PaymentOverduePredicate() {
-
+        this(LocalDate.now(), true);
     }
 
-    @Override
-    public boolean test(Payment payment) {
-        requireNonNull(payment);
+    /**
+     * Creates a predicate for payments due before {@code today} only.
+     *
+     * @param today the date taken as today
+     */
+    PaymentOverduePredicate(LocalDate today) {
+        this(today, false);
+    }
 
-        LocalDate due = payment.getDue();
-        LocalDate now = LocalDate.now();
+    /**
+     * Creates a predicate for payments due before {@code today}.
+     *
+     * @param today            the date taken as today
+     * @param isFollowingToday whether the range is worked out again once {@code today} has passed
+     */
+    PaymentOverduePredicate(LocalDate today, boolean isFollowingToday) {
+        super(today, isFollowingToday, null, today);
+    }
 
-        return due.isBefore(now);
+    @Override
+    PaymentOverduePredicate withToday(LocalDate today) {
+        return new PaymentOverduePredicate(today, true);
     }
 }
@@ -0,0 +1,192 @@
+package duke.model.payment;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * An index of the descriptions, receivers and tags of the payments in a {@code PaymentList}, so that
+ * keyword searches need not check every payment.
+ *
+ * The fields of each payment are kept in lower case, along with their words. Every run of
+ * {@value #GRAM_LENGTH} characters in a field maps to the payments containing it, so that a keyword of at
+ * least that length is only checked against the payments containing all of its runs. Shorter keywords are
+ * checked against the lower case fields of every payment.
+ *
+ * Matches are ranked by quality: a whole word beats the start of a word, which beats any other part of a
+ * word, and a match in the description beats one in the receiver, which beats one in the tag.
+ */
+public class PaymentSearchIndex {
+    static final int GRAM_LENGTH = 3;
+
+    private static final String WORD_SEPARATOR = "[^\\p{Alnum}]+";
+    private static final int WHOLE_WORD_QUALITY = 3;
+    private static final int WORD_START_QUALITY = 2;
+    private static final int PART_OF_WORD_QUALITY = 1;
+
+    /**
+     * The description, receiver and tag of a payment in lower case, in that order, along with their words.
+     */
+    private static class Entry {
+        private final String[] fields;
+        private final List<List<String>> fieldWords = new ArrayList<>();
+
+        Entry(Payment payment) {
+            fields = new String[] {normalize(payment.getDescription()), normalize(payment.getReceiver()),
+                normalize(payment.getTag())};
+            for (String field : fields) {
+                List<String> words = new ArrayList<>();
+                for (String word : field.split(WORD_SEPARATOR)) {
+                    if (!word.isEmpty()) {
+                        words.add(word);
+                    }
+                }
+                fieldWords.add(words);
+            }
+        }
+
+        /**
+         * Returns how well {@code keyword} matches, or 0 if no field contains it.
+         * Matches in earlier fields are ranked higher.
+         */
+        int getRank(String keyword) {
+            int rank = 0;
+            for (int i = 0; i < fields.length; i++) {
+                if (!fields[i].contains(keyword)) {
+                    continue;
+                }
+                int quality = PART_OF_WORD_QUALITY;
+                for (String word : fieldWords.get(i)) {
+                    if (word.equals(keyword)) {
+                        quality = WHOLE_WORD_QUALITY;
+                        break;
+                    }
+                    if (word.startsWith(keyword)) {
+                        quality = WORD_START_QUALITY;
+                    }
+                }
+                rank = Math.max(rank, quality * fields.length + (fields.length - i));
+            }
+            return rank;
+        }
+    }
+
+    private final Map<Payment, Entry> entries = new IdentityHashMap<>();
+    private final Map<String, Set<Payment>> grams = new HashMap<>();
+
+    private static String normalize(String text) {
+        return (text == null) ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Indexes {@code payment}.
+     *
+     * @param payment the payment added to the list.
+     */
+    void add(Payment payment) {
+        Entry entry = new Entry(payment);
+        if (entries.put(payment, entry) != null) {
+            return;
+        }
+        for (String field : entry.fields) {
+            for (int i = 0; i + GRAM_LENGTH <= field.length(); i++) {
+                grams.computeIfAbsent(field.substring(i, i + GRAM_LENGTH),
+                    gram -> Collections.newSetFromMap(new IdentityHashMap<>())).add(payment);
+            }
+        }
+    }
+
+    /**
+     * Stops indexing {@code payment}. Runs of characters left without payments are dropped.
+     *
+     * @param payment the payment removed from the list.
+     */
+    void remove(Payment payment) {
+        Entry entry = entries.remove(payment);
+        if (entry == null) {
+            return;
+        }
+        for (String field : entry.fields) {
+            for (int i = 0; i + GRAM_LENGTH <= field.length(); i++) {
+                String gram = field.substring(i, i + GRAM_LENGTH);
+                Set<Payment> payments = grams.get(gram);
+                if (payments != null && payments.remove(payment) && payments.isEmpty()) {
+                    grams.remove(gram);
+                }
+            }
+        }
+    }
+
+    void clear() {
+        entries.clear();
+        grams.clear();
+    }
+
+    /**
+     * Returns the payments whose description, receiver or tag contains {@code keyword}, ignoring case,
+     * along with how well they match.
+     *
+     * @param keyword the keyword to search for.
+     * @return a map of the matching payments, compared by identity, to their ranks. Higher ranks are better.
+     */
+    public Map<Payment, Integer> search(String keyword) {
+        requireNonNull(keyword);
+
+        String normalizedKeyword = normalize(keyword);
+        Map<Payment, Integer> ranks = new IdentityHashMap<>();
+        for (Payment payment : getCandidates(normalizedKeyword)) {
+            int rank = entries.get(payment).getRank(normalizedKeyword);
+            if (rank > 0) {
+                ranks.put(payment, rank);
+            }
+        }
+        return ranks;
+    }
+
+    /**
+     * Returns how well {@code keyword} matches one indexed payment, as {@link #search(String)} ranks it.
+     *
+     * @param payment a payment in the index.
+     * @param keyword the keyword to search for.
+     * @return the rank of the payment, or 0 if it does not match or is not indexed.
+     */
+    int rank(Payment payment, String keyword) {
+        Entry entry = entries.get(payment);
+        return (entry == null) ? 0 : entry.getRank(normalize(keyword));
+    }
+
+    /**
+     * Returns the payments that may contain {@code keyword}: those containing every run of characters in it,
+     * found by intersecting their sets smallest first, or every payment if it is too short to have runs.
+     */
+    private Set<Payment> getCandidates(String keyword) {
+        if (keyword.length() < GRAM_LENGTH) {
+            return entries.keySet();
+        }
+        List<Set<Payment>> gramPayments = new ArrayList<>();
+        for (int i = 0; i + GRAM_LENGTH <= keyword.length(); i++) {
+            Set<Payment> payments = grams.get(keyword.substring(i, i + GRAM_LENGTH));
+            if (payments == null) {
+                return Collections.emptySet();
+            }
+            gramPayments.add(payments);
+        }
+        gramPayments.sort(Comparator.comparingInt(Set::size));
+
+        Set<Payment> candidates = Collections.newSetFromMap(new IdentityHashMap<>());
+        candidates.addAll(gramPayments.get(0));
+        for (int i = 1; i < gramPayments.size() && !candidates.isEmpty(); i++) {
+            Set<Payment> payments = gramPayments.get(i);
+            candidates.removeIf(payment -> !payments.contains(payment));
+        }
+        return candidates;
+    }
+}
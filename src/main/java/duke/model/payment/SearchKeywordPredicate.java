@@ -1,5 +1,7 @@
 package duke.model.payment;
 
+import java.util.Comparator;
+import java.util.Map;
 import java.util.function.Predicate;
 
 import static java.util.Objects.requireNonNull;
@@ -7,11 +9,19 @@ import static java.util.Objects.requireNonNull;
 /**
  * Tests whether a {@code Payment}'s description, receiver or tag contains the keyword given.
  * Ignores the letter case.
+ *
+ * A predicate built from the results of a {@code PaymentSearchIndex} answers from those results,
+ * and can rank the payments found.
  */
 public class SearchKeywordPredicate implements Predicate<Payment> {
 
     private String keyword;
 
+    /**
+     * The payments found by the index and their ranks, or null if payments are checked one by one.
+     */
+    private Map<Payment, Integer> ranks;
+
     /**
      * Constructs an object of {@code SearchKeywordPredicate}
      * with the keyword set as the given {@code keyword}.
@@ -24,10 +34,62 @@ public class SearchKeywordPredicate implements Predicate<Payment> {
         this.keyword = keyword;
     }
 
+    /**
+     * Constructs an object of {@code SearchKeywordPredicate} that accepts only the payments
+     * found by searching for {@code keyword} in a {@code PaymentSearchIndex}.
+     *
+     * @param keyword the keyword used for searching
+     * @param ranks   the payments found and their ranks
+     */
+    SearchKeywordPredicate(String keyword, Map<Payment, Integer> ranks) {
+        this(keyword);
+        requireNonNull(ranks);
+
+        this.ranks = ranks;
+    }
+
+    public String getKeyword() {
+        return keyword;
+    }
+
+    /**
+     * Returns a comparator that places better matches first.
+     * Payments are compared by identity, so it only ranks payments found by the index.
+     *
+     * @return the comparator, or null if this predicate was not built from the index.
+     */
+    Comparator<Payment> getRankComparator() {
+        if (ranks == null) {
+            return null;
+        }
+        return Comparator.comparing((Payment payment) -> ranks.getOrDefault(payment, 0)).reversed();
+    }
+
+    /**
+     * Sets the rank of one payment, so that the results stay up to date as payments are added or removed
+     * without searching the index again. Does nothing if this predicate was not built from the index.
+     *
+     * @param payment the payment added or removed.
+     * @param rank    its rank, or 0 if it is not a result.
+     */
+    void setRank(Payment payment, int rank) {
+        if (ranks == null) {
+            return;
+        }
+        if (rank > 0) {
+            ranks.put(payment, rank);
+        } else {
+            ranks.remove(payment);
+        }
+    }
+
     @Override
     public boolean test(Payment payment) {
         requireNonNull(payment);
 
+        if (ranks != null) {
+            return ranks.containsKey(payment);
+        }
         return payment.containsKeyword(keyword);
     }
 }
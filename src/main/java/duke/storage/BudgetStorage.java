@@ -10,6 +10,7 @@ import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Scanner;
 
@@ -35,10 +36,21 @@ public class BudgetStorage {
      * @throws DukeException if unable to save the file successfully
      */
     public void saveBudget(Budget budget) throws DukeException {
+        StorageTransaction.commitWrites(DEFAULT_USER_DIRECTORY,
+                List.of(transaction -> saveBudget(budget, transaction)));
+    }
+
+    /**
+     * Writes the save file as part of {@code transaction}.
+     *
+     * @param budget      the budget to save.
+     * @param transaction the transaction to stage the save file in.
+     * @throws DukeException if unable to write the file successfully
+     */
+    public void saveBudget(Budget budget, StorageTransaction transaction) throws DukeException {
         try {
             Map<String, BigDecimal> budgetCategory = budget.getBudgetCategory();
-            BUDGET_FILE.createNewFile();
-            try (FileWriter fileWriter = new FileWriter(BUDGET_FILE)) {
+            try (FileWriter fileWriter = new FileWriter(transaction.stageReplace(BUDGET_FILE))) {
                 fileWriter.write(budget.getMonthlyBudgetString());
                 fileWriter.write(STORAGE_DELIMITER);
                 if (!budgetCategory.isEmpty()) {
@@ -9,6 +9,7 @@ import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Scanner;
 import java.util.logging.Logger;
@@ -38,10 +39,21 @@ public class BudgetViewStorage {
      * @throws DukeException if unable to save the file successfully
      */
     public void saveBudgetView(BudgetView budgetView) throws DukeException {
+        StorageTransaction.commitWrites(DEFAULT_USER_DIRECTORY,
+                List.of(transaction -> saveBudgetView(budgetView, transaction)));
+    }
+
+    /**
+     * Writes the save file as part of {@code transaction}.
+     *
+     * @param budgetView  the budget view to save.
+     * @param transaction the transaction to stage the save file in.
+     * @throws DukeException if unable to write the file successfully
+     */
+    public void saveBudgetView(BudgetView budgetView, StorageTransaction transaction) throws DukeException {
         try {
             Map<Integer, String> budgetViewCategory = budgetView.getBudgetViewCategory();
-            BUDGETVIEW_FILE.createNewFile();
-            try (FileWriter fileWriter = new FileWriter(BUDGETVIEW_FILE)) {
+            try (FileWriter fileWriter = new FileWriter(transaction.stageReplace(BUDGETVIEW_FILE))) {
                 if (!budgetViewCategory.isEmpty()) {
                     for (Integer view : budgetViewCategory.keySet()) {
                         String category = budgetViewCategory.get(view);
@@ -0,0 +1,266 @@
+package duke.storage;
+
+import duke.exception.DukeException;
+import duke.model.Expense;
+import duke.model.Money;
+import duke.model.Recurrence;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Reads and writes expenses in a versioned, column-oriented binary format.
+ *
+ * <p>A file holds, in order and big-endian:
+ * <ol>
+ *     <li>a header: the magic number, the format version and the number of expenses;</li>
+ *     <li>the tag, description and recurrence dictionaries, each a count followed by
+ *     length-prefixed UTF-8 strings;</li>
+ *     <li>one column per field: amounts in cents as longs, times in minutes since the epoch as longs,
+ *     tag and description dictionary indices as ints, the tentative and recurring flags as one
+ *     byte per expense, and recurrence dictionary indices as ints;</li>
+ *     <li>a CRC32 of everything before it.</li>
+ * </ol>
+ * Times are stored to the minute, the same precision as the text format.
+ * Version 1 files have no recurrences, and are read with every recurring expense recurring monthly.
+ */
+class ExpenseListBinaryFormat {
+    /**
+     * The bytes {@code DKEX}.
+     */
+    static final int MAGIC = 0x444B4558;
+    static final int VERSION = 2;
+    private static final int VERSION_WITHOUT_RECURRENCES = 1;
+
+    private static final int NO_STRING = -1;
+    private static final int TENTATIVE_FLAG = 1;
+    private static final int RECURRING_FLAG = 1 << 1;
+    private static final int SECONDS_PER_MINUTE = 60;
+    private static final int CHECKSUM_LENGTH = Long.BYTES;
+    private static final int BYTES_PER_EXPENSE = 2 * Long.BYTES + 3 * Integer.BYTES + Byte.BYTES;
+    private static final int BYTES_PER_EXPENSE_WITHOUT_RECURRENCES = BYTES_PER_EXPENSE - Integer.BYTES;
+
+    private ExpenseListBinaryFormat() {
+    }
+
+    /**
+     * Writes the expenses to {@code file}. The file is written in place, so callers stage it in a
+     * {@code StorageTransaction} or write it next to the real file and move it.
+     *
+     * @param file     the file to write.
+     * @param expenses the expenses to write.
+     * @throws IOException if the file could not be written, or an amount is too large to be stored in cents.
+     */
+    static void write(File file, List<Expense> expenses) throws IOException {
+        Dictionary tags = new Dictionary();
+        Dictionary descriptions = new Dictionary();
+        Dictionary recurrences = new Dictionary();
+        int[] tagIds = new int[expenses.size()];
+        int[] descriptionIds = new int[expenses.size()];
+        int[] recurrenceIds = new int[expenses.size()];
+        for (int i = 0; i < expenses.size(); i++) {
+            Recurrence recurrence = expenses.get(i).getRecurrence();
+            tagIds[i] = tags.indexOf(expenses.get(i).getTag());
+            descriptionIds[i] = descriptions.indexOf(expenses.get(i).getDescription());
+            recurrenceIds[i] = recurrences.indexOf((recurrence == null) ? null : recurrence.toString());
+        }
+
+        try (FileOutputStream fileOutput = new FileOutputStream(file)) {
+            CRC32 checksum = new CRC32();
+            DataOutputStream output = new DataOutputStream(
+                    new CheckedOutputStream(new BufferedOutputStream(fileOutput), checksum));
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeInt(expenses.size());
+            tags.writeTo(output);
+            descriptions.writeTo(output);
+            recurrences.writeTo(output);
+            for (Expense expense : expenses) {
+                output.writeLong(expense.getAmountCents());
+            }
+            for (Expense expense : expenses) {
+                output.writeLong(expense.getTime().toEpochSecond(ZoneOffset.UTC) / SECONDS_PER_MINUTE);
+            }
+            for (int tagId : tagIds) {
+                output.writeInt(tagId);
+            }
+            for (int descriptionId : descriptionIds) {
+                output.writeInt(descriptionId);
+            }
+            for (Expense expense : expenses) {
+                output.writeByte((expense.isTentative() ? TENTATIVE_FLAG : 0)
+                        | (expense.isRecurring() ? RECURRING_FLAG : 0));
+            }
+            for (int recurrenceId : recurrenceIds) {
+                output.writeInt(recurrenceId);
+            }
+            output.writeLong(checksum.getValue());
+            output.flush();
+        }
+    }
+
+    /**
+     * Reads every expense from {@code file}, after checking its header and checksum.
+     *
+     * @param file the file to read.
+     * @return the expenses, in the order they were written.
+     * @throws IOException   if the file could not be read, or is not a valid file of a supported version.
+     * @throws DukeException if an expense read from the file is not valid.
+     */
+    static List<Expense> read(File file) throws IOException, DukeException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException(file.getPath() + " is too large to be loaded.");
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.limit() < 3 * Integer.BYTES + CHECKSUM_LENGTH || buffer.getInt(0) != MAGIC) {
+            throw new IOException(file.getPath() + " is not an expense file.");
+        }
+        int version = buffer.getInt(Integer.BYTES);
+        if (version != VERSION && version != VERSION_WITHOUT_RECURRENCES) {
+            throw new IOException(file.getPath() + " has unsupported version " + version);
+        }
+        boolean hasRecurrences = (version != VERSION_WITHOUT_RECURRENCES);
+        verifyChecksum(file, buffer);
+
+        try {
+            buffer.position(2 * Integer.BYTES);
+            int count = buffer.getInt();
+            String[] tags = readDictionary(buffer);
+            String[] descriptions = readDictionary(buffer);
+            String[] recurrenceNames = hasRecurrences ? readDictionary(buffer) : new String[0];
+            Recurrence[] recurrences = new Recurrence[recurrenceNames.length];
+            for (int i = 0; i < recurrences.length; i++) {
+                recurrences[i] = Recurrence.parse(recurrenceNames[i]);
+            }
+            int bytesPerExpense = hasRecurrences ? BYTES_PER_EXPENSE : BYTES_PER_EXPENSE_WITHOUT_RECURRENCES;
+            int amountsStart = buffer.position();
+            if (count < 0 || amountsStart + (long) count * bytesPerExpense != buffer.limit() - CHECKSUM_LENGTH) {
+                throw new IOException(file.getPath() + " has columns of the wrong length.");
+            }
+            int timesStart = amountsStart + count * Long.BYTES;
+            int tagIdsStart = timesStart + count * Long.BYTES;
+            int descriptionIdsStart = tagIdsStart + count * Integer.BYTES;
+            int flagsStart = descriptionIdsStart + count * Integer.BYTES;
+            int recurrenceIdsStart = flagsStart + count * Byte.BYTES;
+
+            List<Expense> expenses = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                long minutes = buffer.getLong(timesStart + i * Long.BYTES);
+                int descriptionId = buffer.getInt(descriptionIdsStart + i * Integer.BYTES);
+                byte flags = buffer.get(flagsStart + i);
+                Expense.Builder builder = new Expense.Builder()
+                        .setAmount(Money.ofCents(buffer.getLong(amountsStart + i * Long.BYTES)))
+                        .setTime(LocalDateTime.ofEpochSecond(minutes * SECONDS_PER_MINUTE, 0, ZoneOffset.UTC))
+                        .setTag(lookUp(tags, buffer.getInt(tagIdsStart + i * Integer.BYTES)))
+                        .setDescription(lookUp(descriptions, descriptionId))
+                        .setTentative((flags & TENTATIVE_FLAG) != 0)
+                        .setRecurring((flags & RECURRING_FLAG) != 0);
+                if (hasRecurrences) {
+                    int recurrenceId = buffer.getInt(recurrenceIdsStart + i * Integer.BYTES);
+                    if (recurrenceId != NO_STRING) {
+                        builder.setRecurrence(recurrences[recurrenceId]);
+                    }
+                }
+                expenses.add(builder.build());
+            }
+            return expenses;
+        } catch (IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new IOException(file.getPath() + " is corrupted.", e);
+        }
+    }
+
+    /**
+     * Converts an expense file in the text format into the binary format. The text file is left untouched,
+     * and the binary file only appears once it is completely written.
+     *
+     * @param textFile   the file holding the expenses as storage strings.
+     * @param binaryFile the file to write the expenses to.
+     * @return the number of expenses converted.
+     * @throws IOException   if either file could not be accessed.
+     * @throws DukeException if the text file holds an invalid expense.
+     */
+    static int convert(File textFile, File binaryFile) throws IOException, DukeException {
+        List<Expense> expenses = new ArrayList<>();
+        new ExpenseRecordReader().readFile(textFile, expenses);
+        File tempFile = new File(binaryFile.getPath() + ".tmp");
+        write(tempFile, expenses);
+        try (FileChannel channel = FileChannel.open(tempFile.toPath(), StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        Files.move(tempFile.toPath(), binaryFile.toPath(),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return expenses.size();
+    }
+
+    private static void verifyChecksum(File file, ByteBuffer buffer) throws IOException {
+        int checksumStart = buffer.limit() - CHECKSUM_LENGTH;
+        CRC32 checksum = new CRC32();
+        ByteBuffer content = buffer.duplicate();
+        content.position(0).limit(checksumStart);
+        checksum.update(content);
+        if (checksum.getValue() != buffer.getLong(checksumStart)) {
+            throw new IOException(file.getPath() + " does not match its checksum.");
+        }
+    }
+
+    private static String[] readDictionary(ByteBuffer buffer) {
+        String[] strings = new String[buffer.getInt()];
+        for (int i = 0; i < strings.length; i++) {
+            byte[] bytes = new byte[buffer.getInt()];
+            buffer.get(bytes);
+            strings[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return strings;
+    }
+
+    private static String lookUp(String[] dictionary, int index) {
+        return index == NO_STRING ? null : dictionary[index];
+    }
+
+    /**
+     * Assigns each distinct string an index, in the order they are first seen.
+     */
+    private static class Dictionary {
+        private final Map<String, Integer> indices = new HashMap<>();
+        private final List<String> strings = new ArrayList<>();
+
+        int indexOf(String string) {
+            if (string == null) {
+                return NO_STRING;
+            }
+            return indices.computeIfAbsent(string, key -> {
+                strings.add(key);
+                return strings.size() - 1;
+            });
+        }
+
+        void writeTo(DataOutputStream output) throws IOException {
+            output.writeInt(strings.size());
+            for (String string : strings) {
+                byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+                output.writeInt(bytes.length);
+                output.write(bytes);
+            }
+        }
+    }
+}
@@ -0,0 +1,458 @@
+package duke.storage;
+
+import duke.commons.LogsCenter;
+import duke.exception.DukeException;
+import duke.model.Expense;
+import duke.model.ListChange;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Logger;
+
+/**
+ * Persists an {@code ExpenseList} as a snapshot file plus an append-only journal of mutations.
+ * Each save appends one record per mutation, and a background compaction folds the journal into a new
+ * snapshot once the journal grows past a size threshold.
+ *
+ * <p>Compaction never loses or repeats a record if the application stops half way, because the files
+ * are only ever changed in this order:
+ * <ol>
+ *     <li>the active journal is renamed to the compacting journal, and a new active journal is started;</li>
+ *     <li>the snapshot and the compacting journal are folded into a fully written compacted snapshot;</li>
+ *     <li>the compacting journal is deleted;</li>
+ *     <li>the compacted snapshot is renamed over the snapshot.</li>
+ * </ol>
+ * {@link #recover()} looks at which of these files exist to tell how far an interrupted compaction got.
+ */
+class ExpenseListJournal {
+
+    private static final Logger logger = LogsCenter.getLogger(ExpenseListJournal.class);
+
+    private static final String STORAGE_DELIMITER = "\n\n";
+    private static final String OP_FIELD_NAME = "op:";
+    private static final String OP_SEPARATOR = "\n";
+    private static final byte NEWLINE = '\n';
+    private static final byte[] STORAGE_DELIMITER_BYTES = STORAGE_DELIMITER.getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] OP_FIELD_NAME_BYTES = OP_FIELD_NAME.getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] OP_ADD = ListChange.Type.ADD.name().getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] OP_DELETE = ListChange.Type.DELETE.name().getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] OP_CLEAR = ListChange.Type.CLEAR.name().getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * The journal size, in bytes, past which it is folded into the snapshot.
+     */
+    private static final long DEFAULT_COMPACTION_THRESHOLD = 256 * 1024;
+
+    private final File snapshotFile;
+    private final File journalFile;
+    private final File compactingJournalFile;
+    private final File compactedSnapshotFile;
+    private final long compactionThreshold;
+
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "expense-journal-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private Future<?> compaction;
+
+    /**
+     * Constructs a journal that keeps its files next to {@code snapshotFile}.
+     *
+     * @param snapshotFile the snapshot file, in the same format as a fully rewritten expense file.
+     */
+    ExpenseListJournal(File snapshotFile) {
+        this(snapshotFile, DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    /**
+     * Constructs a journal that keeps its files next to {@code snapshotFile}.
+     *
+     * @param snapshotFile        the snapshot file, in the same format as a fully rewritten expense file.
+     * @param compactionThreshold the journal size in bytes past which the journal is compacted.
+     */
+    ExpenseListJournal(File snapshotFile, long compactionThreshold) {
+        this.snapshotFile = snapshotFile;
+        this.journalFile = new File(snapshotFile.getPath() + ".journal");
+        this.compactingJournalFile = new File(snapshotFile.getPath() + ".journal.compacting");
+        this.compactedSnapshotFile = new File(snapshotFile.getPath() + ".compacted");
+        this.compactionThreshold = compactionThreshold;
+    }
+
+    /**
+     * Appends the given changes to the journal in a single write, then starts a compaction if the
+     * journal has grown past the threshold.
+     *
+     * @param changes the changes drained from the {@code ExpenseList}.
+     * @throws IOException if the journal could not be written to.
+     */
+    void append(List<ListChange<Expense>> changes) throws IOException {
+        StorageTransaction transaction = new StorageTransaction(snapshotFile.getAbsoluteFile().getParentFile());
+        append(changes, transaction);
+        transaction.commit();
+    }
+
+    /**
+     * Stages the given changes to be appended to the journal when {@code transaction} commits, and checks
+     * whether the journal needs to be compacted once it has.
+     *
+     * @param changes     the changes drained from the {@code ExpenseList}.
+     * @param transaction the transaction to stage the append in.
+     * @throws IOException if the changes could not be staged.
+     */
+    synchronized void append(List<ListChange<Expense>> changes, StorageTransaction transaction) throws IOException {
+        if (changes.isEmpty()) {
+            return;
+        }
+        StringBuilder records = new StringBuilder();
+        for (ListChange<Expense> change : changes) {
+            records.append(OP_FIELD_NAME).append(change.getType());
+            if (change.getStorageString() != null) {
+                records.append(OP_SEPARATOR).append(change.getStorageString());
+            }
+            records.append(STORAGE_DELIMITER);
+        }
+        try (Writer writer = new OutputStreamWriter(
+                new FileOutputStream(transaction.stageAppend(journalFile), true), StandardCharsets.UTF_8)) {
+            writer.write(records.toString());
+        }
+        transaction.afterCommit(this::compactIfNeeded);
+    }
+
+    private synchronized void compactIfNeeded() {
+        if (journalFile.length() < compactionThreshold || isCompacting()) {
+            return;
+        }
+        try {
+            startCompaction();
+        } catch (IOException e) {
+            logger.warning("Failed to start compacting the journal of " + snapshotFile.getPath());
+        }
+    }
+
+    /**
+     * Replaces the snapshot with the given list and discards the journal.
+     *
+     * @param expenses the expenses to write as the new snapshot.
+     * @throws IOException if the snapshot could not be written.
+     */
+    void rewrite(List<Expense> expenses) throws IOException {
+        StorageTransaction transaction = new StorageTransaction(snapshotFile.getAbsoluteFile().getParentFile());
+        rewrite(expenses, transaction);
+        transaction.commit();
+    }
+
+    /**
+     * Stages a new snapshot holding the given list, and an empty journal, so that both replace the current
+     * ones together when {@code transaction} commits.
+     *
+     * @param expenses    the expenses to write as the new snapshot.
+     * @param transaction the transaction to stage the files in.
+     * @throws IOException if the snapshot could not be staged.
+     */
+    synchronized void rewrite(List<Expense> expenses, StorageTransaction transaction) throws IOException {
+        awaitCompaction();
+        if (compactingJournalFile.exists()) {
+            fold(); // a failed compaction must be finished, so that its journal is not replayed later.
+        }
+        List<String> storageStrings = new ArrayList<>();
+        for (Expense expense : expenses) {
+            storageStrings.add(expense.toStorageString());
+        }
+        writeRecords(transaction.stageReplace(snapshotFile), storageStrings);
+        writeRecords(transaction.stageReplace(journalFile), new ArrayList<>());
+    }
+
+    /**
+     * Completes or rolls back an interrupted compaction, then returns the expenses in the snapshot with the
+     * journal replayed on top of it. The files are memory-mapped and their records are matched and parsed
+     * where they lie in the mapped bytes.
+     *
+     * @return all live expenses.
+     * @throws IOException   if the files could not be read.
+     * @throws DukeException if a live record does not describe a valid expense.
+     */
+    synchronized List<Expense> load() throws IOException, DukeException {
+        awaitCompaction();
+        recover();
+        Map<ByteBuffer, Integer> liveRecords = new LinkedHashMap<>();
+        readSnapshot(map(snapshotFile), liveRecords);
+        replay(compactingJournalFile, map(compactingJournalFile), liveRecords);
+        replay(journalFile, map(journalFile), liveRecords);
+        List<Expense> expenses = new ArrayList<>();
+        ExpenseRecordReader reader = new ExpenseRecordReader();
+        for (Map.Entry<ByteBuffer, Integer> entry : liveRecords.entrySet()) {
+            for (int i = 0; i < entry.getValue(); i++) {
+                reader.readRecords(entry.getKey().duplicate(), expenses);
+            }
+        }
+        return expenses;
+    }
+
+    /**
+     * Renames the snapshot and every journal that exists to the same name ending in {@code .corrupted},
+     * so that files which could not be loaded are kept rather than overwritten.
+     *
+     * @throws IOException if a file could not be renamed.
+     */
+    synchronized void moveAside() throws IOException {
+        awaitCompaction();
+        for (File file : List.of(snapshotFile, journalFile, compactingJournalFile, compactedSnapshotFile)) {
+            if (file.exists()) {
+                Files.move(file.toPath(), new File(file.getPath() + ".corrupted").toPath(),
+                        StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+    }
+
+    /**
+     * Brings the files back to a consistent state after the application stopped during a compaction.
+     * If the compacting journal still exists, the compacted snapshot may be incomplete, so it is dropped
+     * and the compacting journal is replayed as usual. Otherwise a compacted snapshot is complete and only
+     * needs to be moved into place.
+     */
+    private void recover() throws IOException {
+        if (compactingJournalFile.exists()) {
+            Files.deleteIfExists(compactedSnapshotFile.toPath());
+        } else if (compactedSnapshotFile.exists()) {
+            logger.info("Finishing an interrupted compaction of " + snapshotFile.getPath());
+            moveCompactedSnapshot();
+        }
+    }
+
+    private boolean isCompacting() {
+        return compaction != null && !compaction.isDone();
+    }
+
+    private void startCompaction() throws IOException {
+        // If a previous compaction failed, its compacting journal is retried before the active one is frozen.
+        if (!compactingJournalFile.exists()) {
+            Files.move(journalFile.toPath(), compactingJournalFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+        }
+        compaction = compactor.submit(this::compact);
+    }
+
+    /**
+     * Folds the compacting journal into the snapshot. Runs on the compactor thread, and only touches the
+     * snapshot, compacted snapshot and compacting journal, never the active journal.
+     */
+    private void compact() {
+        try {
+            fold();
+            logger.info("Compacted the journal of " + snapshotFile.getPath());
+        } catch (IOException e) {
+            logger.warning("Failed to compact the journal of " + snapshotFile.getPath() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Writes the snapshot with the compacting journal folded in to the compacted snapshot, then moves it
+     * over the snapshot. The files are read onto the heap rather than mapped, because a file that is still
+     * mapped cannot be replaced or deleted on every platform.
+     */
+    private void fold() throws IOException {
+        Map<ByteBuffer, Integer> liveRecords = new LinkedHashMap<>();
+        readSnapshot(read(snapshotFile), liveRecords);
+        replay(compactingJournalFile, read(compactingJournalFile), liveRecords);
+        writeSnapshot(compactedSnapshotFile, liveRecords);
+        Files.delete(compactingJournalFile.toPath());
+        moveCompactedSnapshot();
+    }
+
+    private void awaitCompaction() {
+        if (compaction == null) {
+            return;
+        }
+        try {
+            compaction.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            logger.warning("Compaction failed: " + e.getCause());
+        }
+    }
+
+    private void moveCompactedSnapshot() throws IOException {
+        Files.move(compactedSnapshotFile.toPath(), snapshotFile.toPath(),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Maps {@code file} into memory, or returns an empty buffer if it does not exist.
+     */
+    private static ByteBuffer map(File file) throws IOException {
+        if (!file.exists()) {
+            return ByteBuffer.allocate(0);
+        }
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException(file.getPath() + " is too large to be loaded.");
+            }
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+    }
+
+    /**
+     * Reads {@code file} into a heap buffer, or returns an empty buffer if it does not exist.
+     */
+    private static ByteBuffer read(File file) throws IOException {
+        if (!file.exists()) {
+            return ByteBuffer.allocate(0);
+        }
+        return ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+    }
+
+    /**
+     * Splits {@code buffer} into its records, which are separated by blank lines, as slices of it.
+     */
+    private static List<ByteBuffer> splitRecords(ByteBuffer buffer) {
+        List<ByteBuffer> records = new ArrayList<>();
+        int limit = buffer.limit();
+        int position = 0;
+        while (position < limit) {
+            if (buffer.get(position) == NEWLINE) {
+                position++;
+                continue;
+            }
+            int end = position;
+            while (end < limit && !(buffer.get(end) == NEWLINE && end + 1 < limit && buffer.get(end + 1) == NEWLINE)) {
+                end++;
+            }
+            int recordEnd = (end == limit && buffer.get(end - 1) == NEWLINE) ? end - 1 : end;
+            records.add(buffer.duplicate().position(position).limit(recordEnd).slice());
+            position = end;
+        }
+        return records;
+    }
+
+    /**
+     * Counts every record of a snapshot. A count is kept per distinct record so that a journal delete
+     * only has to decrement it, and two identical expenses are still both kept. Records are compared by
+     * their bytes, so they are only decoded to be matched if they were written in an older format.
+     */
+    private static void readSnapshot(ByteBuffer snapshot, Map<ByteBuffer, Integer> liveRecords) {
+        for (ByteBuffer record : splitRecords(snapshot)) {
+            liveRecords.merge(record, 1, Integer::sum);
+        }
+    }
+
+    private static void replay(File file, ByteBuffer journal, Map<ByteBuffer, Integer> liveRecords) {
+        for (ByteBuffer record : splitRecords(journal)) {
+            if (!startsWith(record, 0, OP_FIELD_NAME_BYTES)) {
+                logger.warning("Skipping a malformed journal record in " + file.getPath());
+                continue;
+            }
+            int opEnd = OP_FIELD_NAME_BYTES.length;
+            while (opEnd < record.limit() && record.get(opEnd) != NEWLINE) {
+                opEnd++;
+            }
+            int itemStart = Math.min(opEnd + 1, record.limit());
+            ByteBuffer item = record.duplicate().position(itemStart).slice();
+            applyRecord(record, OP_FIELD_NAME_BYTES.length, opEnd, item, liveRecords);
+        }
+    }
+
+    private static void applyRecord(ByteBuffer record, int opStart, int opEnd, ByteBuffer item,
+                                    Map<ByteBuffer, Integer> liveRecords) {
+        if (opEnd - opStart == OP_ADD.length && startsWith(record, opStart, OP_ADD)) {
+            liveRecords.merge(item, 1, Integer::sum);
+        } else if (opEnd - opStart == OP_DELETE.length && startsWith(record, opStart, OP_DELETE)) {
+            ByteBuffer deleted = liveRecords.containsKey(item) ? item : findInOlderFormat(item, liveRecords);
+            if (deleted != null) {
+                liveRecords.computeIfPresent(deleted, (key, count) -> count > 1 ? count - 1 : null);
+            }
+        } else if (opEnd - opStart == OP_CLEAR.length && startsWith(record, opStart, OP_CLEAR)) {
+            liveRecords.clear();
+        } else {
+            logger.warning("Skipping a journal record with unknown operation "
+                    + StandardCharsets.UTF_8.decode(record.duplicate().position(opStart).limit(opEnd)));
+        }
+    }
+
+    /**
+     * Returns the live record that describes the expense in {@code item} in an older format, or null if
+     * there is none. Deletes are written in the current format, so a record written before it changed,
+     * such as a recurring expense without its recurrence, only matches once it is decoded and written again.
+     * This decodes the live records, but is only needed once for each such record.
+     */
+    private static ByteBuffer findInOlderFormat(ByteBuffer item, Map<ByteBuffer, Integer> liveRecords) {
+        ExpenseRecordReader reader = new ExpenseRecordReader();
+        for (ByteBuffer record : liveRecords.keySet()) {
+            List<Expense> expenses = new ArrayList<>(1);
+            try {
+                reader.readRecords(record.duplicate(), expenses);
+            } catch (DukeException e) {
+                continue;
+            }
+            if (expenses.size() == 1 && item.equals(
+                    ByteBuffer.wrap(expenses.get(0).toStorageString().getBytes(StandardCharsets.UTF_8)))) {
+                return record;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns whether the bytes of {@code buffer} from {@code start} begin with {@code prefix}.
+     */
+    private static boolean startsWith(ByteBuffer buffer, int start, byte[] prefix) {
+        if (buffer.limit() - start < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (buffer.get(start + i) != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void writeSnapshot(File file, Map<ByteBuffer, Integer> liveRecords) throws IOException {
+        try (FileOutputStream outputStream = new FileOutputStream(file)) {
+            FileChannel channel = outputStream.getChannel();
+            for (Map.Entry<ByteBuffer, Integer> entry : liveRecords.entrySet()) {
+                for (int i = 0; i < entry.getValue(); i++) {
+                    ByteBuffer record = entry.getKey().duplicate();
+                    while (record.hasRemaining()) {
+                        channel.write(record);
+                    }
+                    channel.write(ByteBuffer.wrap(STORAGE_DELIMITER_BYTES));
+                }
+            }
+            outputStream.getFD().sync();
+        }
+    }
+
+    private static void writeRecords(File file, List<String> storageStrings) throws IOException {
+        try (FileOutputStream outputStream = new FileOutputStream(file)) {
+            writeRecords(outputStream, storageStrings);
+        }
+    }
+
+    private static void writeRecords(FileOutputStream outputStream, List<String> storageStrings) throws IOException {
+        Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+        for (String storageString : storageStrings) {
+            writer.write(storageString);
+            writer.write(STORAGE_DELIMITER);
+        }
+        writer.flush();
+    }
+}
@@ -7,5 +7,14 @@ public interface ExpenseListStorage {
 
     public void saveExpenseList(ExpenseList expenseList) throws DukeException;
 
+    /**
+     * Takes a snapshot of {@code expenseList} to be saved later, possibly from another thread.
+     * Must be called on the thread that mutates the list.
+     *
+     * @param expenseList the list to save.
+     * @return the write of the snapshot.
+     */
+    public PendingWrite prepareSaveExpenseList(ExpenseList expenseList);
+
     public ExpenseList loadExpenseList() throws DukeException;
 }
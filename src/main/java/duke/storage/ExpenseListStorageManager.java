@@ -1,58 +1,387 @@
 package duke.storage;
 
+import duke.commons.LogsCenter;
 import duke.exception.DukeException;
 import duke.model.Expense;
+import duke.model.ExpenseHistory;
 import duke.model.ExpenseList;
+import duke.model.ListChange;
 
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
-import java.nio.file.Path;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Scanner;
+import java.util.Set;
+import java.util.logging.Logger;
 
 public class ExpenseListStorageManager implements ExpenseListStorage {
 
+    private static final Logger logger = LogsCenter.getLogger(ExpenseListStorageManager.class);
+
     private static final File DEFAULT_USER_DIRECTORY = new File("data" + File.separator + "duke");
-    private static final File EXPENSES_FILE = new File(DEFAULT_USER_DIRECTORY, "expenses.txt");
 
+    private static String STORAGE_DELIMITER = "\n\n";
+
+    /**
+     * How an {@code ExpenseList} is written to disk.
+     */
+    public enum Mode {
+        /**
+         * Every save rewrites the whole file.
+         */
+        REWRITE,
+        /**
+         * Every save appends the mutations since the last save to a journal,
+         * which is folded back into the file in the background.
+         */
+        JOURNAL,
+        /**
+         * Every save rewrites {@code expenses.bin} in the binary columnar format.
+         * An existing {@code expenses.txt} is converted on the first load and kept as it is.
+         */
+        BINARY,
+        /**
+         * Expenses are kept in one segment file per month under {@code expenses/}, and every save
+         * rewrites only the months in which expenses were added or removed.
+         * An existing {@code expenses.txt} is split into segments on the first load and kept as it is.
+         */
+        SEGMENTED
+    }
 
+    private final File userDirectory;
+    private final File expensesFile;
+    private final File expensesBinaryFile;
+    private final File expensesSegmentDirectory;
+    private final Mode mode;
+    private final ExpenseListJournal journal;
+    private final ExpenseSegmentStore segmentStore;
+    private final boolean isHistoryLazy;
 
-    private static String STORAGE_DELIMITER = "\n\n";
+    /**
+     * Whether changes drained for the journal may have been lost by a failed save, in which case the next save
+     * rewrites the snapshot instead of appending to the journal. Set from the thread that writes the saves.
+     */
+    private volatile boolean isJournalStale = false;
 
     public ExpenseListStorageManager() {
-        DEFAULT_USER_DIRECTORY.mkdirs();
+        this(Mode.REWRITE);
+    }
+
+    /**
+     * Constructs an {@code ExpenseListStorageManager} that saves in the given mode.
+     *
+     * @param mode how the expenses are written on each save.
+     */
+    public ExpenseListStorageManager(Mode mode) {
+        this(mode, false);
+    }
+
+    /**
+     * Constructs an {@code ExpenseListStorageManager} that saves in the given mode.
+     * With {@code isHistoryLazy} in {@code SEGMENTED} mode, only the expenses of the current and previous
+     * year are read on load, and older ones are read once the list needs them. Such a list opens on the
+     * current year rather than the whole list.
+     *
+     * @param mode          how the expenses are written on each save.
+     * @param isHistoryLazy whether to leave older segments unread on load.
+     */
+    public ExpenseListStorageManager(Mode mode, boolean isHistoryLazy) {
+        this(DEFAULT_USER_DIRECTORY, mode, isHistoryLazy);
+    }
+
+    ExpenseListStorageManager(File userDirectory, Mode mode, boolean isHistoryLazy) {
+        userDirectory.mkdirs();
+        this.userDirectory = userDirectory;
+        this.expensesFile = new File(userDirectory, "expenses.txt");
+        this.expensesBinaryFile = new File(userDirectory, "expenses.bin");
+        this.expensesSegmentDirectory = new File(userDirectory, "expenses");
+        this.mode = mode;
+        this.isHistoryLazy = isHistoryLazy && mode == Mode.SEGMENTED;
+        this.journal = (mode == Mode.JOURNAL) ? new ExpenseListJournal(expensesFile) : null;
+        this.segmentStore = (mode == Mode.SEGMENTED) ? new ExpenseSegmentStore(expensesSegmentDirectory) : null;
+        if (mode == Mode.SEGMENTED) {
+            expensesSegmentDirectory.mkdirs();
+        }
     }
 
     @Override
     public void saveExpenseList(ExpenseList expenseList) throws DukeException {
-        try {
-            EXPENSES_FILE.createNewFile();
-            try (FileWriter fileWriter = new FileWriter(EXPENSES_FILE)) {
-                for (Expense expense : expenseList.getInternalList()) {
-                    fileWriter.write(expense.toStorageString());
-                    fileWriter.write(STORAGE_DELIMITER);
+        StorageTransaction.commitWrites(userDirectory, List.of(prepareSaveExpenseList(expenseList)));
+    }
+
+    @Override
+    public PendingWrite prepareSaveExpenseList(ExpenseList expenseList) {
+        if (mode == Mode.JOURNAL && expenseList.isTrackingChanges()) {
+            if (!isJournalStale) {
+                return new JournalAppend(expenseList.drainChanges());
+            }
+            // The changes of a failed append are gone, so the whole list is written instead.
+            isJournalStale = false;
+            expenseList.drainChanges();
+        }
+        if (mode == Mode.SEGMENTED && expenseList.isTrackingDirtyMonths()) {
+            Set<YearMonth> dirtyMonths = expenseList.drainDirtyMonths();
+            List<Expense> expenses = new ArrayList<>(expenseList.getInternalList());
+            return new SegmentSave(expenses, dirtyMonths);
+        }
+        // Any other list is rewritten, since its changes relative to the file are unknown.
+        List<Expense> expenses = new ArrayList<>(expenseList.getInternalList());
+        return transaction -> {
+            if (mode == Mode.JOURNAL) {
+                transaction.afterAbort(() -> isJournalStale = true);
+            }
+            try {
+                if (mode == Mode.SEGMENTED) {
+                    segmentStore.saveAll(expenses, transaction);
+                } else if (mode == Mode.JOURNAL) {
+                    journal.rewrite(expenses, transaction);
+                } else if (mode == Mode.BINARY) {
+                    ExpenseListBinaryFormat.write(transaction.stageReplace(expensesBinaryFile), expenses);
+                } else {
+                    writeText(transaction.stageReplace(expensesFile), expenses);
                 }
+            } catch (IOException e) {
+                throw new DukeException(String.format(DukeException.MESSAGE_SAVE_FILE_FAILED, saveFilePath()));
             }
-        } catch (IOException e) {
-            throw new DukeException(String.format(DukeException.MESSAGE_SAVE_FILE_FAILED, EXPENSES_FILE.getPath()));
+        };
+    }
+
+    static void writeText(File file, List<Expense> expenses) throws IOException {
+        try (FileWriter fileWriter = new FileWriter(file)) {
+            for (Expense expense : expenses) {
+                fileWriter.write(expense.toStorageString());
+                fileWriter.write(STORAGE_DELIMITER);
+            }
+        }
+    }
+
+    private String saveFilePath() {
+        if (mode == Mode.SEGMENTED) {
+            return expensesSegmentDirectory.getPath();
+        }
+        return (mode == Mode.BINARY ? expensesBinaryFile : expensesFile).getPath();
+    }
+
+    /**
+     * Rewrites the segments of the months that changed in a list loaded by this storage.
+     * Saves that have not been written yet are merged into one, rewriting the months of both.
+     */
+    private class SegmentSave implements PendingWrite {
+        private final List<Expense> expenses;
+        private final Set<YearMonth> dirtyMonths;
+
+        SegmentSave(List<Expense> expenses, Set<YearMonth> dirtyMonths) {
+            this.expenses = expenses;
+            this.dirtyMonths = dirtyMonths;
+        }
+
+        @Override
+        public void write(StorageTransaction transaction) throws DukeException {
+            try {
+                segmentStore.save(expenses, dirtyMonths, transaction);
+            } catch (IOException e) {
+                throw new DukeException(String.format(DukeException.MESSAGE_SAVE_FILE_FAILED, saveFilePath()));
+            }
+        }
+
+        @Override
+        public PendingWrite coalesce(PendingWrite earlier) {
+            if (earlier instanceof SegmentSave) {
+                Set<YearMonth> merged = new HashSet<>(((SegmentSave) earlier).dirtyMonths);
+                merged.addAll(dirtyMonths);
+                return new SegmentSave(expenses, merged);
+            }
+            return transaction -> {
+                earlier.write(transaction);
+                write(transaction);
+            };
+        }
+    }
+
+    /**
+     * Appends changes drained from a list loaded by this storage to the journal.
+     * Appends that have not been written yet are merged into one, keeping the changes in order.
+     */
+    private class JournalAppend implements PendingWrite {
+        private final List<ListChange<Expense>> changes;
+
+        JournalAppend(List<ListChange<Expense>> changes) {
+            this.changes = changes;
+        }
+
+        @Override
+        public void write(StorageTransaction transaction) throws DukeException {
+            transaction.afterAbort(() -> isJournalStale = true);
+            try {
+                journal.append(changes, transaction);
+            } catch (IOException e) {
+                throw new DukeException(String.format(DukeException.MESSAGE_SAVE_FILE_FAILED, expensesFile.getPath()));
+            }
+        }
+
+        @Override
+        public PendingWrite coalesce(PendingWrite earlier) {
+            if (earlier instanceof JournalAppend) {
+                List<ListChange<Expense>> merged = new ArrayList<>(((JournalAppend) earlier).changes);
+                merged.addAll(changes);
+                return new JournalAppend(merged);
+            }
+            return transaction -> {
+                earlier.write(transaction);
+                write(transaction);
+            };
         }
     }
 
     @Override
     public ExpenseList loadExpenseList() {
+        if (mode == Mode.JOURNAL) {
+            return loadFromJournal();
+        }
+        if (mode == Mode.BINARY) {
+            return loadFromBinary();
+        }
+        if (mode == Mode.SEGMENTED) {
+            return loadFromSegments();
+        }
         List<Expense> internalList = new ArrayList<Expense>();
         try {
-            EXPENSES_FILE.createNewFile();
-            try (Scanner fileReader = new Scanner(EXPENSES_FILE).useDelimiter(STORAGE_DELIMITER)) {
-                while (fileReader.hasNext()) {
-                    internalList.add(ExpenseList.itemFromStorageString(fileReader.next()));
-                }
-            }
+            expensesFile.createNewFile();
+            new ExpenseRecordReader().readFile(expensesFile, internalList);
         } catch (IOException | DukeException e) {
             return new ExpenseList(internalList);
         }
         return new ExpenseList(internalList);
     }
+
+    /**
+     * Loads the snapshot with the journal replayed on top of it.
+     * Files that cannot be read are moved aside rather than overwritten by the next compaction.
+     */
+    private ExpenseList loadFromJournal() {
+        List<Expense> internalList;
+        try {
+            expensesFile.createNewFile();
+            internalList = journal.load();
+        } catch (IOException | DukeException e) {
+            logger.warning("Failed to load " + expensesFile.getPath() + " and its journal: " + e.getMessage());
+            try {
+                journal.moveAside();
+            } catch (IOException moveException) {
+                logger.warning("Failed to move aside " + expensesFile.getPath() + " and its journal");
+            }
+            internalList = new ArrayList<Expense>();
+        }
+        ExpenseList expenseList = new ExpenseList(internalList);
+        expenseList.trackChanges();
+        return expenseList;
+    }
+
+    /**
+     * Loads {@code expenses.bin}, converting {@code expenses.txt} into it first if it does not exist yet.
+     * A file that fails its checks is moved aside rather than overwritten by the next save.
+     */
+    private ExpenseList loadFromBinary() {
+        try {
+            if (!expensesBinaryFile.exists() && expensesFile.exists()) {
+                int count = ExpenseListBinaryFormat.convert(expensesFile, expensesBinaryFile);
+                logger.info("Converted " + count + " expenses from " + expensesFile.getPath());
+            }
+            if (!expensesBinaryFile.exists()) {
+                return new ExpenseList(new ArrayList<Expense>());
+            }
+            return new ExpenseList(ExpenseListBinaryFormat.read(expensesBinaryFile));
+        } catch (IOException | DukeException e) {
+            logger.warning("Failed to load " + expensesBinaryFile.getPath() + ": " + e.getMessage());
+            try {
+                if (expensesBinaryFile.exists()) {
+                    Files.move(expensesBinaryFile.toPath(),
+                            new File(expensesBinaryFile.getPath() + ".corrupted").toPath(),
+                            StandardCopyOption.REPLACE_EXISTING);
+                }
+            } catch (IOException moveException) {
+                logger.warning("Failed to move aside " + expensesBinaryFile.getPath());
+            }
+            return new ExpenseList(new ArrayList<Expense>());
+        }
+    }
+
+    /**
+     * Loads the monthly segments, splitting {@code expenses.txt} into them first if they do not exist yet.
+     * The loaded list records the months that change, so that only their segments are rewritten.
+     */
+    private ExpenseList loadFromSegments() {
+        try {
+            if (!segmentStore.exists() && expensesFile.exists()) {
+                List<Expense> expenses = new ArrayList<>();
+                new ExpenseRecordReader().readFile(expensesFile, expenses);
+                StorageTransaction.commitWrites(userDirectory,
+                        List.of(transaction -> saveAllSegments(expenses, transaction)));
+                logger.info("Split " + expenses.size() + " expenses from " + expensesFile.getPath());
+            }
+            if (!isHistoryLazy) {
+                ExpenseList expenseList = new ExpenseList(segmentStore.load());
+                expenseList.trackDirtyMonths();
+                return expenseList;
+            }
+            YearMonth horizon = YearMonth.now().minusYears(1).withMonth(1);
+            ExpenseList expenseList = new ExpenseList(segmentStore.loadSince(horizon));
+            expenseList.trackDirtyMonths();
+            // The list opens on this year, as the whole list would need the older segments at once.
+            expenseList.setViewScope("year", 0);
+            if (segmentStore.hasSegmentsBefore(horizon)) {
+                expenseList.setUnloadedHistory(new SegmentHistory(horizon));
+            }
+            return expenseList;
+        } catch (IOException | DukeException e) {
+            logger.warning("Failed to load " + expensesSegmentDirectory.getPath() + ": " + e.getMessage());
+            return new ExpenseList(new ArrayList<Expense>());
+        }
+    }
+
+    private void saveAllSegments(List<Expense> expenses, StorageTransaction transaction) throws DukeException {
+        try {
+            segmentStore.saveAll(expenses, transaction);
+        } catch (IOException e) {
+            throw new DukeException(String.format(DukeException.MESSAGE_SAVE_FILE_FAILED, saveFilePath()));
+        }
+    }
+
+    /**
+     * The segments left unread by a lazy load.
+     */
+    private class SegmentHistory implements ExpenseHistory {
+        private final YearMonth horizon;
+
+        SegmentHistory(YearMonth horizon) {
+            this.horizon = horizon;
+        }
+
+        @Override
+        public LocalDate getHorizon() {
+            return horizon.atDay(1);
+        }
+
+        @Override
+        public BigDecimal getTotalAmount() {
+            return segmentStore.getTotalAmountBefore(horizon);
+        }
+
+        @Override
+        public List<Expense> load() throws DukeException {
+            try {
+                return segmentStore.loadBefore(horizon);
+            } catch (IOException e) {
+                throw new DukeException(String.format(DukeException.MESSAGE_LOAD_FILE_FAILED,
+                        expensesSegmentDirectory.getPath()));
+            }
+        }
+    }
 }
@@ -0,0 +1,58 @@
+package duke.storage;
+
+import duke.exception.DukeException;
+import duke.model.Expense;
+import duke.model.Recurrence;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Builds {@code Expense} objects straight from the bytes of their storage strings.
+ * Reads the same fields as {@code Expense.Builder} does from a mapped storage string.
+ */
+class ExpenseRecordReader extends MappedRecordReader<Expense> {
+    private static final byte[] TAG = fieldName("tag");
+    private static final byte[] AMOUNT = fieldName("amount");
+    private static final byte[] DESCRIPTION = fieldName("description");
+    private static final byte[] TIME = fieldName("time");
+    private static final byte[] IS_TENTATIVE = fieldName("isTentative");
+    private static final byte[] IS_RECURRING = fieldName("isRecurring");
+    private static final byte[] RECURRENCE = fieldName("recurrence");
+
+    private Expense.Builder builder;
+
+    @Override
+    protected void beginRecord() {
+        builder = new Expense.Builder();
+    }
+
+    @Override
+    protected void readField(ByteBuffer buffer, int nameStart, int nameEnd, int valueStart, int valueEnd)
+            throws DukeException {
+        if (nameEquals(buffer, nameStart, nameEnd, TAG)) {
+            builder.setTag(decodeString(buffer, valueStart, valueEnd));
+        } else if (nameEquals(buffer, nameStart, nameEnd, AMOUNT)) {
+            try {
+                builder.setAmount(decodeAmount(buffer, valueStart, valueEnd));
+            } catch (NumberFormatException e) {
+                throw new DukeException(String.format(DukeException.MESSAGE_EXPENSE_AMOUNT_INVALID,
+                        decodeString(buffer, valueStart, valueEnd)));
+            }
+        } else if (nameEquals(buffer, nameStart, nameEnd, DESCRIPTION)) {
+            builder.setDescription(decodeString(buffer, valueStart, valueEnd));
+        } else if (nameEquals(buffer, nameStart, nameEnd, TIME)) {
+            builder.setTime(decodeTime(buffer, valueStart, valueEnd));
+        } else if (nameEquals(buffer, nameStart, nameEnd, IS_TENTATIVE)) {
+            builder.setTentative(decodeBoolean(buffer, valueStart, valueEnd));
+        } else if (nameEquals(buffer, nameStart, nameEnd, IS_RECURRING)) {
+            builder.setRecurring(decodeBoolean(buffer, valueStart, valueEnd));
+        } else if (nameEquals(buffer, nameStart, nameEnd, RECURRENCE)) {
+            builder.setRecurrence(Recurrence.parse(decodeString(buffer, valueStart, valueEnd)));
+        }
+    }
+
+    @Override
+    protected Expense endRecord() {
+        return builder.build();
+    }
+}
@@ -0,0 +1,314 @@
+package duke.storage;
+
+import duke.commons.LogsCenter;
+import duke.exception.DukeException;
+import duke.model.Expense;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.logging.Logger;
+
+/**
+ * Keeps expenses in one segment file per month, such as {@code 2019-11.seg}, listed by a manifest.
+ * Each segment is in the same format as {@code expenses.txt}, so a save only has to rewrite the months
+ * in which expenses were added or removed.
+ * The manifest also records each segment's total and number of recurring expenses, so that older
+ * segments can be left unread until they are needed.
+ */
+class ExpenseSegmentStore {
+    static final String MANIFEST_NAME = "manifest";
+    private static final String MANIFEST_HEADER = "segments 2";
+    private static final String MANIFEST_HEADER_WITHOUT_SUMMARIES = "segments 1";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final Logger logger = LogsCenter.getLogger(ExpenseSegmentStore.class);
+
+    /**
+     * What the manifest records about a segment.
+     */
+    private static class Segment {
+        private final int count;
+        private final int recurringCount;
+        private final BigDecimal total;
+
+        Segment(int count, int recurringCount, BigDecimal total) {
+            this.count = count;
+            this.recurringCount = recurringCount;
+            this.total = total;
+        }
+
+        static Segment of(List<Expense> expenses) {
+            int recurringCount = 0;
+            BigDecimal total = BigDecimal.ZERO;
+            for (Expense expense : expenses) {
+                if (expense.isRecurring()) {
+                    recurringCount++;
+                }
+                if (!expense.isTentative()) {
+                    total = total.add(expense.getAmount());
+                }
+            }
+            return new Segment(expenses.size(), recurringCount, total);
+        }
+    }
+
+    private final File directory;
+    private final File manifestFile;
+
+    /**
+     * The summary of each segment, as of the last load or committed save.
+     */
+    private SortedMap<YearMonth, Segment> segments = new TreeMap<>();
+
+    /**
+     * The months whose segments were left unread by the last load and have not been read since.
+     * Their expenses are not in the list being saved, so their segments are never rewritten or deleted.
+     */
+    private Set<YearMonth> unreadMonths = new HashSet<>();
+
+    ExpenseSegmentStore(File directory) {
+        this.directory = directory;
+        this.manifestFile = new File(directory, MANIFEST_NAME);
+    }
+
+    /**
+     * Returns whether the store has been written before.
+     *
+     * @return true if the manifest exists.
+     */
+    boolean exists() {
+        return manifestFile.exists();
+    }
+
+    File getSegmentFile(YearMonth month) {
+        return new File(directory, month + SEGMENT_SUFFIX);
+    }
+
+    /**
+     * Reads every segment listed by the manifest, in order of month.
+     *
+     * @return the expenses, or an empty list if the store has not been written before.
+     * @throws IOException   if the manifest or a segment cannot be read.
+     * @throws DukeException if a segment holds an invalid expense.
+     */
+    synchronized List<Expense> load() throws IOException, DukeException {
+        return loadSince(YearMonth.of(0, 1));
+    }
+
+    /**
+     * Reads the segments from {@code horizon} onwards, and the older segments that hold recurring expenses,
+     * in order of month. The other segments are left for {@link #loadBefore(YearMonth)}.
+     *
+     * @param horizon the first month to read all segments from.
+     * @return the expenses, or an empty list if the store has not been written before.
+     * @throws IOException   if the manifest or a segment cannot be read.
+     * @throws DukeException if a segment holds an invalid expense.
+     */
+    synchronized List<Expense> loadSince(YearMonth horizon) throws IOException, DukeException {
+        List<Expense> expenses = new ArrayList<>();
+        unreadMonths = new HashSet<>();
+        if (!exists()) {
+            segments = new TreeMap<>();
+            return expenses;
+        }
+        if (!readManifest()) {
+            // Older manifests have no summaries to leave segments unread with, so every segment is read.
+            SortedMap<YearMonth, Segment> summarized = new TreeMap<>();
+            for (Map.Entry<YearMonth, Segment> segment : segments.entrySet()) {
+                List<Expense> segmentExpenses = readSegment(segment.getKey(), segment.getValue());
+                summarized.put(segment.getKey(), Segment.of(segmentExpenses));
+                expenses.addAll(segmentExpenses);
+            }
+            segments = summarized;
+            return expenses;
+        }
+        for (Map.Entry<YearMonth, Segment> segment : segments.entrySet()) {
+            if (isDeferred(segment.getKey(), segment.getValue(), horizon)) {
+                unreadMonths.add(segment.getKey());
+            } else {
+                expenses.addAll(readSegment(segment.getKey(), segment.getValue()));
+            }
+        }
+        return expenses;
+    }
+
+    /**
+     * Reads the segments left unread by {@link #loadSince(YearMonth)}, in order of month.
+     *
+     * @param horizon the month given to {@link #loadSince(YearMonth)}.
+     * @return the expenses in those segments.
+     * @throws IOException   if a segment cannot be read.
+     * @throws DukeException if a segment holds an invalid expense.
+     */
+    synchronized List<Expense> loadBefore(YearMonth horizon) throws IOException, DukeException {
+        List<Expense> expenses = new ArrayList<>();
+        for (Map.Entry<YearMonth, Segment> segment : segments.headMap(horizon).entrySet()) {
+            if (isDeferred(segment.getKey(), segment.getValue(), horizon)) {
+                expenses.addAll(readSegment(segment.getKey(), segment.getValue()));
+            }
+        }
+        unreadMonths = new HashSet<>();
+        return expenses;
+    }
+
+    /**
+     * Returns whether {@link #loadSince(YearMonth)} left any segment unread.
+     *
+     * @param horizon the month given to {@link #loadSince(YearMonth)}.
+     * @return true if {@link #loadBefore(YearMonth)} has segments to read.
+     */
+    synchronized boolean hasSegmentsBefore(YearMonth horizon) {
+        return segments.headMap(horizon).entrySet().stream()
+                .anyMatch(segment -> isDeferred(segment.getKey(), segment.getValue(), horizon));
+    }
+
+    /**
+     * Returns the total amount of the non-tentative expenses in the segments left unread by
+     * {@link #loadSince(YearMonth)}, as recorded by the manifest.
+     *
+     * @param horizon the month given to {@link #loadSince(YearMonth)}.
+     * @return the total amount.
+     */
+    synchronized BigDecimal getTotalAmountBefore(YearMonth horizon) {
+        return segments.headMap(horizon).entrySet().stream()
+                .filter(segment -> isDeferred(segment.getKey(), segment.getValue(), horizon))
+                .map(segment -> segment.getValue().total)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    private static boolean isDeferred(YearMonth month, Segment segment, YearMonth horizon) {
+        return month.isBefore(horizon) && segment.recurringCount == 0;
+    }
+
+    private List<Expense> readSegment(YearMonth month, Segment segment) throws IOException, DukeException {
+        File segmentFile = getSegmentFile(month);
+        List<Expense> expenses = new ArrayList<>();
+        new ExpenseRecordReader().readFile(segmentFile, expenses);
+        if (expenses.size() != segment.count) {
+            throw new IOException(segmentFile.getPath() + " does not hold " + segment.count + " expenses");
+        }
+        return expenses;
+    }
+
+    /**
+     * Stages the segments of {@code dirtyMonths} and the manifest in {@code transaction}.
+     * Segments of months left without expenses are deleted. Segments that have not been read are kept as
+     * they are, since {@code expenses} does not hold their expenses.
+     *
+     * @param expenses    all the expenses.
+     * @param dirtyMonths the months whose segments may differ from {@code expenses}.
+     * @param transaction the transaction to stage the files in.
+     * @throws IOException if a segment cannot be staged.
+     */
+    synchronized void save(List<Expense> expenses, Set<YearMonth> dirtyMonths, StorageTransaction transaction)
+            throws IOException {
+        Map<YearMonth, List<Expense>> dirtySegments = new HashMap<>();
+        for (YearMonth month : dirtyMonths) {
+            if (unreadMonths.contains(month)) {
+                logger.warning("Not saving the expenses of " + month + ", as its segment could not be read");
+                continue;
+            }
+            dirtySegments.put(month, new ArrayList<>());
+        }
+        for (Expense expense : expenses) {
+            List<Expense> segment = dirtySegments.get(YearMonth.from(expense.getTime()));
+            if (segment != null) {
+                segment.add(expense);
+            }
+        }
+
+        SortedMap<YearMonth, Segment> saved = new TreeMap<>(segments);
+        for (Map.Entry<YearMonth, List<Expense>> segment : dirtySegments.entrySet()) {
+            File segmentFile = getSegmentFile(segment.getKey());
+            if (segment.getValue().isEmpty()) {
+                transaction.stageDelete(segmentFile);
+                saved.remove(segment.getKey());
+            } else {
+                ExpenseListStorageManager.writeText(transaction.stageReplace(segmentFile), segment.getValue());
+                saved.put(segment.getKey(), Segment.of(segment.getValue()));
+            }
+        }
+        writeManifest(transaction.stageReplace(manifestFile), saved);
+        transaction.afterCommit(() -> commitSegments(saved));
+    }
+
+    /**
+     * Stages every segment of {@code expenses}, and deletes the segments of all other months.
+     *
+     * @param expenses    all the expenses.
+     * @param transaction the transaction to stage the files in.
+     * @throws IOException if a segment cannot be staged.
+     */
+    synchronized void saveAll(List<Expense> expenses, StorageTransaction transaction) throws IOException {
+        Set<YearMonth> months = new HashSet<>(segments.keySet());
+        for (Expense expense : expenses) {
+            months.add(YearMonth.from(expense.getTime()));
+        }
+        save(expenses, months, transaction);
+    }
+
+    private synchronized void commitSegments(SortedMap<YearMonth, Segment> saved) {
+        segments = saved;
+    }
+
+    /**
+     * Reads the manifest into {@link #segments}. The segments of a manifest without summaries are given
+     * a placeholder summary holding only their size.
+     *
+     * @return whether the manifest has summaries.
+     */
+    private boolean readManifest() throws IOException {
+        List<String> lines = Files.readAllLines(manifestFile.toPath(), StandardCharsets.UTF_8);
+        String header = lines.isEmpty() ? "" : lines.get(0);
+        boolean hasSummaries = MANIFEST_HEADER.equals(header);
+        if (!hasSummaries && !MANIFEST_HEADER_WITHOUT_SUMMARIES.equals(header)) {
+            throw new IOException(manifestFile.getPath() + " is not a segment manifest");
+        }
+        SortedMap<YearMonth, Segment> loaded = new TreeMap<>();
+        for (String line : lines.subList(1, lines.size())) {
+            if (line.isEmpty()) {
+                continue;
+            }
+            String[] fields = line.split(" ");
+            try {
+                if (fields.length != (hasSummaries ? 4 : 2)) {
+                    throw new IOException("Invalid line in " + manifestFile.getPath() + ": " + line);
+                }
+                Segment segment = hasSummaries
+                        ? new Segment(Integer.parseInt(fields[1]), Integer.parseInt(fields[2]),
+                                new BigDecimal(fields[3]))
+                        : new Segment(Integer.parseInt(fields[1]), 0, BigDecimal.ZERO);
+                loaded.put(YearMonth.parse(fields[0]), segment);
+            } catch (DateTimeParseException | NumberFormatException e) {
+                throw new IOException("Invalid line in " + manifestFile.getPath() + ": " + line);
+            }
+        }
+        segments = loaded;
+        return hasSummaries;
+    }
+
+    private void writeManifest(File file, SortedMap<YearMonth, Segment> saved) throws IOException {
+        try (FileWriter fileWriter = new FileWriter(file, StandardCharsets.UTF_8)) {
+            fileWriter.write(MANIFEST_HEADER);
+            fileWriter.write("\n");
+            for (Map.Entry<YearMonth, Segment> segment : saved.entrySet()) {
+                Segment summary = segment.getValue();
+                fileWriter.write(segment.getKey() + " " + summary.count + " " + summary.recurringCount + " "
+                        + summary.total.toPlainString() + "\n");
+            }
+        }
+    }
+}
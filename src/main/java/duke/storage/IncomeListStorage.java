@@ -1,11 +1,23 @@
 package duke.storage;
 
 import duke.exception.DukeException;
+import duke.model.Income;
 import duke.model.IncomeList;
 
+import java.util.List;
+
 public interface IncomeListStorage {
 
     public void saveIncomeList(IncomeList incomeList) throws DukeException;
 
+    /**
+     * Writes the incomes of an income list as part of {@code transaction}.
+     *
+     * @param incomes     the incomes to save.
+     * @param transaction the transaction to stage the written file in.
+     * @throws DukeException if the incomes could not be written.
+     */
+    public void saveIncomeList(List<Income> incomes, StorageTransaction transaction) throws DukeException;
+
     public IncomeList loadIncomeList() throws DukeException;
 }
@@ -11,7 +11,6 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Scanner;
 import java.util.logging.Logger;
 
 import static java.util.Objects.requireNonNull;
@@ -46,9 +45,15 @@ public class IncomeListStorageManager implements IncomeListStorage {
      */
     @Override
     public void saveIncomeList(IncomeList incomeList) throws DukeException {
+        StorageTransaction.commitWrites(DEFAULT_USER_DIRECTORY,
+                List.of(transaction -> saveIncomeList(incomeList.getInternalList(), transaction)));
+    }
+
+    @Override
+    public void saveIncomeList(List<Income> incomes, StorageTransaction transaction) throws DukeException {
         try {
-            try (FileWriter fileWriter = new FileWriter(INCOME_FILE)) {
-                for (Income income : incomeList.getInternalList()) {
+            try (FileWriter fileWriter = new FileWriter(transaction.stageReplace(INCOME_FILE))) {
+                for (Income income : incomes) {
                     fileWriter.write(income.toStorageString());
                     fileWriter.write(STORAGE_DELIMITER);
                 }
@@ -60,7 +65,7 @@ public class IncomeListStorageManager implements IncomeListStorage {
     }
 
     /**
-     * Loads incomeList from income.txt.
+     * Loads incomeList from income.txt, which is memory-mapped and decoded in a single pass.
      * Creates a new incomeList if income.txt is corrupted.
      *
      * @return IncomeList(newList) new incomeList
@@ -70,11 +75,7 @@ public class IncomeListStorageManager implements IncomeListStorage {
     public IncomeList loadIncomeList() throws DukeException {
         List<Income> internalList = new ArrayList<Income>();
         try {
-            try (Scanner fileReader = new Scanner(INCOME_FILE).useDelimiter(STORAGE_DELIMITER)) {
-                while (fileReader.hasNext()) {
-                    internalList.add(IncomeList.itemFromStorageString(fileReader.next()));
-                }
-            }
+            new IncomeRecordReader().readFile(INCOME_FILE, internalList);
             requireNonNull(internalList);
             return new IncomeList(internalList);
         } catch (IOException | DukeException | IllegalStateException e) {
@@ -0,0 +1,54 @@
+package duke.storage;
+
+import duke.exception.DukeException;
+import duke.model.Income;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Builds {@code Income} objects straight from the bytes of their storage strings.
+ * Like {@code Income.Builder}, rejects a record that lacks either the amount or the description.
+ */
+class IncomeRecordReader extends MappedRecordReader<Income> {
+    private static final byte[] TAG = fieldName("tag");
+    private static final byte[] AMOUNT = fieldName("amount");
+    private static final byte[] DESCRIPTION = fieldName("description");
+
+    private Income.Builder builder;
+    private boolean hasAmount;
+    private boolean hasDescription;
+
+    @Override
+    protected void beginRecord() {
+        builder = new Income.Builder();
+        hasAmount = false;
+        hasDescription = false;
+    }
+
+    @Override
+    protected void readField(ByteBuffer buffer, int nameStart, int nameEnd, int valueStart, int valueEnd)
+            throws DukeException {
+        if (nameEquals(buffer, nameStart, nameEnd, TAG)) {
+            builder.setTag(decodeString(buffer, valueStart, valueEnd));
+        } else if (nameEquals(buffer, nameStart, nameEnd, AMOUNT)) {
+            try {
+                builder.setAmount(decodeAmount(buffer, valueStart, valueEnd));
+            } catch (NumberFormatException e) {
+                throw new DukeException(String.format(DukeException.MESSAGE_INCOME_AMOUNT_INVALID,
+                        decodeString(buffer, valueStart, valueEnd)));
+            }
+            hasAmount = true;
+        } else if (nameEquals(buffer, nameStart, nameEnd, DESCRIPTION)) {
+            builder.setDescription(decodeString(buffer, valueStart, valueEnd));
+            hasDescription = true;
+        }
+    }
+
+    @Override
+    protected Income endRecord() throws DukeException {
+        if (!hasAmount || !hasDescription) {
+            throw new DukeException(String.format(DukeException.MESSAGE_LOAD_FILE_FAILED, "income.txt"));
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,237 @@
+package duke.storage;
+
+import duke.exception.DukeException;
+import duke.logic.parser.Parser;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Reads items saved as storage strings, i.e. records separated by a blank line, each made of
+ * {@code name:value} fields on separate lines.
+ * The file is memory-mapped and the record and field boundaries are found in a single pass over the raw
+ * bytes, handing each field to the subclass as offsets into the buffer, so no intermediate strings or maps
+ * are created for the field names.
+ *
+ * @param <T> the item built from each record.
+ */
+abstract class MappedRecordReader<T> {
+    private static final byte FIELD_DELIMITER = '\n';
+    private static final byte NAME_SEPARATOR = ':';
+
+    /**
+     * Reused to decode string values, growing as needed.
+     */
+    private byte[] scratch = new byte[64];
+
+    /**
+     * Called before the fields of a new record are read.
+     */
+    protected abstract void beginRecord();
+
+    /**
+     * Called for each field of the current record. A field without a name separator has an empty value.
+     *
+     * @param buffer     the buffer holding the field.
+     * @param nameStart  the index of the first byte of the field name.
+     * @param nameEnd    the index after the last byte of the field name.
+     * @param valueStart the index of the first byte of the field value.
+     * @param valueEnd   the index after the last byte of the field value.
+     * @throws DukeException if the value is invalid.
+     */
+    protected abstract void readField(ByteBuffer buffer, int nameStart, int nameEnd, int valueStart, int valueEnd)
+            throws DukeException;
+
+    /**
+     * Called after all the fields of the current record are read.
+     *
+     * @return the item described by the record.
+     * @throws DukeException if the record does not describe a valid item.
+     */
+    protected abstract T endRecord() throws DukeException;
+
+    /**
+     * Reads every record of {@code file} into {@code items}. If a record is invalid, the items read before it
+     * are kept in {@code items}.
+     *
+     * @param file  the file to read.
+     * @param items the list to add the items to.
+     * @throws IOException   if the file cannot be read.
+     * @throws DukeException if a record does not describe a valid item.
+     */
+    void readFile(File file, List<T> items) throws IOException, DukeException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException(file.getPath() + " is too large to be loaded.");
+            }
+            readRecords(channel.map(FileChannel.MapMode.READ_ONLY, 0, size), items);
+        }
+    }
+
+    /**
+     * Reads every record between the position and limit of {@code buffer} into {@code items}.
+     *
+     * @param buffer the buffer to read.
+     * @param items  the list to add the items to.
+     * @throws DukeException if a record does not describe a valid item.
+     */
+    void readRecords(ByteBuffer buffer, List<T> items) throws DukeException {
+        int limit = buffer.limit();
+        int position = buffer.position();
+        while (position < limit) {
+            if (buffer.get(position) == FIELD_DELIMITER) {
+                position++; // blank lines between records
+                continue;
+            }
+            beginRecord();
+            while (true) {
+                int lineStart = position;
+                int separator = -1;
+                while (position < limit && buffer.get(position) != FIELD_DELIMITER) {
+                    if (separator < 0 && buffer.get(position) == NAME_SEPARATOR) {
+                        separator = position;
+                    }
+                    position++;
+                }
+                if (separator < 0) {
+                    readField(buffer, lineStart, position, position, position);
+                } else {
+                    readField(buffer, lineStart, separator, separator + 1, position);
+                }
+                position++;
+                if (position >= limit || buffer.get(position) == FIELD_DELIMITER) {
+                    break; // a blank line ends the record.
+                }
+            }
+            items.add(endRecord());
+        }
+    }
+
+    /**
+     * Returns whether the bytes in {@code [start, end)} spell out {@code name}.
+     */
+    protected static boolean nameEquals(ByteBuffer buffer, int start, int end, byte[] name) {
+        if (end - start != name.length) {
+            return false;
+        }
+        for (int i = 0; i < name.length; i++) {
+            if (buffer.get(start + i) != name[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Decodes the UTF-8 bytes in {@code [start, end)}.
+     */
+    protected String decodeString(ByteBuffer buffer, int start, int end) {
+        int length = end - start;
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        for (int i = 0; i < length; i++) {
+            scratch[i] = buffer.get(start + i);
+        }
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Decodes an amount written by {@code BigDecimal.toString()}. Plain decimals are converted directly from
+     * their digits; anything else, such as an exponent, goes through {@code new BigDecimal(String)}.
+     *
+     * @throws NumberFormatException if the bytes are not a valid amount.
+     */
+    protected BigDecimal decodeAmount(ByteBuffer buffer, int start, int end) {
+        int position = start;
+        boolean isNegative = position < end && buffer.get(position) == '-';
+        if (isNegative) {
+            position++;
+        }
+        long unscaled = 0;
+        int scale = -1;
+        int digits = 0;
+        for (; position < end; position++) {
+            byte b = buffer.get(position);
+            if (b == '.' && scale < 0) {
+                scale = 0;
+            } else if (b >= '0' && b <= '9' && digits < 18) {
+                unscaled = unscaled * 10 + (b - '0');
+                digits++;
+                if (scale >= 0) {
+                    scale++;
+                }
+            } else {
+                return new BigDecimal(decodeString(buffer, start, end));
+            }
+        }
+        if (digits == 0) {
+            return new BigDecimal(decodeString(buffer, start, end));
+        }
+        return BigDecimal.valueOf(isNegative ? -unscaled : unscaled, Math.max(scale, 0));
+    }
+
+    /**
+     * Decodes a time written by {@code Parser.formatTime}, i.e. {@code HH:mm dd/MM/yyyy}.
+     * Falls back to {@code Parser.parseTime} for anything that does not have that exact shape.
+     *
+     * @throws DukeException if the bytes are not a valid time.
+     */
+    protected LocalDateTime decodeTime(ByteBuffer buffer, int start, int end) throws DukeException {
+        if (end - start == 16 && buffer.get(start + 2) == ':' && buffer.get(start + 5) == ' '
+                && buffer.get(start + 8) == '/' && buffer.get(start + 11) == '/') {
+            int hour = decodeDigits(buffer, start, 2);
+            int minute = decodeDigits(buffer, start + 3, 2);
+            int day = decodeDigits(buffer, start + 6, 2);
+            int month = decodeDigits(buffer, start + 9, 2);
+            int year = decodeDigits(buffer, start + 12, 4);
+            if (hour >= 0 && minute >= 0 && day >= 0 && month >= 0 && year >= 0) {
+                try {
+                    return LocalDateTime.of(year, month, day, hour, minute);
+                } catch (DateTimeException e) {
+                    // not a valid date; let the parser report it.
+                }
+            }
+        }
+        return Parser.parseTime(decodeString(buffer, start, end));
+    }
+
+    /**
+     * Decodes a boolean the same way as {@code Boolean.parseBoolean}.
+     */
+    protected boolean decodeBoolean(ByteBuffer buffer, int start, int end) {
+        return end - start == 4
+                && (buffer.get(start) | 0x20) == 't'
+                && (buffer.get(start + 1) | 0x20) == 'r'
+                && (buffer.get(start + 2) | 0x20) == 'u'
+                && (buffer.get(start + 3) | 0x20) == 'e';
+    }
+
+    private static int decodeDigits(ByteBuffer buffer, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            byte b = buffer.get(i);
+            if (b < '0' || b > '9') {
+                return -1;
+            }
+            value = value * 10 + (b - '0');
+        }
+        return value;
+    }
+
+    /**
+     * Returns the ASCII bytes of a field name, for use with {@link #nameEquals}.
+     */
+    protected static byte[] fieldName(String name) {
+        return name.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,31 @@
+package duke.storage;
+
+import duke.exception.DukeException;
+
+/**
+ * A save that has been prepared from a snapshot of the model, and can be written later from any thread.
+ * The snapshot is taken when the write is prepared, so later changes to the model do not affect it.
+ */
+@FunctionalInterface
+public interface PendingWrite {
+
+    /**
+     * Writes the snapshot as part of {@code transaction}, so that it becomes visible when the transaction commits.
+     *
+     * @param transaction the transaction to stage the written files in.
+     * @throws DukeException if the snapshot could not be written.
+     */
+    void write(StorageTransaction transaction) throws DukeException;
+
+    /**
+     * Returns a write that has the effect of {@code earlier} followed by this write, for when {@code earlier}
+     * of the same store has not been written yet. By default this write holds the full state of the store,
+     * so {@code earlier} is simply dropped.
+     *
+     * @param earlier the write of the same store that was prepared before this one.
+     * @return a single write replacing both.
+     */
+    default PendingWrite coalesce(PendingWrite earlier) {
+        return this;
+    }
+}
@@ -8,5 +8,15 @@ public interface PlanAttributesStorage {
 
     public void savePlanAttributes(Map<String, String> attributes) throws DukeException;
 
+    /**
+     * Writes the attributes as part of {@code transaction}.
+     *
+     * @param attributes  the attributes to save.
+     * @param transaction the transaction to stage the written file in.
+     * @throws DukeException if the attributes could not be written.
+     */
+    public void savePlanAttributes(Map<String, String> attributes, StorageTransaction transaction)
+            throws DukeException;
+
     public Map<String, String> loadAttributes();
 }
@@ -7,6 +7,7 @@ import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Scanner;
 import java.util.logging.Logger;
@@ -26,9 +27,15 @@ public class PlanAttributesStorageManager implements PlanAttributesStorage {
 
     @Override
     public void savePlanAttributes(Map<String, String> attributes) throws DukeException {
+        StorageTransaction.commitWrites(DEFAULT_USER_DIRECTORY,
+                List.of(transaction -> savePlanAttributes(attributes, transaction)));
+    }
+
+    @Override
+    public void savePlanAttributes(Map<String, String> attributes, StorageTransaction transaction)
+            throws DukeException {
         try {
-            PLAN_ATTRIBUTES_FILE.createNewFile();
-            try (FileWriter fileWriter = new FileWriter(PLAN_ATTRIBUTES_FILE)) {
+            try (FileWriter fileWriter = new FileWriter(transaction.stageReplace(PLAN_ATTRIBUTES_FILE))) {
                 for (String key : attributes.keySet()) {
                     String value = attributes.get(key);
                     fileWriter.write(key + " " + value);
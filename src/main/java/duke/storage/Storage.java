@@ -53,4 +53,30 @@ public interface Storage {
      */
     void savePaymentList(PaymentList paymentList) throws IOException;
 
+    /**
+     * Starts collecting saves, so that they are written together, atomically, by {@link #commitTransaction()}.
+     * Transactions may be nested, in which case only the outermost commit writes.
+     */
+    void beginTransaction();
+
+    /**
+     * Writes every save made since {@link #beginTransaction()} in a single atomic commit.
+     *
+     * @throws DukeException if the saves could not be written, in which case none of them are.
+     */
+    void commitTransaction() throws DukeException;
+
+    /**
+     * Blocks until every save made so far has been written.
+     *
+     * @throws DukeException if a save made since the last flush could not be written.
+     */
+    void flush() throws DukeException;
+
+    /**
+     * Writes every pending save and releases the resources used for saving. No saves may be made afterwards.
+     *
+     * @throws DukeException if a save made since the last flush could not be written.
+     */
+    void shutdown() throws DukeException;
 }
@@ -5,11 +5,18 @@ import duke.exception.DukeException;
 import duke.model.Budget;
 import duke.model.BudgetView;
 import duke.model.ExpenseList;
+import duke.model.payment.Payment;
 import duke.model.payment.PaymentList;
 import duke.storage.payment.PaymentListStorage;
+import duke.model.Income;
 import duke.model.IncomeList;
 
+import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.logging.Logger;
@@ -21,6 +28,8 @@ public class StorageManager implements Storage {
 
     private static final Logger logger = LogsCenter.getLogger(StorageManager.class);
 
+    private static final File DEFAULT_USER_DIRECTORY = new File("data" + File.separator + "duke");
+
     private ExpenseListStorage expenseListStorage;
     private PlanAttributesStorage planAttributesStorage;
     private IncomeListStorage incomeListStorage;
@@ -28,9 +37,31 @@ public class StorageManager implements Storage {
     private BudgetViewStorage budgetViewStorage;
     private PaymentListStorage paymentListStorage;
 
+    /**
+     * How saves are carried out.
+     */
+    public enum Mode {
+        /**
+         * Every save is written before it returns.
+         */
+        SYNCHRONOUS,
+        /**
+         * Every save takes a snapshot and returns, leaving the write to a background thread.
+         * Saves to a store that has not been written yet are coalesced into one write.
+         */
+        WRITE_BEHIND
+    }
+
+    private final WriteBehindQueue writeBehindQueue;
 
     /**
-     * Constructs StorageManager with storage of each models.
+     * The saves made in the current transaction by store name, or null outside a transaction.
+     */
+    private Map<String, PendingWrite> transactionWrites;
+    private int transactionDepth = 0;
+
+    /**
+     * Constructs StorageManager with storage of each models, which saves synchronously.
      *
      * @param expenseListStorage    storage for expenseList
      * @param planAttributesStorage storage for PlanAttributes from PlanBot
@@ -45,6 +76,28 @@ public class StorageManager implements Storage {
                           BudgetStorage budgetStorage,
                           BudgetViewStorage budgetViewStorage,
                           PaymentListStorage paymentListStorage) {
+        this(expenseListStorage, planAttributesStorage, incomeListStorage, budgetStorage, budgetViewStorage,
+                paymentListStorage, Mode.SYNCHRONOUS);
+    }
+
+    /**
+     * Constructs StorageManager with storage of each models.
+     *
+     * @param expenseListStorage    storage for expenseList
+     * @param planAttributesStorage storage for PlanAttributes from PlanBot
+     * @param incomeListStorage     storage for IncomeList
+     * @param budgetStorage         storage for budget
+     * @param budgetViewStorage     storage for budgetView
+     * @param paymentListStorage    storage for paymentList
+     * @param mode                  whether saves are written synchronously or in the background
+     */
+    public StorageManager(ExpenseListStorage expenseListStorage,
+                          PlanAttributesStorage planAttributesStorage,
+                          IncomeListStorage incomeListStorage,
+                          BudgetStorage budgetStorage,
+                          BudgetViewStorage budgetViewStorage,
+                          PaymentListStorage paymentListStorage,
+                          Mode mode) {
 
         this.expenseListStorage = expenseListStorage;
         this.planAttributesStorage = planAttributesStorage;
@@ -52,66 +105,183 @@ public class StorageManager implements Storage {
         this.budgetStorage = budgetStorage;
         this.budgetViewStorage = budgetViewStorage;
         this.paymentListStorage = paymentListStorage;
+
+        try {
+            StorageTransaction.recover(DEFAULT_USER_DIRECTORY);
+        } catch (IOException e) {
+            logger.warning("Failed to recover an interrupted save: " + e.getMessage());
+        }
+        this.writeBehindQueue = (mode == Mode.WRITE_BEHIND) ? new WriteBehindQueue(DEFAULT_USER_DIRECTORY) : null;
+    }
+
+    /**
+     * Commits {@code write} for {@code store} now, or collects it if a transaction is open.
+     */
+    private void save(String store, PendingWrite write) throws DukeException {
+        if (transactionWrites != null) {
+            PendingWrite earlier = transactionWrites.remove(store);
+            transactionWrites.put(store, earlier == null ? write : write.coalesce(earlier));
+            return;
+        }
+        Map<String, PendingWrite> writes = new LinkedHashMap<>();
+        writes.put(store, write);
+        commit(writes);
+    }
+
+    /**
+     * Writes the given saves in one transaction, or queues them together in write-behind mode.
+     */
+    private void commit(Map<String, PendingWrite> writes) throws DukeException {
+        if (writes.isEmpty()) {
+            return;
+        }
+        if (writeBehindQueue == null) {
+            StorageTransaction.commitWrites(DEFAULT_USER_DIRECTORY, writes.values());
+        } else {
+            writeBehindQueue.submit(writes);
+        }
+    }
+
+    private boolean isWriteBehind() {
+        return writeBehindQueue != null;
+    }
+
+    @Override
+    public void beginTransaction() {
+        if (transactionDepth++ == 0) {
+            transactionWrites = new LinkedHashMap<>();
+        }
+    }
+
+    @Override
+    public void commitTransaction() throws DukeException {
+        if (transactionDepth == 0 || --transactionDepth > 0) {
+            return;
+        }
+        Map<String, PendingWrite> writes = transactionWrites;
+        transactionWrites = null;
+        commit(writes);
+    }
+
+    /**
+     * Waits for queued writes before a load, so that the load sees every earlier save.
+     */
+    private void awaitWrites() {
+        if (writeBehindQueue == null) {
+            return;
+        }
+        try {
+            writeBehindQueue.flush();
+        } catch (DukeException e) {
+            logger.warning(e.getMessage());
+        }
+    }
+
+    @Override
+    public void flush() throws DukeException {
+        if (writeBehindQueue != null) {
+            writeBehindQueue.flush();
+        }
+    }
+
+    @Override
+    public void shutdown() throws DukeException {
+        if (writeBehindQueue != null) {
+            writeBehindQueue.shutdown();
+        }
+    }
+
+    /**
+     * Returns the queue depth and write latency of the write-behind queue.
+     *
+     * @return a summary of the metrics, or an empty string if saves are synchronous.
+     */
+    public String getWriteBehindMetrics() {
+        return writeBehindQueue == null ? "" : writeBehindQueue.getMetrics();
     }
 
     @Override
     public void saveExpenseList(ExpenseList expenseList) throws DukeException {
-        expenseListStorage.saveExpenseList(expenseList);
+        save("expenses", expenseListStorage.prepareSaveExpenseList(expenseList));
     }
 
     @Override
     public ExpenseList loadExpenseList() throws DukeException {
+        awaitWrites();
         return expenseListStorage.loadExpenseList();
     }
 
     @Override
     public void savePlanAttributes(Map<String, String> attributes) throws DukeException {
-        planAttributesStorage.savePlanAttributes(attributes);
+        Map<String, String> snapshot = new HashMap<>(attributes);
+        save("planAttributes", transaction -> planAttributesStorage.savePlanAttributes(snapshot, transaction));
     }
 
     @Override
     public Map<String, String> loadPlanAttributes() {
+        awaitWrites();
         return planAttributesStorage.loadAttributes();
     }
 
     @Override
     public void saveIncomeList(IncomeList incomeList) throws DukeException {
-        incomeListStorage.saveIncomeList(incomeList);
+        // Synchronous saves are written on this thread, so they need no copy.
+        List<Income> snapshot = isWriteBehind()
+                ? new ArrayList<>(incomeList.getInternalList())
+                : incomeList.getInternalList();
+        save("income", transaction -> incomeListStorage.saveIncomeList(snapshot, transaction));
     }
 
     @Override
     public IncomeList loadIncomeList() throws DukeException {
+        awaitWrites();
         return incomeListStorage.loadIncomeList();
     }
 
     @Override
     public Budget loadBudget() throws IOException, DukeException {
+        awaitWrites();
         return budgetStorage.loadBudget();
     }
 
     @Override
     public void saveBudget(Budget budget) throws DukeException {
-        budgetStorage.saveBudget(budget);
+        Budget snapshot = new Budget(budget.getMonthlyBudget(), new HashMap<>(budget.getBudgetCategory()));
+        save("budget", transaction -> budgetStorage.saveBudget(snapshot, transaction));
     }
 
     @Override
     public BudgetView loadBudgetView() throws IOException, DukeException {
+        awaitWrites();
         return budgetViewStorage.loadBudgetView();
     }
 
     @Override
     public void saveBudgetView(BudgetView budgetView) throws DukeException {
-        budgetViewStorage.saveBudgetView(budgetView);
+        BudgetView snapshot = new BudgetView(new HashMap<>(budgetView.getBudgetViewCategory()));
+        save("budgetView", transaction -> budgetViewStorage.saveBudgetView(snapshot, transaction));
     }
 
     @Override
     public Optional<PaymentList> loadPaymentList() {
         logger.info("start loading paymentList");
+        awaitWrites();
         return paymentListStorage.readPaymentList();
     }
 
     @Override
     public void savePaymentList(PaymentList paymentList) throws IOException {
-        paymentListStorage.savePaymentList(paymentList);
+        List<Payment> snapshot = paymentList.getInternalList(); // already a copy, in order of due.
+        try {
+            save("payments", transaction -> {
+                try {
+                    paymentListStorage.savePaymentList(snapshot, transaction);
+                } catch (IOException e) {
+                    throw new DukeException(String.format(DukeException.MESSAGE_SAVE_FILE_FAILED, "payments"));
+                }
+            });
+        } catch (DukeException e) {
+            throw new IOException(e.getMessage(), e);
+        }
     }
 }
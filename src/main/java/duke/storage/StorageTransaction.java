@@ -0,0 +1,363 @@
+package duke.storage;
+
+import duke.commons.LogsCenter;
+import duke.exception.DukeException;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Makes the writes to several files visible together, so that stopping half way through a save never leaves
+ * one file updated and another not, or a file partly written.
+ *
+ * <p>Files are never written in place. Each write goes to a pending file next to its target, and
+ * {@link #commit()} then:
+ * <ol>
+ *     <li>syncs every pending file to disk, as one group;</li>
+ *     <li>writes a manifest listing the pending files and renames it into place, which is the commit point;</li>
+ *     <li>moves each pending file over its target, or appends it to its target;</li>
+ *     <li>deletes the manifest.</li>
+ * </ol>
+ * If the application stops after the manifest is renamed, {@link #recover(File)} redoes the remaining steps.
+ * If it stops before, the pending files are discarded.
+ */
+public class StorageTransaction {
+
+    private static final Logger logger = LogsCenter.getLogger(StorageTransaction.class);
+
+    static final String MANIFEST_NAME = "commit.manifest";
+    static final String PENDING_SUFFIX = ".pending";
+
+    private static final String FIELD_SEPARATOR = "\t";
+    private static final String REPLACE = "replace";
+    private static final String APPEND = "append";
+    private static final String DELETE = "delete";
+
+    private final File directory;
+    private final File manifestFile;
+
+    /**
+     * The staged writes by target file, in the order they were staged.
+     */
+    private final Map<File, StagedWrite> stagedWrites = new LinkedHashMap<>();
+    private final List<Runnable> commitActions = new ArrayList<>();
+    private final List<Runnable> abortActions = new ArrayList<>();
+
+    /**
+     * Constructs a transaction whose manifest is kept in {@code directory}.
+     * Every target file must be in {@code directory} or one of its subdirectories.
+     *
+     * @param directory the directory holding the files written by this transaction.
+     */
+    public StorageTransaction(File directory) {
+        this.directory = directory;
+        this.manifestFile = new File(directory, MANIFEST_NAME);
+    }
+
+    /**
+     * Returns the file to write the new content of {@code target} to. The content replaces {@code target}
+     * when the transaction commits. Content already staged for {@code target} is superseded.
+     *
+     * @param target the file to replace.
+     * @return the pending file to write the whole new content to, from its start.
+     */
+    public File stageReplace(File target) {
+        StagedWrite staged = new StagedWrite(target, REPLACE, 0);
+        stagedWrites.put(target, staged);
+        return staged.pendingFile;
+    }
+
+    /**
+     * Returns the file to write the bytes to append to {@code target} to. They are appended to {@code target}
+     * when the transaction commits. If {@code target} is already staged, the bytes are added to what is staged.
+     *
+     * @param target the file to append to.
+     * @return the pending file to append the bytes to.
+     */
+    public File stageAppend(File target) {
+        StagedWrite staged = stagedWrites.get(target);
+        if (staged == null) {
+            staged = new StagedWrite(target, APPEND, target.length());
+            staged.pendingFile.delete(); // only the bytes staged by this transaction may be appended.
+            stagedWrites.put(target, staged);
+        }
+        return staged.pendingFile;
+    }
+
+    /**
+     * Deletes {@code target}, if it exists, when the transaction commits. Content already staged for
+     * {@code target} is discarded.
+     *
+     * @param target the file to delete.
+     */
+    public void stageDelete(File target) {
+        StagedWrite staged = new StagedWrite(target, DELETE, 0);
+        staged.pendingFile.delete();
+        stagedWrites.put(target, staged);
+    }
+
+    /**
+     * Runs {@code action} once the transaction has committed.
+     *
+     * @param action the action to run.
+     */
+    public void afterCommit(Runnable action) {
+        commitActions.add(action);
+    }
+
+    /**
+     * Runs {@code action} if the transaction is aborted, so that whoever staged a write can tell it was discarded.
+     *
+     * @param action the action to run.
+     */
+    public void afterAbort(Runnable action) {
+        abortActions.add(action);
+    }
+
+    /**
+     * Makes every staged write visible, all at once.
+     *
+     * @throws IOException if the staged writes could not be committed. They are discarded if the manifest
+     *                     was not renamed into place yet, or else completed by the next commit or recovery.
+     */
+    public void commit() throws IOException {
+        if (!stagedWrites.isEmpty()) {
+            synchronized (StorageTransaction.class) {
+                try {
+                    redo(directory); // a commit that failed half way must not have its manifest overwritten.
+                    for (StagedWrite staged : stagedWrites.values()) {
+                        staged.syncPendingFile();
+                    }
+                    writeManifest();
+                } catch (IOException e) {
+                    abort();
+                    throw e;
+                }
+                for (StagedWrite staged : stagedWrites.values()) {
+                    staged.apply();
+                }
+                syncDirectories();
+                Files.delete(manifestFile.toPath());
+            }
+        }
+        for (Runnable action : commitActions) {
+            action.run();
+        }
+    }
+
+    /**
+     * Discards every staged write.
+     */
+    public void abort() {
+        for (StagedWrite staged : stagedWrites.values()) {
+            if (!staged.pendingFile.delete() && staged.pendingFile.exists()) {
+                logger.warning("Failed to delete " + staged.pendingFile.getPath());
+            }
+        }
+        stagedWrites.clear();
+        commitActions.clear();
+        List<Runnable> actions = new ArrayList<>(abortActions);
+        abortActions.clear();
+        for (Runnable action : actions) {
+            action.run();
+        }
+    }
+
+    /**
+     * Writes the given snapshots in a single transaction and commits it.
+     *
+     * @param directory the directory holding the files written.
+     * @param writes    the snapshots to write.
+     * @throws DukeException if a snapshot could not be written, or the transaction could not be committed,
+     *                       in which case none of the snapshots are visible.
+     */
+    public static void commitWrites(File directory, Collection<PendingWrite> writes) throws DukeException {
+        StorageTransaction transaction = new StorageTransaction(directory);
+        try {
+            for (PendingWrite write : writes) {
+                write.write(transaction);
+            }
+        } catch (DukeException | RuntimeException e) {
+            transaction.abort();
+            throw e;
+        }
+        try {
+            transaction.commit();
+        } catch (IOException e) {
+            throw new DukeException(String.format(DukeException.MESSAGE_SAVE_FILE_FAILED, directory.getPath()));
+        }
+    }
+
+    private void writeManifest() throws IOException {
+        File temporaryManifest = new File(manifestFile.getPath() + ".tmp");
+        try (FileOutputStream outputStream = new FileOutputStream(temporaryManifest);
+             Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8)) {
+            for (StagedWrite staged : stagedWrites.values()) {
+                writer.write(staged.toManifestLine(directory.toPath()));
+                writer.write("\n");
+            }
+            writer.flush();
+            outputStream.getFD().sync();
+        }
+        Files.move(temporaryManifest.toPath(), manifestFile.toPath(),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        syncDirectory(directory);
+    }
+
+    private void syncDirectories() {
+        stagedWrites.values().stream()
+                .map(staged -> staged.target.getAbsoluteFile().getParentFile())
+                .distinct()
+                .forEach(StorageTransaction::syncDirectory);
+    }
+
+    /**
+     * Completes a transaction that was committed but not fully applied when the application stopped,
+     * and discards the pending files of any transaction that did not commit.
+     *
+     * @param directory the directory given to the transactions.
+     * @throws IOException if the files could not be recovered.
+     */
+    public static void recover(File directory) throws IOException {
+        synchronized (StorageTransaction.class) {
+            redo(directory);
+            if (!directory.isDirectory()) {
+                return;
+            }
+            try (Stream<Path> files = Files.walk(directory.toPath())) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    if (file.toString().endsWith(PENDING_SUFFIX)) {
+                        logger.info("Discarding uncommitted " + file);
+                        Files.delete(file);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Applies the rest of the writes listed in a manifest left by a commit that did not finish.
+     */
+    private static void redo(File directory) throws IOException {
+        File manifestFile = new File(directory, MANIFEST_NAME);
+        Files.deleteIfExists(new File(manifestFile.getPath() + ".tmp").toPath());
+        if (!manifestFile.exists()) {
+            return;
+        }
+        logger.info("Completing an interrupted commit in " + directory.getPath());
+        for (String line : Files.readAllLines(manifestFile.toPath(), StandardCharsets.UTF_8)) {
+            if (!line.isEmpty()) {
+                StagedWrite.fromManifestLine(directory.toPath(), line).applyIfPending();
+            }
+        }
+        syncDirectory(directory);
+        Files.delete(manifestFile.toPath());
+    }
+
+    private static void sync(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+    }
+
+    private static void syncDirectory(File directory) {
+        try (FileChannel channel = FileChannel.open(directory.toPath(), StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Not every platform can sync a directory. The renames are atomic regardless.
+        }
+    }
+
+    /**
+     * A write staged in a pending file.
+     */
+    private static class StagedWrite {
+        private final File target;
+        private final File pendingFile;
+        private final String operation;
+        /**
+         * For appends, the length of the target before the append, so that redoing the append is harmless.
+         */
+        private final long offset;
+
+        StagedWrite(File target, String operation, long offset) {
+            this.target = target;
+            this.pendingFile = new File(target.getPath() + PENDING_SUFFIX);
+            this.operation = operation;
+            this.offset = offset;
+        }
+
+        void syncPendingFile() throws IOException {
+            if (DELETE.equals(operation)) {
+                return;
+            }
+            pendingFile.createNewFile();
+            sync(pendingFile);
+        }
+
+        void apply() throws IOException {
+            if (DELETE.equals(operation)) {
+                Files.deleteIfExists(target.toPath());
+                return;
+            }
+            if (REPLACE.equals(operation)) {
+                Files.move(pendingFile.toPath(), target.toPath(),
+                        StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                return;
+            }
+            try (RandomAccessFile targetFile = new RandomAccessFile(target, "rw");
+                 FileInputStream pending = new FileInputStream(pendingFile)) {
+                targetFile.setLength(offset);
+                targetFile.seek(offset);
+                byte[] buffer = new byte[8192];
+                int count;
+                while ((count = pending.read(buffer)) > 0) {
+                    targetFile.write(buffer, 0, count);
+                }
+                targetFile.getFD().sync();
+            }
+            Files.delete(pendingFile.toPath());
+        }
+
+        void applyIfPending() throws IOException {
+            if (DELETE.equals(operation) || pendingFile.exists()) {
+                apply();
+            }
+        }
+
+        String toManifestLine(Path directory) {
+            return String.join(FIELD_SEPARATOR, operation, String.valueOf(offset),
+                    directory.toAbsolutePath().relativize(target.toPath().toAbsolutePath()).toString());
+        }
+
+        static StagedWrite fromManifestLine(Path directory, String line) throws IOException {
+            String[] fields = line.split(FIELD_SEPARATOR, 3);
+            if (fields.length != 3 || !List.of(REPLACE, APPEND, DELETE).contains(fields[0])) {
+                throw new IOException("Malformed commit manifest line: " + line);
+            }
+            try {
+                return new StagedWrite(directory.resolve(fields[2]).toFile(), fields[0], Long.parseLong(fields[1]));
+            } catch (NumberFormatException e) {
+                throw new IOException("Malformed commit manifest line: " + line, e);
+            }
+        }
+    }
+}
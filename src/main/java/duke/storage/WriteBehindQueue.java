@@ -0,0 +1,270 @@
+package duke.storage;
+
+import duke.commons.LogsCenter;
+import duke.exception.DukeException;
+
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Performs writes on a single background thread, so that saving does not block the caller.
+ * Writes are queued per store. A write to a store that already has a queued write is coalesced with it,
+ * so a burst of saves to one store costs a single write of its latest state.
+ * The background thread commits everything queued at once in a single {@code StorageTransaction}, and writes
+ * submitted together are always queued together, so they are never committed separately.
+ *
+ * <p>A batch that fails to commit is put back in the queue, ahead of the writes submitted since, so that no
+ * save is lost. It is retried along with the next submission or flush rather than straight away, and its
+ * failure is reported to the caller of that submission or flush.
+ */
+class WriteBehindQueue {
+
+    private static final Logger logger = LogsCenter.getLogger(WriteBehindQueue.class);
+
+    /**
+     * Queued writes by store, in the order the stores were first queued.
+     */
+    private final Map<String, PendingWrite> queuedWrites = new LinkedHashMap<>();
+    private final File directory;
+    private final Thread writer;
+
+    private boolean isWriting = false;
+    private boolean isShutdown = false;
+
+    /**
+     * Whether the queued writes include a batch that failed, and wait for a submission or flush to retry it.
+     */
+    private boolean isHeld = false;
+
+    /**
+     * The first failure that has not been reported yet.
+     */
+    private DukeException firstFailure;
+
+    private long submittedCount = 0;
+    private long writtenCount = 0;
+    private long commitCount = 0;
+    private long coalescedCount = 0;
+    private int maxQueueDepth = 0;
+    private long totalWriteNanos = 0;
+    private long maxWriteNanos = 0;
+
+    /**
+     * Constructs a queue and starts its background thread.
+     *
+     * @param directory the directory holding the files written, where the transactions keep their manifest.
+     */
+    WriteBehindQueue(File directory) {
+        this.directory = directory;
+        writer = new Thread(this::runWriter, "storage-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Queues a write to {@code store}, coalescing it with a queued write to the same store.
+     *
+     * @param store the name of the store to write to.
+     * @param write the write, prepared on the calling thread.
+     * @throws DukeException if the queue has been shut down, or an earlier write failed since the last report.
+     */
+    void submit(String store, PendingWrite write) throws DukeException {
+        Map<String, PendingWrite> writes = new LinkedHashMap<>();
+        writes.put(store, write);
+        submit(writes);
+    }
+
+    /**
+     * Queues writes to several stores, which are committed in the same transaction.
+     *
+     * @param writes the writes by store name, prepared on the calling thread.
+     * @throws DukeException if the queue has been shut down, or an earlier write failed since the last report.
+     *                       The writes are queued all the same in the second case.
+     */
+    synchronized void submit(Map<String, PendingWrite> writes) throws DukeException {
+        if (isShutdown) {
+            throw new DukeException(String.format(DukeException.MESSAGE_SAVE_FILE_FAILED, writes.keySet()));
+        }
+        for (Map.Entry<String, PendingWrite> entry : writes.entrySet()) {
+            submittedCount++;
+            PendingWrite write = entry.getValue();
+            PendingWrite earlier = queuedWrites.remove(entry.getKey());
+            if (earlier != null) {
+                coalescedCount++;
+                write = write.coalesce(earlier);
+            }
+            queuedWrites.put(entry.getKey(), write);
+        }
+        maxQueueDepth = Math.max(maxQueueDepth, queuedWrites.size());
+        isHeld = false;
+        notifyAll();
+        reportFailure();
+    }
+
+    /**
+     * Puts a batch that failed back in the queue, with the writes submitted while it was written coalesced
+     * onto it, as they came after it.
+     */
+    private void requeue(Map<String, PendingWrite> batch) {
+        Map<String, PendingWrite> writes = new LinkedHashMap<>(batch);
+        for (Map.Entry<String, PendingWrite> entry : queuedWrites.entrySet()) {
+            PendingWrite earlier = writes.get(entry.getKey());
+            writes.put(entry.getKey(), earlier == null ? entry.getValue() : entry.getValue().coalesce(earlier));
+        }
+        queuedWrites.clear();
+        queuedWrites.putAll(writes);
+        isHeld = true;
+    }
+
+    private void reportFailure() throws DukeException {
+        if (firstFailure != null) {
+            DukeException failure = firstFailure;
+            firstFailure = null;
+            throw failure;
+        }
+    }
+
+    /**
+     * Blocks until every write queued so far has been performed, or has failed and been queued again.
+     * A batch held back by an earlier failure is retried once.
+     *
+     * @throws DukeException the first write failure that has not been reported yet, if any.
+     */
+    synchronized void flush() throws DukeException {
+        boolean isInterrupted = false;
+        isHeld = false;
+        notifyAll();
+        while ((!queuedWrites.isEmpty() && !isHeld) || isWriting) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                isInterrupted = true;
+            }
+        }
+        if (isInterrupted) {
+            Thread.currentThread().interrupt();
+        }
+        reportFailure();
+    }
+
+    /**
+     * Flushes the queue, then stops the background thread. Later writes are rejected, and writes that still
+     * fail are dropped.
+     *
+     * @throws DukeException the first write failure that has not been reported yet, if any.
+     */
+    void shutdown() throws DukeException {
+        try {
+            flush();
+        } finally {
+            synchronized (this) {
+                isShutdown = true;
+                notifyAll();
+            }
+            logger.info("Write-behind queue shut down. " + getMetrics());
+        }
+    }
+
+    private void runWriter() {
+        while (true) {
+            Map<String, PendingWrite> batch;
+            synchronized (this) {
+                while ((queuedWrites.isEmpty() || isHeld) && !isShutdown) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if (queuedWrites.isEmpty() || isHeld) {
+                    return;
+                }
+                batch = new LinkedHashMap<>(queuedWrites);
+                queuedWrites.clear();
+                isWriting = true;
+            }
+            long start = System.nanoTime();
+            DukeException failure = null;
+            try {
+                StorageTransaction.commitWrites(directory, batch.values());
+            } catch (DukeException | RuntimeException e) {
+                logger.warning("Background write failed: " + e.getMessage());
+                failure = e instanceof DukeException ? (DukeException) e
+                        : new DukeException(String.format(DukeException.MESSAGE_SAVE_FILE_FAILED, e.getMessage()));
+            }
+            long elapsed = System.nanoTime() - start;
+            synchronized (this) {
+                isWriting = false;
+                if (failure == null) {
+                    writtenCount += batch.size();
+                    commitCount++;
+                    totalWriteNanos += elapsed;
+                    maxWriteNanos = Math.max(maxWriteNanos, elapsed);
+                } else {
+                    requeue(batch);
+                    if (firstFailure == null) {
+                        firstFailure = failure;
+                    }
+                }
+                notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of stores with a write waiting to be performed.
+     *
+     * @return the current queue depth.
+     */
+    synchronized int getQueueDepth() {
+        return queuedWrites.size();
+    }
+
+    synchronized int getMaxQueueDepth() {
+        return maxQueueDepth;
+    }
+
+    synchronized long getSubmittedCount() {
+        return submittedCount;
+    }
+
+    synchronized long getWrittenCount() {
+        return writtenCount;
+    }
+
+    synchronized long getCommitCount() {
+        return commitCount;
+    }
+
+    synchronized long getCoalescedCount() {
+        return coalescedCount;
+    }
+
+    /**
+     * Returns the mean time taken to commit a batch of writes, in milliseconds.
+     *
+     * @return the mean write latency, or 0 if nothing has been written yet.
+     */
+    synchronized double getMeanWriteMillis() {
+        return commitCount == 0 ? 0 : (double) totalWriteNanos / commitCount / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    synchronized double getMaxWriteMillis() {
+        return (double) maxWriteNanos / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * Returns a one-line summary of the queue depth and write latency.
+     *
+     * @return the metrics as a string.
+     */
+    synchronized String getMetrics() {
+        return String.format("queue depth %d (max %d), %d saves coalesced into %d writes in %d commits, "
+                        + "write latency mean %.2f ms (max %.2f ms)",
+                getQueueDepth(), getMaxQueueDepth(), getSubmittedCount(), getWrittenCount(), getCommitCount(),
+                getMeanWriteMillis(), getMaxWriteMillis());
+    }
+}
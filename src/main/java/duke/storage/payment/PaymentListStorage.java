@@ -1,8 +1,11 @@
 package duke.storage.payment;
 
+import duke.model.payment.Payment;
 import duke.model.payment.PaymentList;
+import duke.storage.StorageTransaction;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -27,4 +30,13 @@ public interface PaymentListStorage {
      */
     void savePaymentList(PaymentList paymentList) throws IOException;
 
+    /**
+     * Writes the given payments as part of {@code transaction}.
+     *
+     * @param payments    the payments of a PaymentList, in the order to save them. Cannot be null.
+     * @param transaction the transaction to stage the written file in.
+     * @throws IOException if there was any problem writing to the file.
+     */
+    void savePaymentList(List<Payment> payments, StorageTransaction transaction) throws IOException;
+
 }
@@ -6,12 +6,17 @@ import duke.commons.FileUtil;
 import duke.commons.JsonUtil;
 import duke.commons.LogsCenter;
 import duke.exception.DukeException;
+import duke.model.payment.Payment;
 import duke.model.payment.PaymentList;
+import duke.storage.StorageTransaction;
 
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import java.util.logging.Logger;
 
 /**
@@ -23,16 +28,56 @@ public class PaymentListStorageManager implements PaymentListStorage {
 
     private static final File DEFAULT_USER_DIRECTORY = new File("data" + File.separator + "duke");
     private static final File PAYMENTS_FILE = new File(DEFAULT_USER_DIRECTORY, "payments.txt");
-    private static final Path filePath = PAYMENTS_FILE.toPath();
+    private static final String PAYMENTS_FIELD_NAME = "payments";
 
     /**
-     * Creates a {@code PaymentListStorageManager}.
+     * How the json file is read and written.
+     */
+    public enum Mode {
+        /**
+         * The whole document is built in memory as a {@code JsonSerializablePaymentList} and a string.
+         */
+        TREE,
+        /**
+         * Each payment is mapped to and from the file on its own, so memory use does not grow with the file.
+         */
+        STREAMING
+    }
+
+    private final File paymentsFile;
+    private final Path filePath;
+    private final Mode mode;
+    private final boolean isPrettyPrinted;
+
+    /**
+     * Creates a {@code PaymentListStorageManager} which reads and writes the whole document at once.
      * Locates the file storing the PaymentList data.
      * If the file is not found, it will create a new file at the location.
      *
      * @throws IOException if errors occur when creating the file.
      */
     public PaymentListStorageManager() throws IOException {
+        this(Mode.TREE, true);
+    }
+
+    /**
+     * Creates a {@code PaymentListStorageManager}.
+     * Locates the file storing the PaymentList data.
+     * If the file is not found, it will create a new file at the location.
+     *
+     * @param mode            whether to build the whole document in memory or stream it.
+     * @param isPrettyPrinted whether a streamed document is indented. Documents built in memory always are.
+     * @throws IOException if errors occur when creating the file.
+     */
+    public PaymentListStorageManager(Mode mode, boolean isPrettyPrinted) throws IOException {
+        this(PAYMENTS_FILE, mode, isPrettyPrinted);
+    }
+
+    PaymentListStorageManager(File paymentsFile, Mode mode, boolean isPrettyPrinted) throws IOException {
+        this.paymentsFile = paymentsFile;
+        this.filePath = paymentsFile.toPath();
+        this.mode = mode;
+        this.isPrettyPrinted = isPrettyPrinted;
         FileUtil.createIfMissing(filePath);
         logger.info("PaymentList.txt has been located.");
     }
@@ -41,10 +86,14 @@ public class PaymentListStorageManager implements PaymentListStorage {
     public Optional<PaymentList> readPaymentList() {
 
         // Returns a new empty paymentList if the file is blank.
-        if (PAYMENTS_FILE.length() == 0) {
+        if (paymentsFile.length() == 0) {
             return Optional.of(new PaymentList());
         }
 
+        if (mode == Mode.STREAMING) {
+            return Optional.of(streamPaymentList());
+        }
+
         Optional<JsonSerializablePaymentList> jsonPaymentList;
         try {
             jsonPaymentList = JsonUtil.readJsonFile(filePath, JsonSerializablePaymentList.class);
@@ -69,7 +118,49 @@ public class PaymentListStorageManager implements PaymentListStorage {
     @Override
     public void savePaymentList(PaymentList paymentList) throws IOException {
         requireNonNull(paymentList);
-        JsonUtil.saveJsonFile(new JsonSerializablePaymentList(paymentList), filePath);
+        try {
+            StorageTransaction.commitWrites(paymentsFile.getAbsoluteFile().getParentFile(), List.of(transaction -> {
+                try {
+                    savePaymentList(paymentList.getInternalList(), transaction);
+                } catch (IOException e) {
+                    throw new DukeException(String.format(DukeException.MESSAGE_SAVE_FILE_FAILED, filePath));
+                }
+            }));
+        } catch (DukeException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void savePaymentList(List<Payment> payments, StorageTransaction transaction) throws IOException {
+        requireNonNull(payments);
+        Path stagedPath = transaction.stageReplace(paymentsFile).toPath();
+        if (mode == Mode.STREAMING) {
+            JsonUtil.writeJsonArrayFile(stagedPath, PAYMENTS_FIELD_NAME,
+                () -> payments.stream().map(JsonAdaptedPayment::new).iterator(),
+                isPrettyPrinted);
+            return;
+        }
+        JsonUtil.saveJsonFile(new JsonSerializablePaymentList(payments.stream()
+                .map(JsonAdaptedPayment::new).collect(Collectors.toList())), stagedPath);
+    }
+
+    /**
+     * Reads the payments one at a time, converting each into a {@code Payment} as soon as it is parsed.
+     */
+    private PaymentList streamPaymentList() {
+        List<Payment> payments = new ArrayList<>();
+        try {
+            JsonUtil.readJsonArrayFile(filePath, PAYMENTS_FIELD_NAME, JsonAdaptedPayment.class,
+                jsonAdaptedPayment -> payments.add(jsonAdaptedPayment.toModelType()));
+        } catch (IOException e) {
+            logger.warning("Json file has format errors!");
+            return new PaymentList(); // Returns an empty paymentList as alternative.
+        } catch (DukeException e) {
+            logger.warning("Illegal values found in " + filePath + ": " + e.getMessage());
+            return new PaymentList(); // Returns an empty paymentList as alternative.
+        }
+        return new PaymentList(payments);
     }
 
 }
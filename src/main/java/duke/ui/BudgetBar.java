@@ -68,26 +68,27 @@ public class BudgetBar extends UiPart<Region> {
 
             bar.setPrefWidth(250);
             bar.setPrefHeight(30);
-            bar.setProgress(percentage(viewPane,logic));
+            double percentage = percentage(viewPane, logic);
+            bar.setProgress(percentage);
             budgetBars.put(viewPane,bar);
 
-            if (percentage(viewPane,logic) > 0.9) {
+            if (percentage > 0.9) {
                 bar.setStyle("-fx-accent: red;");
-            } else if (percentage(viewPane,logic) > 0.65) {
+            } else if (percentage > 0.65) {
                 bar.setStyle("-fx-accent: orange;");
-            } else if (percentage(viewPane,logic) > 0.40) {
+            } else if (percentage > 0.40) {
                 bar.setStyle("-fx-accent: yellow");
             } else {
                 bar.setStyle("-fx-accent: green");
             }
 
-            if (percentage(viewPane,logic) < 1) {
+            if (percentage < 1) {
                 if (remainder(viewPane,logic).compareTo(BigDecimal.ZERO) == 0) {
                     remaining.setText("     No budget set.");
                 } else {
                     remaining.setText("     Remaining budget: $" + remainder(viewPane, logic));
                 }
-            } else if (percentage(viewPane,logic) == 1) {
+            } else if (percentage == 1) {
                 remaining.setText("     Budget of " + logic.getBudgetTag(
                         logic.getBudgetViewCategory().get(viewPane)) + " reached!");
             } else {
@@ -104,9 +104,9 @@ public class ExpensePane extends UiPart<AnchorPane> {
      */
     private void getTags() {
         tags = new HashSet<>();
-        for (Expense expense : logic.getExternalExpenseList()) {
-            if (!expense.getTag().isEmpty()) {
-                tags.add(expense.getTag());
+        for (String tag : logic.getTagTotals().keySet()) {
+            if (!tag.isEmpty()) {
+                tags.add(tag);
             }
         }
     }
@@ -5,6 +5,7 @@ import duke.exception.DukeException;
 import duke.logic.Logic;
 import javafx.stage.Stage;
 
+import java.io.IOException;
 import java.util.logging.Logger;
 
 public class UiManager implements Ui {
@@ -18,6 +19,27 @@ public class UiManager implements Ui {
         this.logic = logic;
     }
 
+    /**
+     * Reads the FXML files of the main window and its panes into memory, so that startup can
+     * overlap it with loading data.
+     *
+     * @throws IOException if a file cannot be read.
+     */
+    public static void prefetchFxmlFiles() throws IOException {
+        UiPart.prefetchFxmlFiles("MainWindow.fxml",
+                "ExpensePane.fxml",
+                "ExpenseCard.fxml",
+                "TrendingPane.fxml",
+                "PlanPane.fxml",
+                "DialogBox.fxml",
+                "BudgetPane.fxml",
+                "BudgetBar.fxml",
+                "IncomeCard.fxml",
+                "PaymentPane.fxml",
+                "PaymentBox.fxml");
+        logger.info("FXML files are prefetched.");
+    }
+
     @Override
     public void start(Stage primaryStage) {
         mainWindow = new MainWindow(primaryStage, logic);
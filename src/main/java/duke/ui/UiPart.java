@@ -7,14 +7,21 @@ import static java.util.Objects.requireNonNull;
 import duke.Main;
 import javafx.fxml.FXMLLoader;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public abstract class UiPart<T> {
 
     /** Resource folder where FXML files are stored. */
     public static final String FXML_FILE_FOLDER = "/view/";
 
+    /** FXML documents read ahead of their first use, by URL. */
+    private static final Map<URL, byte[]> prefetchedFxmlFiles = new ConcurrentHashMap<>();
+
     private FXMLLoader fxmlLoader = new FXMLLoader();
 
     /**
@@ -52,12 +59,32 @@ public abstract class UiPart<T> {
         fxmlLoader.setController(this);
         fxmlLoader.setRoot(root);
         try {
-            fxmlLoader.load();
+            byte[] prefetchedFxmlFile = prefetchedFxmlFiles.get(location);
+            if (prefetchedFxmlFile == null) {
+                fxmlLoader.load();
+            } else {
+                fxmlLoader.load(new ByteArrayInputStream(prefetchedFxmlFile));
+            }
         } catch (IOException e) {
             throw new AssertionError(e);
         }
     }
 
+    /**
+     * Reads the specified FXML files within {@link #FXML_FILE_FOLDER} into memory, so that UiParts
+     * constructed later do not have to wait for them. Safe to call from any thread.
+     * @param fxmlFileNames Names of the FXML files to read.
+     * @throws IOException if a file cannot be read.
+     */
+    public static void prefetchFxmlFiles(String... fxmlFileNames) throws IOException {
+        for (String fxmlFileName : fxmlFileNames) {
+            URL fxmlFileUrl = getFxmlFileUrl(fxmlFileName);
+            try (InputStream inputStream = fxmlFileUrl.openStream()) {
+                prefetchedFxmlFiles.put(fxmlFileUrl, inputStream.readAllBytes());
+            }
+        }
+    }
+
     /**
      * Returns the FXML file URL for the specified FXML file name within {@link #FXML_FILE_FOLDER}.
      */
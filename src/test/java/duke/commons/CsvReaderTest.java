@@ -0,0 +1,36 @@
+package duke.commons;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class CsvReaderTest {
+    @Test
+    public void testReadRecord() throws IOException {
+        CsvReader csvReader = new CsvReader(new StringReader(
+                "time,amount,description\r\n"
+                + "01/11/2019,3.50,\"Chicken, Rice\"\r\n"
+                + "02/11/2019,\"1,204.00\",\"Two\nlines \"\"quoted\"\"\"\n"
+                + "03/11/2019,,\n"));
+        assertEquals(List.of("time", "amount", "description"), csvReader.readRecord());
+        assertEquals(List.of("01/11/2019", "3.50", "Chicken, Rice"), csvReader.readRecord());
+        assertEquals(2, csvReader.getRecordLineNumber());
+        assertEquals(List.of("02/11/2019", "1,204.00", "Two\nlines \"quoted\""), csvReader.readRecord());
+        assertEquals(List.of("03/11/2019", "", ""), csvReader.readRecord());
+        assertEquals(5, csvReader.getRecordLineNumber());
+        assertNull(csvReader.readRecord());
+    }
+
+    @Test
+    public void testUnclosedQuote() throws IOException {
+        CsvReader csvReader = new CsvReader(new StringReader("amount\n\"3.50\n"));
+        csvReader.readRecord();
+        assertThrows(IOException.class, csvReader::readRecord);
+    }
+}
@@ -0,0 +1,24 @@
+package duke.commons;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StartupStatsTest {
+    @Test
+    public void testRecord() {
+        StartupStats.clear();
+        assertEquals("No startup phases were recorded.", StartupStats.getSummary());
+
+        StartupStats.record("load expenses", StartupStats.start());
+        StartupStats.record("model", StartupStats.start());
+        assertEquals(List.of("load expenses", "model"), new ArrayList<>(StartupStats.getPhaseNanos().keySet()));
+        assertTrue(StartupStats.getSummary().startsWith("load expenses: "));
+        assertTrue(StartupStats.getSummary().contains("\nmodel: "));
+        StartupStats.clear();
+    }
+}
@@ -0,0 +1,89 @@
+package duke.logic.util;
+
+import duke.exception.DukeException;
+import duke.model.Expense;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ExpenseCsvImporterTest {
+    @TempDir
+    File userDirectory;
+
+    private File write(String content) throws IOException {
+        File file = new File(userDirectory, "export.csv");
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    @Test
+    public void testDefaultColumns() throws IOException, DukeException {
+        File file = write("amount,description,tag,time\n"
+                + "3.50,Chicken Rice,food,18:00 09/11/2019\n"
+                + "oops,Broken,food,18:00 09/11/2019\n"
+                + "\n"
+                + "4.99,Burger,,12:00 08/11/2019\n");
+        List<List<Expense>> batches = new ArrayList<>();
+        ExpenseCsvImporter.Result result = new ExpenseCsvImporter().withBatchSize(2)
+                .importFile(file.toPath(), batches::add);
+
+        assertEquals(2, result.getImportedCount());
+        assertEquals(1, result.getRejectedCount());
+        assertTrue(result.getRejectionReasons().get(0).startsWith("line 3: "));
+        assertEquals(2, batches.size());
+        Expense first = batches.get(0).get(0);
+        assertEquals(new BigDecimal("3.50"), first.getAmount());
+        assertEquals("Chicken Rice", first.getDescription());
+        assertEquals("FOOD", first.getTag());
+        assertEquals(LocalDateTime.of(2019, 11, 9, 18, 0), first.getTime());
+        assertEquals("Burger", batches.get(1).get(0).getDescription());
+    }
+
+    @Test
+    public void testMappedColumns() throws IOException, DukeException {
+        File file = write("Date,Details,Debit\n"
+                + "09/11/2019,\"Uniqlo, Bugis\",\"1,078.50\"\n");
+        List<Expense> expenses = new ArrayList<>();
+        ExpenseCsvImporter.Result result = new ExpenseCsvImporter()
+                .withColumns("amount=Debit,description=2,time=Date")
+                .withTimePattern("dd/MM/yyyy")
+                .importFile(file.toPath(), expenses::addAll);
+
+        assertEquals(1, result.getImportedCount());
+        assertEquals(new BigDecimal("1078.50"), expenses.get(0).getAmount());
+        assertEquals("Uniqlo, Bugis", expenses.get(0).getDescription());
+        assertEquals(LocalDateTime.of(2019, 11, 9, 0, 0), expenses.get(0).getTime());
+    }
+
+    @Test
+    public void testByteOrderMark() throws IOException, DukeException {
+        File file = write("\uFEFFamount,description\n"
+                + "2.00,Kopi\n");
+        List<Expense> expenses = new ArrayList<>();
+        ExpenseCsvImporter.Result result = new ExpenseCsvImporter().importFile(file.toPath(), expenses::addAll);
+
+        assertEquals(1, result.getImportedCount());
+        assertEquals(new BigDecimal("2.00"), expenses.get(0).getAmount());
+    }
+
+    @Test
+    public void testMissingColumn() throws IOException {
+        File file = write("Date,Details\n09/11/2019,Uniqlo\n");
+        assertThrows(DukeException.class, () -> new ExpenseCsvImporter().importFile(file.toPath(), e -> { }));
+        assertThrows(DukeException.class, () -> new ExpenseCsvImporter().withColumns("amount=Debit")
+                .importFile(file.toPath(), e -> { }));
+        assertThrows(DukeException.class, () -> new ExpenseCsvImporter().withColumns("price=Details"));
+    }
+}
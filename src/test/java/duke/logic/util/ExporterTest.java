@@ -0,0 +1,60 @@
+package duke.logic.util;
+
+import duke.commons.CsvReader;
+import duke.exception.DukeException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ExporterTest {
+    private static final List<String> COLUMNS = List.of("description", "amount");
+
+    @TempDir
+    File userDirectory;
+
+    @Test
+    public void testCsv() throws IOException, DukeException {
+        Path file = new File(userDirectory, "exports/expenses.csv").toPath();
+        Iterator<List<String>> rows = List.of(List.of("Uniqlo, \"Bugis\"", "1078.50"),
+            Arrays.asList("Line\nbreak", null)).iterator();
+
+        assertEquals(2, new Exporter(Exporter.Format.CSV).export(file, COLUMNS, rows, row -> row));
+        try (CsvReader reader = new CsvReader(Files.newBufferedReader(file))) {
+            assertEquals(COLUMNS, reader.readRecord());
+            assertEquals(List.of("Uniqlo, \"Bugis\"", "1078.50"), reader.readRecord());
+            assertEquals(List.of("Line\nbreak", ""), reader.readRecord());
+            assertNull(reader.readRecord());
+        }
+    }
+
+    @Test
+    public void testJsonLines() throws IOException, DukeException {
+        Path file = new File(userDirectory, "expenses.jsonl").toPath();
+        Iterator<List<String>> rows = IntStream.range(0, 100000)
+            .mapToObj(i -> List.of("item " + i, String.valueOf(i))).iterator();
+
+        assertEquals(100000, new Exporter(Exporter.Format.of("JsonL")).export(file, COLUMNS, rows, row -> row));
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertEquals(100000, lines.size());
+        assertEquals("{\"description\":\"item 0\",\"amount\":\"0\"}", lines.get(0));
+        assertEquals("{\"description\":\"item 99999\",\"amount\":\"99999\"}", lines.get(99999));
+    }
+
+    @Test
+    public void testInvalidFormat() {
+        assertThrows(DukeException.class, () -> Exporter.Format.of("xml"));
+    }
+}
@@ -6,10 +6,18 @@ import org.junit.jupiter.api.io.TempDir;
 
 import java.io.File;
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 public class ExpenseListTest {
@@ -49,26 +57,59 @@ public class ExpenseListTest {
             assertEquals(String.format(DukeException.MESSAGE_NO_ITEM_AT_INDEX, "expense", 2), e.getMessage());
         }
     }
-    /*TODO:This test is Currently broken due to regressions, please fix.
+
     @Test
-    public void testUndoRedo() throws DukeException {
+    public void testDirtyMonths() throws DukeException {
         ExpenseList testExpenseList = new ExpenseList(new ArrayList<>());
-        Expense testExpense = new Expense.Builder().build();
-        testExpenseList.add(testExpense);
-        testExpenseList.remove(1);
-        assertEquals(testExpenseList.undo(1), 1);
-        assertEquals(testExpenseList.internalSize(), 1);
-        assertEquals(testExpenseList.undo(1), 1);
-        assertEquals(testExpenseList.internalSize(), 0);
-        assertEquals(testExpenseList.redo(1), 1);
-        assertEquals(testExpenseList.internalSize(), 1);
-        assertEquals(testExpenseList.redo(1), 1);
-        assertEquals(testExpenseList.internalSize(), 0);
-        assertEquals(testExpenseList.undo(2), 2);
-        assertEquals(testExpenseList.redo(2), 2);
+        testExpenseList.add(new Expense.Builder().setTime(LocalDateTime.of(2019, 10, 1, 9, 0)).build());
+        assertTrue(testExpenseList.drainDirtyMonths().isEmpty());
+
+        testExpenseList.trackDirtyMonths();
+        testExpenseList.add(new Expense.Builder().setTime(LocalDateTime.of(2019, 11, 5, 9, 0)).build());
+        assertEquals(Set.of(YearMonth.of(2019, 11)), testExpenseList.drainDirtyMonths());
+        assertTrue(testExpenseList.drainDirtyMonths().isEmpty());
+
+        testExpenseList.clear();
+        assertEquals(Set.of(YearMonth.of(2019, 10), YearMonth.of(2019, 11)), testExpenseList.drainDirtyMonths());
+    }
+
+    @Test
+    public void testLazyHistory() throws DukeException {
+        Expense oldExpense = new Expense.Builder().setAmount("5").setTime(LocalDateTime.of(2010, 1, 1, 9, 0)).build();
+        ExpenseHistory history = new ExpenseHistory() {
+            @Override
+            public LocalDate getHorizon() {
+                return LocalDate.now().minusYears(1).withDayOfYear(1);
+            }
+
+            @Override
+            public BigDecimal getTotalAmount() {
+                return new BigDecimal("5.00");
+            }
+
+            @Override
+            public List<Expense> load() {
+                return List.of(oldExpense);
+            }
+        };
+        ExpenseList testExpenseList = new ExpenseList(new ArrayList<>(List.of(new Expense.Builder().build())));
+        testExpenseList.setViewScope("month", 0);
+        testExpenseList.setUnloadedHistory(history);
+        assertFalse(testExpenseList.isHistoryLoaded());
+        assertEquals(new BigDecimal("5.00"), testExpenseList.getTotalAmount());
+
+        testExpenseList.setViewScope("all", 0);
+        assertTrue(testExpenseList.isHistoryLoaded());
+        assertEquals(2, testExpenseList.internalSize());
+        assertEquals(new BigDecimal("5.00"), testExpenseList.getTotalAmount());
+
+        ExpenseList wholeExpenseList = new ExpenseList(new ArrayList<>());
+        wholeExpenseList.setUnloadedHistory(history);
+        assertTrue(wholeExpenseList.isHistoryLoaded());
+        assertEquals(1, wholeExpenseList.getExternalList().size());
+        assertEquals(new BigDecimal("5.00"), wholeExpenseList.getTotalExternalAmount());
     }
 
-     */
     @Test
     public void testGetTotalAmount() throws DukeException {
         ExpenseList testExpenseList = new ExpenseList(new ArrayList<>());
@@ -84,4 +125,160 @@ public class ExpenseListTest {
         testExpenseList.add(testExpenseFive);
         assertEquals(testExpenseList.getTotalAmount(), new BigDecimal("49.63"));
     }
+
+    @Test
+    public void testIncrementalExternalList() throws DukeException {
+        LocalDateTime now = LocalDateTime.now();
+        Expense lunch = new Expense.Builder().setAmount("5").setDescription("lunch").setTime(now.minusHours(1)).build();
+        Expense dinner = new Expense.Builder().setAmount("12").setDescription("dinner").setTime(now).build();
+        Expense ticket = new Expense.Builder().setAmount("30").setDescription("ticket")
+                .setTime(now.minusHours(2)).setTentative(true).build();
+        Expense old = new Expense.Builder().setAmount("100").setDescription("old").setTime(now.minusYears(2)).build();
+        ExpenseList expenseList = new ExpenseList(new ArrayList<>());
+        expenseList.setViewScope("year", 0);
+
+        expenseList.add(lunch);
+        expenseList.add(dinner);
+        expenseList.addAll(List.of(ticket, old));
+        assertEquals(List.of(dinner, lunch, ticket), expenseList.getExternalList());
+        assertEquals(new BigDecimal("17.00"), expenseList.getTotalExternalAmount());
+        assertEquals("Total: $17.00", expenseList.getTotalString().get());
+
+        expenseList.remove(2);
+        assertEquals(List.of(dinner, ticket), expenseList.getExternalList());
+        assertEquals(new BigDecimal("12.00"), expenseList.getTotalExternalAmount());
+
+        expenseList.setSortCriteria("amount");
+        expenseList.add(lunch);
+        assertEquals(List.of(ticket, dinner, lunch), expenseList.getExternalList());
+        assertEquals(new BigDecimal("17.00"), expenseList.getTotalExternalAmount());
+        assertEquals(4, expenseList.internalSize());
+    }
+
+    @Test
+    public void testViewScopeIndex() throws DukeException {
+        LocalDateTime today = LocalDate.now().atTime(12, 0);
+        LocalDateTime firstOfLastMonth = today.withDayOfMonth(1).minusMonths(1);
+        Expense todayExpense = new Expense.Builder().setDescription("today").setTime(today).build();
+        Expense lastMonth = new Expense.Builder().setDescription("last month")
+                .setTime(firstOfLastMonth.plusDays(1)).build();
+        Expense rent = new Expense.Builder().setDescription("rent").setTime(today.withDayOfMonth(1).minusYears(3))
+                .setRecurring(true).build();
+        ExpenseList expenseList = new ExpenseList(new ArrayList<>(List.of(todayExpense, lastMonth, rent)));
+
+        // rent recurs monthly, so it is only within the days on which it happens.
+        int daysSinceFirstOfLastMonth = (int) ChronoUnit.DAYS.between(firstOfLastMonth.toLocalDate(), today);
+        expenseList.setViewScope("day", daysSinceFirstOfLastMonth);
+        assertEquals(List.of(rent), expenseList.getExternalList());
+        expenseList.setViewScope("day", daysSinceFirstOfLastMonth + 1);
+        assertTrue(expenseList.getExternalList().isEmpty());
+        expenseList.setViewScope("week", 0);
+        assertTrue(expenseList.getExternalList().contains(todayExpense));
+        expenseList.setViewScope("month", 1);
+        assertEquals(List.of(lastMonth, rent), expenseList.getExternalList());
+        expenseList.setViewScope("year", 3);
+        assertEquals(List.of(rent), expenseList.getExternalList());
+
+        expenseList.setViewScope("month", 1);
+        expenseList.remove(1);
+        expenseList.setViewScope("month", 1);
+        assertEquals(List.of(rent), expenseList.getExternalList());
+        assertEquals(List.of(todayExpense, rent), expenseList.streamViewScope("month", 0)
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testRecurringTotals() throws DukeException {
+        LocalDateTime firstOfMonth = LocalDate.now().withDayOfMonth(1).atTime(9, 0);
+        Expense subscription = new Expense.Builder().setAmount("10").setTag("fun")
+                .setTime(firstOfMonth.minusYears(3)).setRecurring(true).build();
+        Expense gym = new Expense.Builder().setAmount("5").setTag("fun")
+                .setTime(firstOfMonth.minusYears(3)).setRecurrence(Recurrence.WEEKLY).build();
+        ExpenseList expenseList = new ExpenseList(new ArrayList<>(List.of(subscription)));
+
+        expenseList.setViewScope("month", 1);
+        assertEquals(new BigDecimal("10.00"), expenseList.getTotalExternalAmount());
+        expenseList.setViewScope("year", 3);
+        BigDecimal monthsFromStart = BigDecimal.valueOf(13 - firstOfMonth.getMonthValue());
+        assertEquals(new BigDecimal("10.00").multiply(monthsFromStart), expenseList.getTotalExternalAmount());
+        assertEquals(new BigDecimal("10.00").multiply(monthsFromStart), expenseList.getTagAmount("fun"));
+        assertEquals(monthsFromStart.intValue(), expenseList.getTagTotals().get("fun").getConfirmedCount());
+
+        expenseList.setViewScope("month", 1);
+        expenseList.add(gym);
+        long weeks = Recurrence.WEEKLY.countOccurrences(gym.getTime(), firstOfMonth.toLocalDate().minusMonths(1)
+                .atStartOfDay(), firstOfMonth.toLocalDate().atStartOfDay());
+        BigDecimal expected = new BigDecimal("10.00").add(new BigDecimal("5.00").multiply(BigDecimal.valueOf(weeks)));
+        assertEquals(expected, expenseList.getTotalExternalAmount());
+        expenseList.remove(expenseList.getExternalList().indexOf(gym) + 1);
+        assertEquals(new BigDecimal("10.00"), expenseList.getTotalExternalAmount());
+    }
+
+    @Test
+    public void testTagTotals() throws DukeException {
+        LocalDateTime now = LocalDateTime.now();
+        Expense lunch = new Expense.Builder().setAmount("5").setTag("food").setTime(now).build();
+        Expense snack = new Expense.Builder().setAmount("2").setTag("fastfood").setTime(now).build();
+        Expense dinner = new Expense.Builder().setAmount("20").setTag("food").setTime(now)
+                .setTentative(true).build();
+        Expense old = new Expense.Builder().setAmount("100").setTag("food").setTime(now.minusYears(2)).build();
+        ExpenseList expenseList = new ExpenseList(new ArrayList<>(List.of(lunch, old)));
+        expenseList.add(snack);
+        expenseList.add(dinner);
+
+        TagTotal food = expenseList.getTagTotals().get("food");
+        assertEquals(new BigDecimal("105.00"), food.getConfirmedAmount());
+        assertEquals(new BigDecimal("20.00"), food.getTentativeAmount());
+        assertEquals(2, food.getConfirmedCount());
+        assertEquals(1, food.getTentativeCount());
+        assertEquals(new BigDecimal("107.00"), expenseList.getTagAmount("food"));
+        assertEquals(BigDecimal.ZERO, expenseList.getTagAmount(null));
+
+        expenseList.setViewScope("year", 0);
+        assertEquals(new BigDecimal("7.00"), expenseList.getTagAmount("food"));
+        expenseList.remove(expenseList.getExternalList().indexOf(snack) + 1);
+        assertFalse(expenseList.getTagTotals().containsKey("fastfood"));
+        assertEquals(new BigDecimal("5.00"), expenseList.getTagAmount("food"));
+    }
+
+    @Test
+    public void testFilter() throws DukeException {
+        LocalDateTime now = LocalDateTime.now();
+        Expense chickenRice = new Expense.Builder().setAmount("4").setDescription("Chicken rice")
+                .setTag("food").setTime(now.minusHours(3)).build();
+        Expense duckRice = new Expense.Builder().setAmount("5").setDescription("duck-rice")
+                .setTag("food").setTime(now.minusHours(2)).build();
+        Expense dinner = new Expense.Builder().setAmount("20").setDescription("Dinner with friends")
+                .setTime(now.minusHours(1)).build();
+        Expense taxi = new Expense.Builder().setAmount("15").setDescription("taxi home").setTag("transport")
+                .setTime(now).build();
+        ExpenseList expenseList = new ExpenseList(new ArrayList<>(List.of(chickenRice, duckRice, dinner)));
+        expenseList.add(taxi);
+
+        expenseList.setFilterCriteria("rice FOOD");
+        assertEquals(List.of(duckRice, chickenRice), expenseList.getExternalList());
+        assertEquals(new BigDecimal("9.00"), expenseList.getTotalExternalAmount());
+
+        expenseList.setFilterCriteria("chicken or din*");
+        assertEquals(List.of(dinner, chickenRice), expenseList.getExternalList());
+
+        expenseList.setFilterCriteria("trans* | duck");
+        assertEquals(List.of(taxi, duckRice), expenseList.getExternalList());
+
+        expenseList.setFilterCriteria("rice and taxi");
+        assertTrue(expenseList.getExternalList().isEmpty());
+
+        expenseList.setFilterCriteria("rice");
+        Expense friedRice = new Expense.Builder().setAmount("6").setDescription("fried rice").setTime(now).build();
+        Expense bus = new Expense.Builder().setAmount("1").setDescription("bus").setTime(now).build();
+        expenseList.add(friedRice);
+        expenseList.add(bus);
+        assertEquals(List.of(friedRice, duckRice, chickenRice), expenseList.getExternalList());
+        expenseList.remove(expenseList.getExternalList().indexOf(duckRice) + 1);
+        assertEquals(List.of(friedRice, chickenRice), expenseList.getExternalList());
+        assertTrue(expenseList.getTextIndex().lookup("duck", false).isEmpty());
+
+        expenseList.setFilterCriteria(null);
+        assertEquals(5, expenseList.getExternalList().size());
+    }
 }
@@ -0,0 +1,68 @@
+package duke.model;
+
+import duke.exception.DukeException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ExpenseRollupTest {
+    private static Expense expense(String amount, String tag, LocalDateTime time) throws DukeException {
+        return new Expense.Builder().setAmount(amount).setTag(tag).setTime(time).build();
+    }
+
+    @Test
+    public void testBuckets() throws DukeException {
+        LocalDateTime time = LocalDateTime.of(2019, 11, 9, 18, 0);
+        Expense lunch = expense("5", "food", time);
+        Expense dinner = new Expense.Builder(expense("20", "food", time.plusDays(1))).setTentative(true).build();
+        Expense bus = expense("1.50", "transport", time.plusMonths(1));
+        Expense rent = new Expense.Builder(expense("800", "rent", time.minusYears(1))).setRecurring(true).build();
+        ExpenseRollup rollup = new ExpenseRollup();
+        for (Expense expense : List.of(lunch, dinner, bus, rent)) {
+            rollup.add(expense);
+        }
+
+        assertEquals(80650, rollup.getConfirmedCents());
+        assertEquals(new BigDecimal("5.00"), rollup.getDayTotals(time.toLocalDate()).get("food").getConfirmedAmount());
+        TagTotal food = rollup.getMonthTotals(YearMonth.of(2019, 11)).get("food");
+        assertEquals(1, food.getConfirmedCount());
+        assertEquals(new BigDecimal("20.00"), food.getTentativeAmount());
+
+        Map<String, TagTotal> november = rollup.getTotals(LocalDate.of(2019, 11, 1), LocalDate.of(2019, 12, 1), true);
+        assertEquals(List.of("food", "rent"), new ArrayList<>(new TreeSet<>(november.keySet())));
+        Map<String, TagTotal> week = rollup.getTotals(LocalDate.of(2019, 11, 4), LocalDate.of(2019, 11, 11), false);
+        assertEquals(2, week.get("food").getConfirmedCount() + week.get("food").getTentativeCount());
+        assertEquals(3, rollup.getTotals(null, null, true).size());
+
+        rollup.remove(bus);
+        assertTrue(rollup.getMonthTotals(YearMonth.of(2019, 12)).isEmpty());
+        assertEquals(80500, rollup.getConfirmedCents());
+    }
+
+    @Test
+    public void testExpenseListTotals() throws DukeException {
+        LocalDateTime now = LocalDateTime.now();
+        ExpenseList expenseList = new ExpenseList(new ArrayList<>());
+        expenseList.add(expense("5", "food", now));
+        expenseList.add(expense("7", "food", now.minusYears(1)));
+        expenseList.setViewScope("year", 0);
+        assertEquals(new BigDecimal("5.00"), expenseList.getTotalExternalAmount());
+        assertEquals(new BigDecimal("5.00"), expenseList.getTagAmount("food"));
+        assertEquals(new BigDecimal("12.00"), expenseList.getTotalAmount());
+
+        expenseList.remove(1);
+        assertEquals(new BigDecimal("0.00"), expenseList.getTotalExternalAmount());
+        expenseList.setViewScope("year", 1);
+        assertEquals(new BigDecimal("7.00"), expenseList.getTagAmount("food"));
+    }
+}
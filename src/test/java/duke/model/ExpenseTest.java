@@ -12,7 +12,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 public class ExpenseTest {
-    private static final BigDecimal DEFAULT_AMOUNT = BigDecimal.ZERO;
+    private static final BigDecimal DEFAULT_AMOUNT = new BigDecimal("0.00");
     private static final String DEFAULT_DESCRIPTION = "";
     private static final boolean DEFAULT_TENTATIVE = false;
     private static final String DEFAULT_TIME = Parser.formatTime(LocalDateTime.now());
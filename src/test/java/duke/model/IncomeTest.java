@@ -9,7 +9,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.fail;
 
 class IncomeTest {
-    private static final BigDecimal DEFAULT_AMOUNT = BigDecimal.ZERO;
+    private static final BigDecimal DEFAULT_AMOUNT = new BigDecimal("0.00");
     private static final String DEFAULT_DESCRIPTION = "";
 
     private static final BigDecimal TEST_AMOUNT = new BigDecimal("100.23");
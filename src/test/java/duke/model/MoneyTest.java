@@ -0,0 +1,40 @@
+package duke.model;
+
+import duke.exception.DukeException;
+import duke.logic.parser.Parser;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class MoneyTest {
+    @Test
+    public void testConversions() {
+        assertEquals(1234L, Money.of(new BigDecimal("12.34")).getCents());
+        assertEquals(-5L, Money.of(new BigDecimal("-0.05")).getCents());
+        assertEquals(2L, Money.of(new BigDecimal("0.025")).getCents());
+        assertEquals(new BigDecimal("12.30"), Money.ofCents(1230).toBigDecimal());
+        assertEquals(new BigDecimal("0.00"), Money.of(BigDecimal.ZERO).toBigDecimal());
+        assertEquals("12.30", Money.ofCents(1230).toString());
+        assertEquals(Money.ofCents(300), Money.ofCents(100).add(Money.ofCents(200)));
+        assertThrows(ArithmeticException.class, () -> Money.ofCents(Long.MAX_VALUE).add(Money.ofCents(1)));
+    }
+
+    @Test
+    public void testAmountsInCents() throws DukeException {
+        Expense expense = new Expense.Builder().setAmount("4.5").build();
+        assertEquals(450L, expense.getAmountCents());
+        assertEquals(new BigDecimal("4.50"), expense.getAmount());
+        Income income = new Income.Builder().setAmount("1000").build();
+        assertEquals(100000L, income.getAmountCents());
+    }
+
+    @Test
+    public void testParseMoneyIsExact() throws DukeException {
+        assertEquals(new BigDecimal("12345678901234567.89"), Parser.parseMoney("12345678901234567.89"));
+        assertEquals(new BigDecimal("0.12"), Parser.parseMoney(" 0.125 "));
+        assertThrows(DukeException.class, () -> Parser.parseMoney("ten"));
+    }
+}
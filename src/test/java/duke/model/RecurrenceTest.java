@@ -0,0 +1,61 @@
+package duke.model;
+
+import duke.exception.DukeException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class RecurrenceTest {
+    private static final LocalDateTime START = LocalDateTime.of(2019, 1, 31, 9, 0);
+
+    @Test
+    public void testParse() throws DukeException {
+        assertEquals(Recurrence.DAILY, Recurrence.parse("daily"));
+        assertEquals(Recurrence.MONTHLY, Recurrence.parse(" Monthly "));
+        assertEquals(Recurrence.of(2, Recurrence.Unit.WEEK), Recurrence.parse("every 2 weeks"));
+        assertEquals(Recurrence.of(10, Recurrence.Unit.DAY), Recurrence.parse("10 days"));
+        assertEquals(Recurrence.YEARLY, Recurrence.parse("1 year"));
+        assertEquals("every 3 months", Recurrence.of(3, Recurrence.Unit.MONTH).toString());
+        assertEquals(Recurrence.of(3, Recurrence.Unit.MONTH), Recurrence.parse("every 3 months"));
+        assertEquals("weekly", Recurrence.WEEKLY.toString());
+
+        assertThrows(DukeException.class, () -> Recurrence.parse("fortnightly"));
+        assertThrows(DukeException.class, () -> Recurrence.parse("every 0 days"));
+        assertThrows(DukeException.class, () -> Recurrence.parse("every 2 hours"));
+    }
+
+    @Test
+    public void testCountOccurrences() {
+        LocalDateTime march = LocalDateTime.of(2019, 3, 1, 0, 0);
+        LocalDateTime april = LocalDateTime.of(2019, 4, 1, 0, 0);
+        assertEquals(1, Recurrence.MONTHLY.countOccurrences(START, march, april));
+        assertEquals(0, Recurrence.MONTHLY.countOccurrences(START, START.minusYears(1), START));
+        assertEquals(1, Recurrence.MONTHLY.countOccurrences(START, null, START.plusMinutes(1)));
+        assertEquals(12, Recurrence.MONTHLY.countOccurrences(START, null, LocalDateTime.of(2020, 1, 1, 0, 0)));
+        assertEquals(31, Recurrence.DAILY.countOccurrences(START, march, april));
+        assertEquals(4, Recurrence.WEEKLY.countOccurrences(START, march, april));
+        assertEquals(2, Recurrence.of(2, Recurrence.Unit.WEEK).countOccurrences(START, march, april));
+        assertEquals(0, Recurrence.YEARLY.countOccurrences(START, march, april));
+        assertEquals(10, Recurrence.YEARLY.countOccurrences(START, START, START.plusYears(10)));
+    }
+
+    @Test
+    public void testOccurrencesKeepDayOfMonth() {
+        List<LocalDateTime> occurrences = new ArrayList<>();
+        Iterator<LocalDateTime> iterator = Recurrence.MONTHLY.occurrences(START,
+                LocalDateTime.of(2019, 2, 1, 0, 0), LocalDateTime.of(2019, 5, 1, 0, 0));
+        iterator.forEachRemaining(occurrences::add);
+        assertEquals(List.of(LocalDateTime.of(2019, 2, 28, 9, 0), LocalDateTime.of(2019, 3, 31, 9, 0),
+                LocalDateTime.of(2019, 4, 30, 9, 0)), occurrences);
+
+        Iterator<LocalDateTime> empty = Recurrence.DAILY.occurrences(START, START, START);
+        assertFalse(empty.hasNext());
+    }
+}
@@ -0,0 +1,66 @@
+package duke.model;
+
+import duke.model.payment.Payment;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class SymbolTableTest {
+
+    @Test
+    public void testTagCodes() {
+        int code = SymbolTable.encodeTag("symbolTableTestTag");
+        assertEquals(code, SymbolTable.encodeTag(new String("symbolTableTestTag")));
+        assertNotEquals(code, SymbolTable.encodeTag("symbolTableTestOtherTag"));
+        assertEquals("symbolTableTestTag", SymbolTable.decodeTag(code));
+        assertEquals(SymbolTable.encodeTag(""), SymbolTable.encodeTag(null));
+    }
+
+    @Test
+    public void testItemsShareTagsAndDescriptions() {
+        Expense lunch = new Expense.Builder().setDescription(new String("Chicken Rice"))
+                .setTag(new String("food")).build();
+        Expense dinner = new Expense.Builder().setDescription(new String("Chicken Rice"))
+                .setTag(new String("food")).build();
+        assertSame(lunch.getDescription(), dinner.getDescription());
+        assertSame(lunch.getTag(), dinner.getTag());
+        assertEquals(lunch.getTagCode(), dinner.getTagCode());
+        assertEquals(lunch.getTagCode(), new Expense.Builder(lunch).build().getTagCode());
+
+        Income salary = new Income.Builder().setDescription(new String("Chicken Rice")).build();
+        assertSame(lunch.getDescription(), salary.getDescription());
+
+        Payment first = new Payment.Builder().setDescription("Rent").setReceiver(new String("Landlord"))
+                .setTag("housing").build();
+        Payment second = new Payment.Builder().setDescription("Rent").setReceiver(new String("Landlord"))
+                .setTag("HOUSING").build();
+        assertSame(first.getReceiver(), second.getReceiver());
+        assertEquals(first.getTagCode(), second.getTagCode());
+        assertEquals("HOUSING", second.getTag());
+
+        assertNull(SymbolTable.internDescription(null));
+    }
+
+    @Test
+    public void testSerializedItemKeepsTag() throws IOException, ClassNotFoundException {
+        Expense expense = new Expense.Builder().setTag("transport").build();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+            output.writeObject(expense);
+        }
+        try (ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            Expense readExpense = (Expense) input.readObject();
+            assertEquals("transport", readExpense.getTag());
+            assertEquals(expense.getTagCode(), readExpense.getTagCode());
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package duke.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TrigramIndexTest {
+
+    private static List<String> searchItems(TrigramIndex<String> index, String query, int limit) {
+        return index.search(query, TrigramIndex.DEFAULT_THRESHOLD, limit).stream()
+                .map(TrigramIndex.Match::getItem)
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    public void testSimilarTextsFound() {
+        TrigramIndex<String> index = new TrigramIndex<>();
+        index.add("gong cha", "Gong Cha");
+        index.add("bubble tea", "Bubble tea at GONG-CHA Bugis");
+        index.add("starbucks", "Starbucks");
+        index.add("koi", "KOI Cafe");
+
+        assertEquals(List.of("gong cha", "bubble tea"), searchItems(index, "Gongcha", 10));
+        assertEquals(1.0, index.search("Gongcha", 0.5, 1).get(0).getScore());
+        assertEquals(List.of("gong cha"), searchItems(index, "gongcha", 1));
+        assertEquals(List.of("starbucks"), searchItems(index, "Starbuks", 10));
+        assertTrue(searchItems(index, "Toast Box", 10).isEmpty());
+        assertTrue(searchItems(index, "!!", 10).isEmpty());
+    }
+
+    @Test
+    public void testBestTextOfItemCounts() {
+        TrigramIndex<String> index = new TrigramIndex<>();
+        index.add("payment", "Monthly rent");
+        index.add("payment", "Landlord");
+
+        List<TrigramIndex.Match<String>> matches = index.search("landlord", 0.5, 10);
+        assertEquals(1, matches.size());
+        assertEquals(1.0, matches.get(0).getScore());
+        assertEquals(List.of("payment"), searchItems(index, "monthly rnt", 10));
+    }
+
+    @Test
+    public void testRemove() {
+        TrigramIndex<String> index = new TrigramIndex<>();
+        index.add("gong cha", "Gong Cha");
+        index.add("gongcha", "Gongcha");
+        index.remove("gong cha");
+
+        List<TrigramIndex.Match<String>> matches = index.search("gong cha", 0.5, 10);
+        assertEquals(1, matches.size());
+        assertEquals("gongcha", matches.get(0).getItem());
+
+        index.clear();
+        assertTrue(index.search("gong cha", 0.5, 10).isEmpty());
+    }
+}
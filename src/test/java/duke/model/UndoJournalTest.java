@@ -0,0 +1,114 @@
+package duke.model;
+
+import duke.exception.DukeException;
+import duke.logic.CommandParams;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class UndoJournalTest {
+
+    @Test
+    public void testUndoRedo() throws DukeException {
+        ExpenseList expenseList = new ExpenseList(new ArrayList<>());
+        UndoJournal journal = new UndoJournal();
+        Expense expense = new Expense.Builder().setAmount("5").build();
+
+        expenseList.add(expense);
+        journal.record(UndoJournal.Target.EXPENSES,
+            () -> expenseList.removeAll(List.of(expense)), () -> expenseList.add(expense));
+        journal.commitStep();
+        expenseList.remove(1);
+        journal.record(UndoJournal.Target.EXPENSES,
+            () -> expenseList.add(expense), () -> expenseList.removeAll(List.of(expense)));
+        journal.commitStep();
+
+        assertEquals(EnumSet.of(UndoJournal.Target.EXPENSES), journal.undo());
+        assertEquals(1, expenseList.internalSize());
+        journal.undo();
+        assertEquals(0, expenseList.internalSize());
+        assertThrows(DukeException.class, journal::undo);
+        journal.redo();
+        assertEquals(1, expenseList.internalSize());
+        journal.redo();
+        assertEquals(0, expenseList.internalSize());
+        assertThrows(DukeException.class, journal::redo);
+    }
+
+    @Test
+    public void testUndoConfirmTentative() throws DukeException {
+        Expense tentative = new Expense.Builder().setAmount("5").setTentative(true).build();
+        ExpenseList expenseList = new ExpenseList(new ArrayList<>(List.of(tentative)));
+        DukePP model = new DukePP(expenseList, new HashMap<>(), new IncomeList(new ArrayList<>()),
+                new Budget(BigDecimal.ZERO, new HashMap<>()), new BudgetView(new HashMap<>()), Optional.empty());
+
+        CommandParams confirmParams = new CommandParams("confirm 1");
+        confirmParams.getCommand().execute(confirmParams, model, null);
+        model.commitUndoStep();
+        assertFalse(expenseList.get(1).isTentative());
+        assertEquals(new BigDecimal("5.00"), expenseList.getTotalAmount());
+
+        model.undo();
+        assertSame(tentative, expenseList.get(1));
+        assertTrue(tentative.isTentative());
+        assertEquals(new BigDecimal("0.00"), expenseList.getTotalAmount());
+    }
+
+    @Test
+    public void testStepsAndDepth() throws DukeException {
+        List<Integer> values = new ArrayList<>();
+        UndoJournal journal = new UndoJournal(2);
+        for (int i = 0; i < 3; i++) {
+            int value = i;
+            values.add(value);
+            journal.record(UndoJournal.Target.BUDGET, () -> values.remove(Integer.valueOf(value)),
+                () -> values.add(value));
+            journal.commitStep();
+        }
+
+        journal.undo();
+        journal.undo();
+        assertEquals(List.of(0), values);
+        assertFalse(journal.canUndo());
+
+        journal.redo();
+        values.add(9);
+        journal.record(UndoJournal.Target.BUDGET, () -> values.remove(Integer.valueOf(9)), () -> values.add(9));
+        journal.commitStep();
+        assertFalse(journal.canRedo());
+
+        journal.setDepth(1);
+        journal.undo();
+        assertEquals(List.of(0, 1), values);
+        assertFalse(journal.canUndo());
+
+        journal.setDepth(0);
+        values.add(7);
+        journal.record(UndoJournal.Target.BUDGET, () -> values.clear(), () -> values.add(7));
+        journal.commitStep();
+        assertFalse(journal.canUndo());
+        assertThrows(IllegalArgumentException.class, () -> journal.setDepth(-1));
+    }
+
+    @Test
+    public void testUndoDoesNotRecord() throws DukeException {
+        UndoJournal journal = new UndoJournal();
+        journal.record(UndoJournal.Target.INCOME, () -> journal.record(UndoJournal.Target.INCOME, () -> { }, () -> { }),
+            () -> { });
+        journal.commitStep();
+        journal.undo();
+        assertFalse(journal.canUndo());
+        assertTrue(journal.canRedo());
+    }
+}
@@ -45,4 +45,13 @@ public class PaymentInWeekPredicateTest {
     public void test_paymentDueAfterWeek_returnFalse() throws DukeException {
         assertFalse(predicate.test(new Payment.Builder().setDue(NEXT_WEEK_DUE).build()));
     }
+
+    @Test
+    public void test_paymentDueOnWeekBoundaries_inWeekUntilSunday() throws DukeException {
+        PaymentInWeekPredicate wednesdayPredicate = new PaymentInWeekPredicate(LocalDate.of(2019, 10, 16));
+        assertFalse(wednesdayPredicate.test(new Payment.Builder().setDue("15/10/2019").build()));
+        assertTrue(wednesdayPredicate.test(new Payment.Builder().setDue("16/10/2019").build()));
+        assertTrue(wednesdayPredicate.test(new Payment.Builder().setDue("20/10/2019").build()));
+        assertFalse(wednesdayPredicate.test(new Payment.Builder().setDue("21/10/2019").build()));
+    }
 }
@@ -6,9 +6,14 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -136,6 +141,80 @@ public class PaymentListIntegrationTest {
                 payments.asUnmodifiableFilteredList());
     }
 
+    @Test
+    public void searchPredicate_relevantKeyword_resultsRankedByMatchQuality() throws DukeException {
+        Payment wholeWordInDescription = new Builder().setDescription("Hall Meal").setDue("01/10/2019").build();
+        Payment wordStartInDescription = new Builder().setDescription("Mealtime snacks").setDue("02/10/2019").build();
+        Payment wholeWordInReceiver = new Builder().setDescription("Plan").setReceiver("Meal office")
+                .setDue("03/10/2019").build();
+        Payment partOfWordInDescription = new Builder().setDescription("Oatmeal").setDue("04/10/2019").build();
+        payments.add(partOfWordInDescription);
+        payments.add(wordStartInDescription);
+        payments.add(wholeWordInReceiver);
+        payments.add(wholeWordInDescription);
+        fillFullPayments();
+
+        payments.setSearchPredicate("MEAL");
+        // Payments that match as well stay in order of due
+        assertEquals(List.of(wholeWordInDescription, HALL_MEAL, wholeWordInReceiver, wordStartInDescription,
+                partOfWordInDescription), payments.asUnmodifiableFilteredList());
+        assertEquals(wholeWordInReceiver, payments.getPayment(3));
+
+        payments.setSearchPredicate("me");
+        assertEquals(5, payments.asUnmodifiableFilteredList().size());
+    }
+
+    @Test
+    public void searchPredicate_paymentsChanged_resultsUpdated() throws DukeException {
+        fillFullPayments();
+        payments.setSearchPredicate("fee");
+        assertEquals(4, payments.asUnmodifiableFilteredList().size());
+
+        Object searchPredicate = payments.getPredicateIndicator().get();
+        Payment libraryFee = new Builder().setDescription("Library fee").build();
+        Payment feedback = new Builder().setDescription("Feedback survey").build();
+        payments.add(libraryFee);
+        payments.add(feedback);
+        assertTrue(payments.asUnmodifiableFilteredList().contains(libraryFee));
+        // Added payments are ranked on their own, without searching again.
+        assertEquals(feedback, payments.asUnmodifiableFilteredList().get(5));
+        assertSame(searchPredicate, payments.getPredicateIndicator().get());
+        payments.remove(payments.asUnmodifiableFilteredList().indexOf(feedback) + 1);
+
+        payments.remove(payments.asUnmodifiableFilteredList().indexOf(ORIENTATION_FEE) + 1);
+        payments.setPayment(payments.asUnmodifiableFilteredList().indexOf(HOSTEL_FEE) + 1,
+                new Builder(HOSTEL_FEE).setDescription("Hostel deposit").build());
+        assertEquals(3, payments.asUnmodifiableFilteredList().size());
+
+        payments.setTimePredicate(PaymentList.PREDICATE_SHOW_ALL_PAYMENTS);
+        assertEquals(5, payments.asUnmodifiableFilteredList().size());
+    }
+
+    @Test
+    public void setTimePredicate_dueRanges_paymentsInRangeShown() throws DukeException {
+        fillFullPayments();
+        LocalDate monday = LocalDate.of(2019, 10, 14);
+
+        payments.setTimePredicate(new PaymentOverduePredicate(monday));
+        assertEquals(List.of(STORAGE_FEE, ORIENTATION_FEE), payments.asUnmodifiableFilteredList());
+
+        payments.setTimePredicate(new PaymentInWeekPredicate(monday));
+        assertEquals(List.of(HOSTEL_FEE), payments.asUnmodifiableFilteredList());
+        Payment sundayPayment = new Builder().setDescription("Sunday").setDue("20/10/2019").build();
+        Payment nextMondayPayment = new Builder().setDescription("Next Monday").setDue("21/10/2019").build();
+        payments.add(nextMondayPayment);
+        payments.add(sundayPayment);
+        assertEquals(List.of(HOSTEL_FEE, sundayPayment), payments.asUnmodifiableFilteredList());
+
+        payments.setTimePredicate(new PaymentInMonthPredicate(monday));
+        payments.setSortingCriteria(AMOUNT_SORTING_CRITERIA);
+        payments.remove(payments.asUnmodifiableFilteredList().indexOf(sundayPayment) + 1);
+        assertEquals(List.of(HOSTEL_FEE, nextMondayPayment), payments.asUnmodifiableFilteredList());
+
+        payments.setTimePredicate(PaymentList.PREDICATE_SHOW_ALL_PAYMENTS);
+        assertEquals(PAYMENTS_FULL_SIZE + 1, payments.asUnmodifiableFilteredList().size());
+    }
+
     @Test
     public void setSortingCriteria_nullSortingCriteria_throwsNullPointerException() {
         assertThrows(NullPointerException.class, () -> payments.setSortingCriteria(null));
@@ -170,6 +249,32 @@ public class PaymentListIntegrationTest {
         }
     }
 
+    @Test
+    public void setSortingCriteria_equalPayments_keepOrderAdded() throws DukeException {
+        Payment firstBook = new Builder().setDescription("First book").setDue("05/10/2019")
+                .setAmount("20").setPriority("high").build();
+        Payment secondBook = new Builder().setDescription("Second book").setDue("01/10/2019")
+                .setAmount("20").setPriority("high").build();
+        fillFullPayments();
+        payments.add(firstBook);
+        payments.add(secondBook);
+
+        payments.setSortingCriteria(AMOUNT_SORTING_CRITERIA);
+        assertEquals(List.of(HALL_MEAL, HOSTEL_FEE, STORAGE_FEE, RETURN_MONEY, ORIENTATION_FEE, firstBook,
+                secondBook), payments.asUnmodifiableFilteredList());
+
+        payments.setSortingCriteria(PRIORITY_SORTING_CRITERIA);
+        assertEquals(List.of(HOSTEL_FEE, firstBook, secondBook, STORAGE_FEE, RETURN_MONEY, ORIENTATION_FEE,
+                HALL_MEAL), payments.asUnmodifiableFilteredList());
+
+        payments.setPayment(payments.asUnmodifiableFilteredList().indexOf(firstBook) + 1,
+                new Builder(firstBook).setPriority("low").build());
+        assertEquals(List.of(HOSTEL_FEE, secondBook), payments.asUnmodifiableFilteredList().subList(0, 2));
+        assertEquals(List.of(STORAGE_FEE, secondBook), payments.getInternalList().subList(0, 2));
+        assertEquals("First book", payments.getInternalList().get(2).getDescription());
+        assertEquals(ORIENTATION_FEE, payments.getInternalList().get(3));
+    }
+
     @Test
     public void asUnmodifiableFilteredList_modifyList_throwsUnsupportedOperationException() {
         assertThrows(UnsupportedOperationException.class, () -> payments.asUnmodifiableFilteredList().remove(0));
@@ -186,4 +291,17 @@ public class PaymentListIntegrationTest {
         payments.add(HOSTEL_FEE);
         payments.add(RETURN_MONEY);
     }
+
+    @Test
+    public void add_afterDayChanged_timeScopeWorkedOutAgain() throws DukeException {
+        String yesterday = LocalDate.now().minusDays(1).format(DateTimeFormatter.ofPattern("dd/MM/yyyy"));
+        payments.add(new Builder().setDescription("Library Fine").setDue(yesterday).build());
+        // A predicate worked out yesterday, as one set before midnight would be.
+        payments.setTimePredicate(new PaymentOverduePredicate(LocalDate.now().minusDays(1), true));
+        assertEquals(0, payments.asUnmodifiableFilteredList().size());
+
+        payments.add(new Builder().setDescription("Laundry").setDue(yesterday).build());
+        assertEquals(2, payments.asUnmodifiableFilteredList().size());
+        assertFalse(((PaymentDueRangePredicate) payments.getPredicateIndicator().get()).isStale());
+    }
 }
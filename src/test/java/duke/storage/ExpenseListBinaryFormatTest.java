@@ -0,0 +1,96 @@
+package duke.storage;
+
+import duke.exception.DukeException;
+import duke.logic.parser.Parser;
+import duke.model.Expense;
+import duke.model.Recurrence;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ExpenseListBinaryFormatTest {
+    @TempDir
+    File userDirectory;
+
+    private List<Expense> sampleExpenses() throws DukeException {
+        List<Expense> expenses = new ArrayList<>();
+        expenses.add(new Expense.Builder().setAmount("12.50").setDescription("lunch").setTag("food")
+                .setTime(Parser.parseTime("12:30 01/10/2019")).setTentative(true).build());
+        expenses.add(new Expense.Builder().setAmount("-3").setDescription("refund")
+                .setTime(Parser.parseTime("08:00 02/10/2019")).setRecurrence(Recurrence.WEEKLY).build());
+        expenses.add(new Expense.Builder().setAmount("4.05").setDescription("lunch").setTag("food")
+                .setTime(Parser.parseTime("13:15 03/10/2019")).build());
+        return expenses;
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException, DukeException {
+        File file = new File(userDirectory, "expenses.bin");
+        List<Expense> expenses = sampleExpenses();
+        ExpenseListBinaryFormat.write(file, expenses);
+
+        List<Expense> loaded = ExpenseListBinaryFormat.read(file);
+        assertEquals(expenses.size(), loaded.size());
+        for (int i = 0; i < expenses.size(); i++) {
+            assertEquals(expenses.get(i).toStorageString(), loaded.get(i).toStorageString());
+        }
+        // the dictionary hands out one string per distinct value.
+        assertTrue(loaded.get(0).getDescription() == loaded.get(2).getDescription());
+    }
+
+    @Test
+    public void testEmpty() throws IOException, DukeException {
+        File file = new File(userDirectory, "expenses.bin");
+        ExpenseListBinaryFormat.write(file, new ArrayList<>());
+        assertTrue(ExpenseListBinaryFormat.read(file).isEmpty());
+    }
+
+    @Test
+    public void testChecksumMismatch() throws IOException, DukeException {
+        File file = new File(userDirectory, "expenses.bin");
+        ExpenseListBinaryFormat.write(file, sampleExpenses());
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")) {
+            randomAccessFile.seek(20);
+            randomAccessFile.write(randomAccessFile.read() ^ 0xFF);
+        }
+        assertThrows(IOException.class, () -> ExpenseListBinaryFormat.read(file));
+    }
+
+    @Test
+    public void testNotAnExpenseFile() throws IOException {
+        File file = new File(userDirectory, "expenses.bin");
+        try (FileWriter writer = new FileWriter(file)) {
+            writer.write("amount:1.00\n\n");
+        }
+        assertThrows(IOException.class, () -> ExpenseListBinaryFormat.read(file));
+    }
+
+    @Test
+    public void testConvert() throws IOException, DukeException {
+        File textFile = new File(userDirectory, "expenses.txt");
+        File binaryFile = new File(userDirectory, "expenses.bin");
+        List<Expense> expenses = sampleExpenses();
+        try (FileWriter writer = new FileWriter(textFile)) {
+            for (Expense expense : expenses) {
+                writer.write(expense.toStorageString());
+                writer.write("\n\n");
+            }
+        }
+
+        assertEquals(3, ExpenseListBinaryFormat.convert(textFile, binaryFile));
+        List<Expense> loaded = ExpenseListBinaryFormat.read(binaryFile);
+        for (int i = 0; i < expenses.size(); i++) {
+            assertEquals(expenses.get(i).toStorageString(), loaded.get(i).toStorageString());
+        }
+    }
+}
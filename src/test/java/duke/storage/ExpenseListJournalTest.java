@@ -0,0 +1,134 @@
+package duke.storage;
+
+import duke.exception.DukeException;
+import duke.model.Expense;
+import duke.model.ExpenseList;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ExpenseListJournalTest {
+    @TempDir
+    File userDirectory;
+
+    private ExpenseList loadTracked(ExpenseListJournal journal) throws IOException, DukeException {
+        ExpenseList expenseList = new ExpenseList(journal.load());
+        expenseList.trackChanges();
+        return expenseList;
+    }
+
+    @Test
+    public void testAppendAndReplay() throws IOException, DukeException {
+        File snapshotFile = new File(userDirectory, "expenses.txt");
+        ExpenseListJournal journal = new ExpenseListJournal(snapshotFile);
+
+        ExpenseList expenseList = loadTracked(journal);
+        expenseList.add(new Expense.Builder().setAmount("1").setDescription("one").build());
+        expenseList.add(new Expense.Builder().setAmount("2").setDescription("two").build());
+        expenseList.add(new Expense.Builder().setAmount("2").setDescription("two").build());
+        journal.append(expenseList.drainChanges());
+        assertFalse(snapshotFile.exists());
+
+        expenseList.remove(1);
+        journal.append(expenseList.drainChanges());
+
+        List<Expense> replayed = journal.load();
+        assertEquals(2, replayed.size());
+        assertEquals(expenseList.getTotalAmount(), new ExpenseList(replayed).getTotalAmount());
+    }
+
+    @Test
+    public void testClear() throws IOException, DukeException {
+        ExpenseListJournal journal = new ExpenseListJournal(new File(userDirectory, "expenses.txt"));
+        ExpenseList expenseList = loadTracked(journal);
+        expenseList.add(new Expense.Builder().setAmount("1").build());
+        expenseList.clear();
+        expenseList.add(new Expense.Builder().setAmount("3").build());
+        journal.append(expenseList.drainChanges());
+
+        List<Expense> replayed = journal.load();
+        assertEquals(1, replayed.size());
+        assertEquals(new BigDecimal("3.00"), replayed.get(0).getAmount());
+    }
+
+    @Test
+    public void testCompaction() throws IOException, DukeException {
+        File snapshotFile = new File(userDirectory, "expenses.txt");
+        ExpenseListJournal journal = new ExpenseListJournal(snapshotFile, 1);
+        ExpenseList expenseList = loadTracked(journal);
+        for (int i = 1; i <= 5; i++) {
+            expenseList.add(new Expense.Builder().setAmount(String.valueOf(i)).build());
+            journal.append(expenseList.drainChanges());
+        }
+
+        // load waits for the background compaction to finish.
+        assertEquals(5, journal.load().size());
+        assertTrue(snapshotFile.exists());
+        assertFalse(new File(snapshotFile.getPath() + ".journal.compacting").exists());
+    }
+
+    @Test
+    public void testDeleteFromCompactedSnapshot() throws IOException, DukeException {
+        File snapshotFile = new File(userDirectory, "expenses.txt");
+        ExpenseListJournal journal = new ExpenseListJournal(snapshotFile, 1);
+        ExpenseList expenseList = loadTracked(journal);
+        for (int i = 1; i <= 3; i++) {
+            expenseList.add(new Expense.Builder().setAmount(String.valueOf(i)).setDescription("same").build());
+            journal.append(expenseList.drainChanges());
+        }
+        journal.load(); // waits for the compaction, so the expenses are read back from the snapshot.
+
+        ExpenseListJournal reopened = new ExpenseListJournal(snapshotFile);
+        ExpenseList reloaded = loadTracked(reopened);
+        reloaded.remove(1);
+        reopened.append(reloaded.drainChanges());
+
+        List<Expense> replayed = reopened.load();
+        assertEquals(2, replayed.size());
+        assertEquals(reloaded.getTotalAmount(), new ExpenseList(replayed).getTotalAmount());
+    }
+
+    @Test
+    public void testCompactDeleteOfOlderFormatRecord() throws IOException, DukeException {
+        File snapshotFile = new File(userDirectory, "expenses.txt");
+        Files.writeString(snapshotFile.toPath(), "tag:\namount:10.00\ndescription:rent\n"
+                + "time:09:00 01/11/2019\nisTentative:false\nisRecurring:true\n\n", StandardCharsets.UTF_8);
+        ExpenseListJournal journal = new ExpenseListJournal(snapshotFile, 1);
+        ExpenseList expenseList = loadTracked(journal);
+        expenseList.remove(1);
+        journal.append(expenseList.drainChanges());
+
+        // load waits for the background compaction, which drops the record rather than copying it forward.
+        assertTrue(journal.load().isEmpty());
+        assertFalse(Files.readString(snapshotFile.toPath(), StandardCharsets.UTF_8).contains("rent"));
+    }
+
+    @Test
+    public void testRewrite() throws IOException, DukeException {
+        File snapshotFile = new File(userDirectory, "expenses.txt");
+        ExpenseListJournal journal = new ExpenseListJournal(snapshotFile);
+        ExpenseList tracked = loadTracked(journal);
+        tracked.add(new Expense.Builder().setAmount("1").build());
+        journal.append(tracked.drainChanges());
+
+        List<Expense> expenses = new ArrayList<>();
+        expenses.add(new Expense.Builder().setAmount("7").build());
+        journal.rewrite(expenses);
+
+        List<Expense> replayed = journal.load();
+        assertEquals(1, replayed.size());
+        assertEquals(new BigDecimal("7.00"), replayed.get(0).getAmount());
+        assertEquals(0, new File(snapshotFile.getPath() + ".journal").length());
+    }
+}
@@ -0,0 +1,115 @@
+package duke.storage;
+
+import duke.exception.DukeException;
+import duke.model.Expense;
+import duke.model.ExpenseList;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ExpenseListStorageManagerTest {
+    @TempDir
+    File userDirectory;
+
+    private ExpenseListStorageManager journalStorage() {
+        return new ExpenseListStorageManager(userDirectory, ExpenseListStorageManager.Mode.JOURNAL, false);
+    }
+
+    @Test
+    public void saveExpenseList_failedJournalAppend_nextSaveKeepsChanges() throws IOException, DukeException {
+        ExpenseListStorageManager storage = journalStorage();
+        ExpenseList expenseList = storage.loadExpenseList();
+        expenseList.add(new Expense.Builder().setAmount("1").setDescription("saved").build());
+        storage.saveExpenseList(expenseList);
+
+        // A non-empty directory where the append is staged makes the append throw.
+        File blocker = new File(userDirectory, "expenses.txt.journal" + StorageTransaction.PENDING_SUFFIX);
+        assertTrue(new File(blocker, "blocker").mkdirs());
+        expenseList.add(new Expense.Builder().setAmount("2").setDescription("failed").build());
+        assertThrows(DukeException.class, () -> storage.saveExpenseList(expenseList));
+
+        new File(blocker, "blocker").delete();
+        blocker.delete();
+        expenseList.add(new Expense.Builder().setAmount("3").setDescription("after").build());
+        storage.saveExpenseList(expenseList);
+
+        ExpenseList reloaded = journalStorage().loadExpenseList();
+        assertEquals(3, reloaded.getInternalList().size());
+        assertEquals(expenseList.getTotalAmount(), reloaded.getTotalAmount());
+    }
+
+    @Test
+    public void saveExpenseList_zeroAmount_deletedFromSnapshot() throws IOException, DukeException {
+        Files.writeString(new File(userDirectory, "expenses.txt").toPath(), "tag:\namount:0.00\n"
+                + "description:free\ntime:09:00 01/11/2019\nisTentative:false\nisRecurring:false\n\n",
+                StandardCharsets.UTF_8);
+        ExpenseList expenseList = journalStorage().loadExpenseList();
+        assertEquals(new BigDecimal("0.00"), expenseList.get(1).getAmount());
+        assertEquals(new BigDecimal("0.00"), expenseList.getTotalAmount());
+
+        ExpenseListStorageManager storage = journalStorage();
+        ExpenseList loaded = storage.loadExpenseList();
+        loaded.remove(1);
+        storage.saveExpenseList(loaded);
+        assertTrue(journalStorage().loadExpenseList().getInternalList().isEmpty());
+    }
+
+    @Test
+    public void saveExpenseList_recurringWithoutRecurrence_deletedFromSnapshot() throws IOException, DukeException {
+        // Recurring expenses saved before their recurrence was stored have no recurrence field.
+        Files.writeString(new File(userDirectory, "expenses.txt").toPath(), "tag:\namount:10.00\n"
+                + "description:rent\ntime:09:00 01/11/2019\nisTentative:false\nisRecurring:true\n\n",
+                StandardCharsets.UTF_8);
+        ExpenseListStorageManager storage = journalStorage();
+        ExpenseList expenseList = storage.loadExpenseList();
+        assertTrue(expenseList.get(1).isRecurring());
+        expenseList.remove(1);
+        storage.saveExpenseList(expenseList);
+        assertTrue(journalStorage().loadExpenseList().getInternalList().isEmpty());
+    }
+
+    @Test
+    public void saveExpenseList_unreadableHistory_historyKept() throws IOException, DukeException {
+        LocalDateTime oldTime = LocalDateTime.of(2010, 1, 5, 9, 0);
+        ExpenseListStorageManager storage = new ExpenseListStorageManager(userDirectory,
+                ExpenseListStorageManager.Mode.SEGMENTED, false);
+        ExpenseList expenseList = storage.loadExpenseList();
+        expenseList.add(new Expense.Builder().setAmount("1").setTime(oldTime).build());
+        expenseList.add(new Expense.Builder().setAmount("2").build());
+        storage.saveExpenseList(expenseList);
+
+        // A segment that no longer holds the number of expenses in the manifest cannot be read.
+        File oldSegment = new File(userDirectory, "expenses/2010-01.seg");
+        Files.writeString(oldSegment.toPath(), "", StandardCharsets.UTF_8);
+        ExpenseListStorageManager lazyStorage = new ExpenseListStorageManager(userDirectory,
+                ExpenseListStorageManager.Mode.SEGMENTED, true);
+        ExpenseList lazyExpenseList = lazyStorage.loadExpenseList();
+        assertFalse(lazyExpenseList.isHistoryLoaded());
+        lazyExpenseList.add(new Expense.Builder().setAmount("3").setTime(oldTime).build());
+        lazyStorage.saveExpenseList(lazyExpenseList);
+
+        assertEquals("", Files.readString(oldSegment.toPath(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void loadExpenseList_corruptedJournal_movedAside() throws IOException {
+        File journalFile = new File(userDirectory, "expenses.txt.journal");
+        Files.writeString(journalFile.toPath(), "op:ADD\namount:not a number\n\n", StandardCharsets.UTF_8);
+
+        ExpenseList expenseList = journalStorage().loadExpenseList();
+        assertTrue(expenseList.getInternalList().isEmpty());
+        assertFalse(journalFile.exists());
+        assertTrue(new File(journalFile.getPath() + ".corrupted").exists());
+    }
+}
@@ -0,0 +1,119 @@
+package duke.storage;
+
+import duke.exception.DukeException;
+import duke.model.Expense;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ExpenseSegmentStoreTest {
+    private static final YearMonth NOVEMBER = YearMonth.of(2019, 11);
+    private static final YearMonth DECEMBER = YearMonth.of(2019, 12);
+
+    @TempDir
+    File userDirectory;
+
+    private static Expense expense(String description, YearMonth month) throws DukeException {
+        return new Expense.Builder()
+                .setAmount("1.50")
+                .setDescription(description)
+                .setTag("food")
+                .setTime(LocalDateTime.of(month.getYear(), month.getMonth(), 3, 12, 30))
+                .build();
+    }
+
+    private void commit(ExpenseSegmentStore store, List<Expense> expenses, Set<YearMonth> dirtyMonths)
+            throws IOException {
+        StorageTransaction transaction = new StorageTransaction(userDirectory);
+        if (dirtyMonths == null) {
+            store.saveAll(expenses, transaction);
+        } else {
+            store.save(expenses, dirtyMonths, transaction);
+        }
+        transaction.commit();
+    }
+
+    @Test
+    public void testSaveAllAndLoad() throws IOException, DukeException {
+        File directory = new File(userDirectory, "expenses");
+        directory.mkdirs();
+        ExpenseSegmentStore store = new ExpenseSegmentStore(directory);
+        List<Expense> expenses = List.of(expense("rice", NOVEMBER), expense("noodles", DECEMBER),
+                expense("bread", NOVEMBER));
+        commit(store, expenses, null);
+
+        assertTrue(store.getSegmentFile(NOVEMBER).exists());
+        assertTrue(store.getSegmentFile(DECEMBER).exists());
+        List<Expense> loaded = new ExpenseSegmentStore(directory).load();
+        assertEquals(3, loaded.size());
+        assertEquals("rice", loaded.get(0).getDescription());
+        assertEquals("bread", loaded.get(1).getDescription());
+        assertEquals("noodles", loaded.get(2).getDescription());
+    }
+
+    @Test
+    public void testSaveRewritesOnlyDirtyMonths() throws IOException, DukeException {
+        File directory = new File(userDirectory, "expenses");
+        directory.mkdirs();
+        ExpenseSegmentStore store = new ExpenseSegmentStore(directory);
+        List<Expense> expenses = new ArrayList<>(List.of(expense("rice", NOVEMBER), expense("noodles", DECEMBER)));
+        commit(store, expenses, null);
+        File novemberFile = store.getSegmentFile(NOVEMBER);
+        novemberFile.setLastModified(0);
+
+        expenses.add(expense("soup", DECEMBER));
+        commit(store, expenses, Set.of(DECEMBER));
+
+        assertEquals(0, novemberFile.lastModified());
+        assertEquals(3, new ExpenseSegmentStore(directory).load().size());
+    }
+
+    @Test
+    public void testSaveDeletesEmptyMonths() throws IOException, DukeException {
+        File directory = new File(userDirectory, "expenses");
+        directory.mkdirs();
+        ExpenseSegmentStore store = new ExpenseSegmentStore(directory);
+        List<Expense> expenses = new ArrayList<>(List.of(expense("rice", NOVEMBER), expense("noodles", DECEMBER)));
+        commit(store, expenses, null);
+
+        expenses.remove(1);
+        commit(store, expenses, Set.of(DECEMBER));
+
+        assertFalse(store.getSegmentFile(DECEMBER).exists());
+        List<Expense> loaded = new ExpenseSegmentStore(directory).load();
+        assertEquals(1, loaded.size());
+        assertEquals("rice", loaded.get(0).getDescription());
+    }
+
+    @Test
+    public void testLoadSinceDefersOlderSegments() throws IOException, DukeException {
+        File directory = new File(userDirectory, "expenses");
+        directory.mkdirs();
+        ExpenseSegmentStore store = new ExpenseSegmentStore(directory);
+        Expense rent = new Expense.Builder(expense("rent", YearMonth.of(2017, 5))).setRecurring(true).build();
+        commit(store, List.of(expense("rice", YearMonth.of(2017, 3)), rent, expense("noodles", DECEMBER)), null);
+
+        ExpenseSegmentStore lazyStore = new ExpenseSegmentStore(directory);
+        List<Expense> loaded = lazyStore.loadSince(YearMonth.of(2018, 1));
+        assertEquals(2, loaded.size());
+        assertEquals("rent", loaded.get(0).getDescription());
+        assertTrue(lazyStore.hasSegmentsBefore(YearMonth.of(2018, 1)));
+        assertEquals(new BigDecimal("1.50"), lazyStore.getTotalAmountBefore(YearMonth.of(2018, 1)));
+
+        List<Expense> history = lazyStore.loadBefore(YearMonth.of(2018, 1));
+        assertEquals(1, history.size());
+        assertEquals("rice", history.get(0).getDescription());
+    }
+}
@@ -0,0 +1,80 @@
+package duke.storage;
+
+import duke.exception.DukeException;
+import duke.logic.parser.Parser;
+import duke.model.Expense;
+import duke.model.Recurrence;
+import duke.model.Income;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MappedRecordReaderTest {
+    @TempDir
+    File userDirectory;
+
+    private File write(String name, String content) throws IOException {
+        File file = new File(userDirectory, name);
+        try (FileWriter writer = new FileWriter(file)) {
+            writer.write(content);
+        }
+        return file;
+    }
+
+    @Test
+    public void testReadExpenses() throws IOException, DukeException {
+        Expense first = new Expense.Builder().setAmount("12.5").setDescription("lunch: noodles")
+                .setTag("food").setTentative(true).build();
+        Expense second = new Expense.Builder().setAmount("3").setDescription("bus")
+                .setTime(Parser.parseTime("09:05 01/02/2019")).setRecurrence(Recurrence.parse("every 2 weeks")).build();
+        File file = write("expenses.txt",
+                first.toStorageString() + "\n\n" + second.toStorageString() + "\n\n");
+
+        List<Expense> expenses = new ArrayList<>();
+        new ExpenseRecordReader().readFile(file, expenses);
+
+        assertEquals(2, expenses.size());
+        assertEquals(first.toStorageString(), expenses.get(0).toStorageString());
+        assertEquals(second.toStorageString(), expenses.get(1).toStorageString());
+        assertTrue(expenses.get(0).isTentative());
+    }
+
+    @Test
+    public void testReadEmptyFile() throws IOException, DukeException {
+        List<Expense> expenses = new ArrayList<>();
+        new ExpenseRecordReader().readFile(write("expenses.txt", ""), expenses);
+        assertTrue(expenses.isEmpty());
+    }
+
+    @Test
+    public void testReadIncome() throws IOException, DukeException {
+        File file = write("income.txt", "amount:1000.00\ndescription:salary\n\n");
+        List<Income> incomes = new ArrayList<>();
+        new IncomeRecordReader().readFile(file, incomes);
+        assertEquals(1, incomes.size());
+        assertEquals(new BigDecimal("1000.00"), incomes.get(0).getAmount());
+        assertEquals("salary", incomes.get(0).getDescription());
+    }
+
+    @Test
+    public void testIncomeMissingDescription() throws IOException {
+        File file = write("income.txt", "amount:1000.00\n\n");
+        assertThrows(DukeException.class, () -> new IncomeRecordReader().readFile(file, new ArrayList<>()));
+    }
+
+    @Test
+    public void testInvalidAmount() throws IOException {
+        File file = write("expenses.txt", "amount:abc\n\n");
+        assertThrows(DukeException.class, () -> new ExpenseRecordReader().readFile(file, new ArrayList<>()));
+    }
+}
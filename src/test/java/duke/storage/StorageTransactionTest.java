@@ -0,0 +1,109 @@
+package duke.storage;
+
+import duke.exception.DukeException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class StorageTransactionTest {
+    @TempDir
+    File userDirectory;
+
+    private static void write(File file, String content, boolean isAppend) throws IOException {
+        try (FileOutputStream outputStream = new FileOutputStream(file, isAppend)) {
+            outputStream.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static String read(File file) throws IOException {
+        return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+    }
+
+    private File pending(File file) {
+        return new File(file.getPath() + StorageTransaction.PENDING_SUFFIX);
+    }
+
+    @Test
+    public void testCommit() throws IOException {
+        File budgetFile = new File(userDirectory, "budget.txt");
+        File journalFile = new File(userDirectory, "expenses.txt.journal");
+        write(budgetFile, "old", false);
+        write(journalFile, "a", false);
+
+        StorageTransaction transaction = new StorageTransaction(userDirectory);
+        write(transaction.stageReplace(budgetFile), "new", false);
+        write(transaction.stageAppend(journalFile), "b", true);
+        write(transaction.stageAppend(journalFile), "c", true);
+        assertEquals("old", read(budgetFile));
+
+        transaction.commit();
+        assertEquals("new", read(budgetFile));
+        assertEquals("abc", read(journalFile));
+        assertFalse(pending(budgetFile).exists());
+        assertFalse(pending(journalFile).exists());
+        assertFalse(new File(userDirectory, StorageTransaction.MANIFEST_NAME).exists());
+    }
+
+    @Test
+    public void testRecoverCommitted() throws IOException {
+        File budgetFile = new File(userDirectory, "budget.txt");
+        File journalFile = new File(userDirectory, "expenses.txt.journal");
+        write(budgetFile, "old", false);
+        // the append was half applied when the application stopped.
+        write(journalFile, "a" + "b-partial", false);
+        write(pending(budgetFile), "new", false);
+        write(pending(journalFile), "b", false);
+        write(new File(userDirectory, StorageTransaction.MANIFEST_NAME),
+                "replace\t0\tbudget.txt\nappend\t1\texpenses.txt.journal\n", false);
+
+        StorageTransaction.recover(userDirectory);
+        assertEquals("new", read(budgetFile));
+        assertEquals("ab", read(journalFile));
+        assertFalse(new File(userDirectory, StorageTransaction.MANIFEST_NAME).exists());
+    }
+
+    @Test
+    public void testRecoverUncommitted() throws IOException {
+        File budgetFile = new File(userDirectory, "budget.txt");
+        write(budgetFile, "old", false);
+        write(pending(budgetFile), "new", false);
+
+        StorageTransaction.recover(userDirectory);
+        assertEquals("old", read(budgetFile));
+        assertFalse(pending(budgetFile).exists());
+    }
+
+    @Test
+    public void testFailedWriteCommitsNothing() throws IOException {
+        File budgetFile = new File(userDirectory, "budget.txt");
+        File incomeFile = new File(userDirectory, "income.txt");
+        write(budgetFile, "old", false);
+
+        PendingWrite budgetWrite = transaction -> {
+            try {
+                write(transaction.stageReplace(budgetFile), "new", false);
+            } catch (IOException e) {
+                throw new DukeException(e.getMessage());
+            }
+        };
+        PendingWrite failingWrite = transaction -> {
+            transaction.stageReplace(incomeFile);
+            throw new DukeException("disk full");
+        };
+        assertThrows(DukeException.class, () ->
+                StorageTransaction.commitWrites(userDirectory, List.of(budgetWrite, failingWrite)));
+        assertEquals("old", read(budgetFile));
+        assertFalse(pending(budgetFile).exists());
+        assertFalse(incomeFile.exists());
+    }
+}
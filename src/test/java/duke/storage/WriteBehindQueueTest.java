@@ -0,0 +1,153 @@
+package duke.storage;
+
+import duke.exception.DukeException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class WriteBehindQueueTest {
+    @TempDir
+    File userDirectory;
+
+    /**
+     * Queues a write that blocks the writer thread until the returned latch is released.
+     */
+    private CountDownLatch blockWriter(WriteBehindQueue queue) throws DukeException, InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        queue.submit("blocker", transaction -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        started.await();
+        return release;
+    }
+
+    @Test
+    public void testCoalescing() throws DukeException, InterruptedException {
+        WriteBehindQueue queue = new WriteBehindQueue(userDirectory);
+        CountDownLatch release = blockWriter(queue);
+
+        List<Integer> written = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            int value = i;
+            queue.submit("expenses", transaction -> written.add(value));
+        }
+        assertEquals(1, queue.getQueueDepth());
+
+        release.countDown();
+        queue.flush();
+        assertEquals(List.of(5), written);
+        assertEquals(4, queue.getCoalescedCount());
+        assertEquals(2, queue.getWrittenCount());
+        queue.shutdown();
+    }
+
+    @Test
+    public void testCoalesceKeepsEarlierWrites() throws DukeException, InterruptedException {
+        WriteBehindQueue queue = new WriteBehindQueue(userDirectory);
+        CountDownLatch release = blockWriter(queue);
+
+        List<String> written = new ArrayList<>();
+        queue.submit("journal", new Append(written, "first"));
+        queue.submit("journal", new Append(written, "second"));
+
+        release.countDown();
+        queue.flush();
+        assertEquals(List.of("first", "second"), written);
+        queue.shutdown();
+    }
+
+    /**
+     * Submits a write that fails once, and waits until it has failed and been queued again.
+     */
+    private void submitFailingOnce(WriteBehindQueue queue, Append write) throws DukeException, InterruptedException {
+        queue.submit("journal", write);
+        write.failed.await();
+        while (queue.getQueueDepth() == 0) {
+            Thread.sleep(1);
+        }
+    }
+
+    @Test
+    public void testFailureReportedOnFlush() throws DukeException, InterruptedException {
+        WriteBehindQueue queue = new WriteBehindQueue(userDirectory);
+        List<String> written = new ArrayList<>();
+        submitFailingOnce(queue, new Append(written, "budget", 1));
+
+        // The failed write is retried by the flush, which still reports the failure, but only once.
+        assertThrows(DukeException.class, queue::flush);
+        assertEquals(List.of("budget"), written);
+        queue.flush();
+        queue.shutdown();
+    }
+
+    @Test
+    public void testFailedWriteRetriedBeforeLaterWrites() throws DukeException, InterruptedException {
+        WriteBehindQueue queue = new WriteBehindQueue(userDirectory);
+        List<String> written = new ArrayList<>();
+        submitFailingOnce(queue, new Append(written, "first", 1));
+
+        // The next save reports the failure, and is still written after the failed one.
+        assertThrows(DukeException.class, () -> queue.submit("journal", new Append(written, "second")));
+        queue.flush();
+        assertEquals(List.of("first", "second"), written);
+        queue.shutdown();
+    }
+
+    @Test
+    public void testSubmitAfterShutdown() throws DukeException {
+        WriteBehindQueue queue = new WriteBehindQueue(userDirectory);
+        queue.shutdown();
+        assertThrows(DukeException.class, () -> queue.submit("budget", transaction -> { }));
+    }
+
+    /**
+     * A write that, like a journal append, must not drop the writes queued before it.
+     */
+    private static class Append implements PendingWrite {
+        private final List<String> written;
+        private final String value;
+        private final CountDownLatch failed = new CountDownLatch(1);
+        private int failuresLeft;
+
+        Append(List<String> written, String value) {
+            this(written, value, 0);
+        }
+
+        Append(List<String> written, String value, int failures) {
+            this.written = written;
+            this.value = value;
+            this.failuresLeft = failures;
+        }
+
+        @Override
+        public void write(StorageTransaction transaction) throws DukeException {
+            if (failuresLeft > 0) {
+                failuresLeft--;
+                failed.countDown();
+                throw new DukeException("disk full");
+            }
+            written.add(value);
+        }
+
+        @Override
+        public PendingWrite coalesce(PendingWrite earlier) {
+            return transaction -> {
+                earlier.write(transaction);
+                write(transaction);
+            };
+        }
+    }
+}
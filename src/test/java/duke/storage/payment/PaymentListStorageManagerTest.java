@@ -0,0 +1,90 @@
+package duke.storage.payment;
+
+import duke.exception.DukeException;
+import duke.model.payment.Payment;
+import duke.model.payment.PaymentList;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PaymentListStorageManagerTest {
+    @TempDir
+    File userDirectory;
+
+    private PaymentList samplePaymentList() throws DukeException {
+        List<Payment> payments = new ArrayList<>();
+        payments.add(new Payment.Builder().setDescription("Orientation Fee").setReceiver("OSA")
+                .setDue("09/09/2019").setTag("School Life").setAmount("30.5").setPriority("Medium").build());
+        payments.add(new Payment.Builder().setDescription("Hall \"Fee\"").setReceiver("Hall")
+                .setDue("01/10/2019").setTag("Hall").setAmount("1200").setPriority("High").build());
+        return new PaymentList(payments);
+    }
+
+    private static void assertSamePayments(PaymentList expected, PaymentList actual) {
+        assertEquals(expected.getInternalList().size(), actual.getInternalList().size());
+        for (int i = 0; i < expected.getInternalList().size(); i++) {
+            Payment expectedPayment = expected.getInternalList().get(i);
+            Payment actualPayment = actual.getInternalList().get(i);
+            assertEquals(expectedPayment.getDescription(), actualPayment.getDescription());
+            assertEquals(expectedPayment.getReceiver(), actualPayment.getReceiver());
+            assertEquals(expectedPayment.getDue(), actualPayment.getDue());
+            assertEquals(expectedPayment.getTag(), actualPayment.getTag());
+            assertEquals(expectedPayment.getAmount(), actualPayment.getAmount());
+            assertEquals(expectedPayment.getPriority(), actualPayment.getPriority());
+        }
+    }
+
+    @Test
+    public void testStreamingRoundTrip() throws IOException, DukeException {
+        File paymentsFile = new File(userDirectory, "payments.txt");
+        PaymentListStorageManager storage = new PaymentListStorageManager(paymentsFile,
+                PaymentListStorageManager.Mode.STREAMING, false);
+        PaymentList paymentList = samplePaymentList();
+        storage.savePaymentList(paymentList);
+
+        String json = new String(Files.readAllBytes(paymentsFile.toPath()), StandardCharsets.UTF_8);
+        assertTrue(json.startsWith("{\"payments\":[{"));
+        assertFalse(json.contains("\n"));
+        assertSamePayments(paymentList, storage.readPaymentList().get());
+    }
+
+    @Test
+    public void testFormatsAreCompatible() throws IOException, DukeException {
+        File paymentsFile = new File(userDirectory, "payments.txt");
+        PaymentListStorageManager tree = new PaymentListStorageManager(paymentsFile,
+                PaymentListStorageManager.Mode.TREE, true);
+        PaymentListStorageManager streaming = new PaymentListStorageManager(paymentsFile,
+                PaymentListStorageManager.Mode.STREAMING, true);
+        PaymentList paymentList = samplePaymentList();
+
+        tree.savePaymentList(paymentList);
+        String treeJson = new String(Files.readAllBytes(paymentsFile.toPath()), StandardCharsets.UTF_8);
+        assertSamePayments(paymentList, streaming.readPaymentList().get());
+
+        streaming.savePaymentList(paymentList);
+        assertEquals(treeJson, new String(Files.readAllBytes(paymentsFile.toPath()), StandardCharsets.UTF_8));
+        assertSamePayments(paymentList, tree.readPaymentList().get());
+    }
+
+    @Test
+    public void testStreamingMalformedFile() throws IOException {
+        File paymentsFile = new File(userDirectory, "payments.txt");
+        try (FileWriter writer = new FileWriter(paymentsFile)) {
+            writer.write("{\"payments\":[{\"description\":\"Fee\"");
+        }
+        PaymentListStorageManager storage = new PaymentListStorageManager(paymentsFile,
+                PaymentListStorageManager.Mode.STREAMING, false);
+        assertTrue(storage.readPaymentList().get().getInternalList().isEmpty());
+    }
+}